@@ -0,0 +1,116 @@
+package com.financialdashboard.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financialdashboard.model.PriceSeries;
+import com.financialdashboard.model.Quote;
+import com.financialdashboard.service.impl.AlphaVantageResponseParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the Map.class based deserialization that AlphaVantageService used to do with
+ * the token-level AlphaVantageResponseParser. Run with {@code ./gradlew jmh}; the gc
+ * profiler reports allocation per operation next to throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AlphaVantageParsingBenchmark {
+
+    @Param({"100", "5000"})
+    private int seriesPoints;
+
+    private ObjectMapper objectMapper;
+    private AlphaVantageResponseParser parser;
+    private String quoteJson;
+    private byte[] quoteBytes;
+    private String seriesJson;
+    private byte[] seriesBytes;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        parser = new AlphaVantageResponseParser(objectMapper);
+
+        quoteJson = "{\"Global Quote\":{\"01. symbol\":\"IBM\",\"02. open\":\"186.1000\",\"03. high\":\"188.2000\","
+            + "\"04. low\":\"185.9000\",\"05. price\":\"187.4200\",\"06. volume\":\"3521234\","
+            + "\"07. latest trading day\":\"2024-01-05\",\"08. previous close\":\"188.6500\","
+            + "\"09. change\":\"-1.2300\",\"10. change percent\":\"-0.6520%\"}}";
+        quoteBytes = quoteJson.getBytes(StandardCharsets.UTF_8);
+
+        StringBuilder series = new StringBuilder("{\"Meta Data\":{\"1. Information\":\"Daily Prices\","
+            + "\"2. Symbol\":\"IBM\",\"5. Time Zone\":\"US/Eastern\"},\"Time Series (Daily)\":{");
+        LocalDate day = LocalDate.of(2024, 1, 5);
+        for (int i = 0; i < seriesPoints; i++) {
+            if (i > 0) {
+                series.append(',');
+            }
+            double close = 150 + (i % 97) * 0.37;
+            series.append('"').append(day.minusDays(i)).append("\":{")
+                .append("\"1. open\":\"").append(String.format(Locale.ROOT, "%.4f", close - 0.5)).append("\",")
+                .append("\"2. high\":\"").append(String.format(Locale.ROOT, "%.4f", close + 1.25)).append("\",")
+                .append("\"3. low\":\"").append(String.format(Locale.ROOT, "%.4f", close - 1.1)).append("\",")
+                .append("\"4. close\":\"").append(String.format(Locale.ROOT, "%.4f", close)).append("\",")
+                .append("\"5. volume\":\"").append(1_000_000 + i * 17).append("\"}");
+        }
+        seriesJson = series.append("}}").toString();
+        seriesBytes = seriesJson.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Map<String, Object> globalQuoteViaMap() throws Exception {
+        Map<String, Object> response = objectMapper.readValue(quoteJson, Map.class);
+        Map<String, String> quote = (Map<String, String>) response.get("Global Quote");
+        Map<String, Object> result = new HashMap<>();
+        result.put("price", new BigDecimal(quote.get("05. price")));
+        result.put("change", new BigDecimal(quote.get("09. change")));
+        result.put("changePercent", quote.get("10. change percent").replace("%", ""));
+        result.put("volume", Long.parseLong(quote.get("06. volume")));
+        result.put("latestTradingDay", quote.get("07. latest trading day"));
+        return result;
+    }
+
+    @Benchmark
+    public Quote globalQuoteStreaming() {
+        return parser.parseGlobalQuote(quoteBytes, "IBM");
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> timeSeriesViaMap() throws Exception {
+        Map<String, Object> response = objectMapper.readValue(seriesJson, Map.class);
+        Map<String, Map<String, String>> series = (Map<String, Map<String, String>>) response.get("Time Series (Daily)");
+        List<Map<String, Object>> points = new ArrayList<>(series.size());
+        for (Map.Entry<String, Map<String, String>> entry : series.entrySet()) {
+            Map<String, Object> point = new HashMap<>();
+            point.put("date", LocalDate.parse(entry.getKey()));
+            point.put("open", new BigDecimal(entry.getValue().get("1. open")));
+            point.put("high", new BigDecimal(entry.getValue().get("2. high")));
+            point.put("low", new BigDecimal(entry.getValue().get("3. low")));
+            point.put("close", new BigDecimal(entry.getValue().get("4. close")));
+            point.put("volume", Long.parseLong(entry.getValue().get("5. volume")));
+            points.add(point);
+        }
+        return points;
+    }
+
+    @Benchmark
+    public PriceSeries timeSeriesStreaming() {
+        return parser.parseTimeSeries(seriesBytes, "IBM");
+    }
+}
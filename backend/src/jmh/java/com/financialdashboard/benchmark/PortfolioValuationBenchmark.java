@@ -0,0 +1,155 @@
+package com.financialdashboard.benchmark;
+
+import com.financialdashboard.model.FixedPoint;
+import com.financialdashboard.model.PortfolioValuation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the BigDecimal valuation math that portfolio summaries used to do with the
+ * FixedPoint kernels: a full summary over every holding, and applying one price tick to
+ * each position as the valuation engine does. Run with {@code ./gradlew jmh}; the gc
+ * profiler reports allocation per operation next to throughput.
+ * <p>
+ * The old summary summed unrounded products, while FixedPoint rounds each position to
+ * scale 4 as the DECIMAL(19,4) columns do. Totals may therefore differ by up to half a
+ * unit at scale 4 per holding, gain/loss by twice that, and the return percentage by
+ * one step of its rounded ratio (0.01). Setup fails if a difference falls outside
+ * those bounds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PortfolioValuationBenchmark {
+
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+    private static final BigDecimal HALF_UNIT = new BigDecimal("0.00005");
+    private static final BigDecimal PERCENTAGE_STEP = new BigDecimal("0.01");
+
+    @Param({"100", "10000"})
+    private int holdings;
+
+    private BigDecimal[] quantities;
+    private BigDecimal[] averagePrices;
+    private BigDecimal[] currentPrices;
+    private BigDecimal tick;
+
+    private long[] quantityUnits;
+    private long[] averagePriceUnits;
+    // Current price, or the average price where a holding has none, as the engine values it
+    private long[] currentPriceUnits;
+    private long tickUnits;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        quantities = new BigDecimal[holdings];
+        averagePrices = new BigDecimal[holdings];
+        currentPrices = new BigDecimal[holdings];
+        quantityUnits = new long[holdings];
+        averagePriceUnits = new long[holdings];
+        currentPriceUnits = new long[holdings];
+        for (int i = 0; i < holdings; i++) {
+            // Fractional share quantities and sub-cent prices, as DECIMAL(19,4) allows
+            quantities[i] = BigDecimal.valueOf(1 + random.nextInt(50_000_000), 4);
+            averagePrices[i] = BigDecimal.valueOf(10_000 + random.nextInt(5_000_000), 4);
+            // Some holdings have never been priced and are valued at their average price
+            currentPrices[i] = i % 10 == 0 ? null : BigDecimal.valueOf(10_000 + random.nextInt(5_000_000), 4);
+            quantityUnits[i] = FixedPoint.of(quantities[i]);
+            averagePriceUnits[i] = FixedPoint.of(averagePrices[i]);
+            currentPriceUnits[i] = FixedPoint.of(currentPrices[i] != null ? currentPrices[i] : averagePrices[i]);
+        }
+        tick = new BigDecimal("187.4213");
+        tickUnits = FixedPoint.of(tick);
+
+        BigDecimal[] expected = summaryBigDecimal();
+        PortfolioValuation actual = summaryFixedPoint();
+        BigDecimal perHolding = HALF_UNIT.multiply(BigDecimal.valueOf(holdings));
+        check("marketValue", expected[0], actual.marketValue(), perHolding);
+        check("costBasis", expected[1], actual.costBasis(), perHolding);
+        check("gainLoss", expected[2], actual.gainLoss(), perHolding.add(perHolding));
+        check("returnPercentage", expected[3], actual.returnPercentage(), PERCENTAGE_STEP);
+        check("reprice", repriceBigDecimal(), FixedPoint.toBigDecimal(repriceFixedPoint()), BigDecimal.ZERO);
+    }
+
+    /**
+     * The previous getPortfolioSummary, unchanged: unrounded quantity * price per holding,
+     * falling back to the average price, summed; gain/loss only for priced holdings, then
+     * the return percentage.
+     */
+    @Benchmark
+    public BigDecimal[] summaryBigDecimal() {
+        BigDecimal totalValue = BigDecimal.ZERO;
+        BigDecimal totalCost = BigDecimal.ZERO;
+        BigDecimal totalGainLoss = BigDecimal.ZERO;
+        for (int i = 0; i < holdings; i++) {
+            BigDecimal currentPrice = currentPrices[i];
+            BigDecimal marketValue = quantities[i].multiply(currentPrice != null ? currentPrice : averagePrices[i]);
+            BigDecimal costBasis = averagePrices[i].multiply(quantities[i]);
+            BigDecimal gainLoss = currentPrice == null ? BigDecimal.ZERO
+                : quantities[i].multiply(currentPrice.subtract(averagePrices[i]));
+            totalValue = totalValue.add(marketValue);
+            totalCost = totalCost.add(costBasis);
+            totalGainLoss = totalGainLoss.add(gainLoss);
+        }
+        BigDecimal returnPercentage = totalCost.compareTo(BigDecimal.ZERO) == 0 ? BigDecimal.ZERO :
+            totalGainLoss.divide(totalCost, 4, RoundingMode.HALF_UP).multiply(HUNDRED);
+        return new BigDecimal[]{totalValue, totalCost, totalGainLoss, returnPercentage};
+    }
+
+    @Benchmark
+    public PortfolioValuation summaryFixedPoint() {
+        long marketValue = 0;
+        long costBasis = 0;
+        for (int i = 0; i < holdings; i++) {
+            marketValue = FixedPoint.add(marketValue, FixedPoint.multiply(quantityUnits[i], currentPriceUnits[i]));
+            costBasis = FixedPoint.add(costBasis, FixedPoint.multiply(quantityUnits[i], averagePriceUnits[i]));
+        }
+        return new PortfolioValuation(marketValue, costBasis);
+    }
+
+    /**
+     * Applies one tick to every position by delta, the way the valuation engine reprices
+     * accounts holding a symbol.
+     */
+    @Benchmark
+    public BigDecimal repriceBigDecimal() {
+        BigDecimal delta = BigDecimal.ZERO;
+        for (int i = 0; i < holdings; i++) {
+            BigDecimal price = currentPrices[i] != null ? currentPrices[i] : averagePrices[i];
+            BigDecimal before = quantities[i].multiply(price).setScale(4, RoundingMode.HALF_UP);
+            BigDecimal after = quantities[i].multiply(tick).setScale(4, RoundingMode.HALF_UP);
+            delta = delta.add(after.subtract(before));
+        }
+        return delta;
+    }
+
+    @Benchmark
+    public long repriceFixedPoint() {
+        long delta = 0;
+        for (int i = 0; i < holdings; i++) {
+            long before = FixedPoint.multiply(quantityUnits[i], currentPriceUnits[i]);
+            long after = FixedPoint.multiply(quantityUnits[i], tickUnits);
+            delta = FixedPoint.add(delta, FixedPoint.subtract(after, before));
+        }
+        return delta;
+    }
+
+    private static void check(String what, BigDecimal expected, BigDecimal actual, BigDecimal tolerance) {
+        if (expected.subtract(actual).abs().compareTo(tolerance) > 0) {
+            throw new IllegalStateException(what + ": BigDecimal " + expected + " but FixedPoint " + actual
+                + ", more than " + tolerance + " apart");
+        }
+    }
+}
@@ -1,17 +1,24 @@
 package com.financialdashboard.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
+
+    @Value("${market.cache.refresh-threads:4}")
+    private int refreshThreads;
     
     @Bean
     public CacheManager cacheManager() {
@@ -21,4 +28,14 @@ public class CacheConfig {
                 .maximumSize(100));
         return cacheManager;
     }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService cacheRefreshExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(refreshThreads, runnable -> {
+            Thread thread = new Thread(runnable, "cache-refresh-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 } 
\ No newline at end of file
@@ -3,10 +3,14 @@ package com.financialdashboard.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Configuration
 @EnableScheduling
 public class MarketDataConfig {
@@ -20,12 +24,36 @@ public class MarketDataConfig {
     @Value("${market.yahoo.finance.api.key}")
     private String yahooFinanceApiKey;
 
+    @Value("${market.iex.cloud.api.key:}")
+    private String iexCloudApiKey;
+
+    @Value("${market.http.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${market.http.worker-threads:8}")
+    private int workerThreads;
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService marketDataHttpExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "market-http-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     @Bean
-    public RestTemplate marketDataRestTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(5000);
-        factory.setReadTimeout(5000);
-        return new RestTemplate(factory);
+    public HttpClient marketDataHttpClient(ExecutorService marketDataHttpExecutor) {
+        // The shared keep-alive pool is sized by the jdk.httpclient.connectionPoolSize and
+        // jdk.httpclient.keepalive.timeout JVM options (see build.gradle and the Containerfile);
+        // the JDK reads them once per JVM, so they cannot be set from here.
+        return HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .executor(marketDataHttpExecutor)
+            .build();
     }
 
     @Bean
@@ -42,4 +70,9 @@ public class MarketDataConfig {
     public String yahooFinanceApiKey() {
         return yahooFinanceApiKey;
     }
+
+    @Bean
+    public String iexCloudApiKey() {
+        return iexCloudApiKey;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.financialdashboard.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class PortfolioConfig {
+
+    @Value("${market.net-worth.threads:4}")
+    private int valuationThreads;
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService valuationExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(valuationThreads, runnable -> {
+            Thread thread = new Thread(runnable, "valuation-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
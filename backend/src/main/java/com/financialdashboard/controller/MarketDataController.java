@@ -1,9 +1,23 @@
 package com.financialdashboard.controller;
 
+import com.financialdashboard.exception.ValidationException;
+import com.financialdashboard.model.ExportFormat;
 import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.OhlcvBar;
+import com.financialdashboard.model.PriceSeries;
+import com.financialdashboard.model.PriceSeriesCodec;
+import com.financialdashboard.model.PriceSnapshot;
+import com.financialdashboard.model.Resolution;
+import com.financialdashboard.model.TickCursor;
+import com.financialdashboard.model.TickPage;
 import com.financialdashboard.service.MarketDataService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
@@ -14,6 +28,8 @@ import java.util.Map;
 @RequestMapping("/api/market")
 public class MarketDataController extends BaseController<MarketData, Long> {
 
+    private static final MediaType SERIES_MEDIA_TYPE = MediaType.parseMediaType(PriceSeriesCodec.MEDIA_TYPE);
+
     private final MarketDataService marketDataService;
 
     public MarketDataController(MarketDataService marketDataService) {
@@ -22,16 +38,109 @@ public class MarketDataController extends BaseController<MarketData, Long> {
 
     @GetMapping("/price/{symbol}")
     public ResponseEntity<BigDecimal> getLatestPrice(@PathVariable String symbol) {
-        BigDecimal price = marketDataService.getLatestPrice(symbol);
-        return price != null ? ok(price) : notFound();
+        PriceSnapshot snapshot = marketDataService.getLatestPriceSnapshot(symbol);
+        if (snapshot == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+            .header(HttpHeaders.AGE, String.valueOf(Math.max(0, snapshot.age().toSeconds())))
+            .lastModified(snapshot.asOf())
+            .body(snapshot.price());
+    }
+
+    @GetMapping("/price/{symbol}/snapshot")
+    public ResponseEntity<PriceSnapshot> getLatestPriceSnapshot(@PathVariable String symbol) {
+        PriceSnapshot snapshot = marketDataService.getLatestPriceSnapshot(symbol);
+        return snapshot != null ? ResponseEntity.ok(snapshot) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * OHLCV bars for the range. Without a resolution (raw, 1m, 1h, 1d) the finest rollup
+     * that keeps the response within the configured point budget is used. Clients that
+     * accept {@link PriceSeriesCodec#MEDIA_TYPE} get the compressed binary encoding
+     * instead of JSON.
+     */
+    @GetMapping(value = "/historical/{symbol}", produces = {MediaType.APPLICATION_JSON_VALUE, PriceSeriesCodec.MEDIA_TYPE})
+    public ResponseEntity<?> getHistoricalData(
+            @PathVariable String symbol,
+            @RequestParam ZonedDateTime startDate,
+            @RequestParam ZonedDateTime endDate,
+            @RequestParam(required = false) String resolution,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        List<OhlcvBar> bars = marketDataService.getHistoricalData(symbol, startDate, endDate, parseResolution(resolution));
+        if (acceptsEncodedSeries(accept)) {
+            return ResponseEntity.ok()
+                .contentType(SERIES_MEDIA_TYPE)
+                .body(PriceSeriesCodec.encode(PriceSeries.of(symbol, bars)));
+        }
+        return ResponseEntity.ok(bars);
     }
 
-    @GetMapping("/historical/{symbol}")
-    public ResponseEntity<List<MarketData>> getHistoricalData(
+    /**
+     * Raw ticks one keyset page at a time; pass the returned nextCursor to continue.
+     */
+    @GetMapping("/historical/{symbol}/ticks")
+    public ResponseEntity<TickPage> getHistoricalTicks(
             @PathVariable String symbol,
             @RequestParam ZonedDateTime startDate,
-            @RequestParam ZonedDateTime endDate) {
-        return ok(marketDataService.getHistoricalData(symbol, startDate, endDate));
+            @RequestParam ZonedDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "500") int limit) {
+        TickCursor after = null;
+        if (cursor != null) {
+            try {
+                after = TickCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("cursor", e.getMessage());
+            }
+        }
+        return ResponseEntity.ok(marketDataService.getHistoricalTicks(symbol, startDate, endDate, after, limit));
+    }
+
+    /**
+     * Streams every raw tick in the range as NDJSON or CSV without holding it in memory.
+     */
+    @GetMapping("/historical/{symbol}/export")
+    public ResponseEntity<StreamingResponseBody> exportHistoricalData(
+            @PathVariable String symbol,
+            @RequestParam ZonedDateTime startDate,
+            @RequestParam ZonedDateTime endDate,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromCode(format);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("format", e.getMessage());
+        }
+        StreamingResponseBody body = out ->
+            marketDataService.exportHistoricalData(symbol, startDate, endDate, exportFormat, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(symbol + "." + exportFormat.getExtension()).build().toString())
+            .body(body);
+    }
+
+    private static Resolution parseResolution(String resolution) {
+        if (resolution == null) {
+            return null;
+        }
+        try {
+            return Resolution.fromCode(resolution);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("resolution", e.getMessage());
+        }
+    }
+
+    private static boolean acceptsEncodedSeries(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream().anyMatch(SERIES_MEDIA_TYPE::equalsTypeAndSubtype);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
     }
 
     @PostMapping("/prices/batch")
@@ -72,6 +72,11 @@ public class PortfolioController extends BaseController<PortfolioHolding, Long>
             .orElse(notFound());
     }
 
+    @GetMapping("/summaries")
+    public ResponseEntity<Map<Long, Map<String, BigDecimal>>> getPortfolioSummaries(@RequestParam List<Long> accountIds) {
+        return ResponseEntity.ok(portfolioService.getPortfolioSummaries(accountIds));
+    }
+
     @PostMapping("/account/{accountId}/refresh")
     public ResponseEntity<Void> refreshPortfolio(@PathVariable Long accountId) {
         return accountService.findById(accountId)
@@ -1,6 +1,8 @@
 package com.financialdashboard.controller;
 
+import com.financialdashboard.model.NetWorth;
 import com.financialdashboard.model.User;
+import com.financialdashboard.service.NetWorthService;
 import com.financialdashboard.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
@@ -13,9 +15,11 @@ import java.util.List;
 public class UserController extends BaseController<User, Long> {
 
     private final UserService userService;
+    private final NetWorthService netWorthService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, NetWorthService netWorthService) {
         this.userService = userService;
+        this.netWorthService = netWorthService;
     }
 
     @GetMapping
@@ -30,6 +34,14 @@ public class UserController extends BaseController<User, Long> {
             .orElse(notFound());
     }
 
+    @GetMapping("/{id}/net-worth")
+    public ResponseEntity<NetWorth> getNetWorth(@PathVariable Long id,
+                                                @RequestParam(required = false) String currency) {
+        return netWorthService.getNetWorth(id, currency)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/email/{email}")
     public ResponseEntity<User> getUserByEmail(@PathVariable String email) {
         return userService.findByEmail(email)
@@ -0,0 +1,7 @@
+package com.financialdashboard.exception;
+
+public class ProviderThrottledException extends MarketDataProviderException {
+    public ProviderThrottledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.financialdashboard.model;
+
+import java.math.BigDecimal;
+
+/**
+ * One account joined to one of its holdings; the holding columns are null for an account
+ * without holdings.
+ */
+public record AccountHoldingRow(Long accountId, String currency, BigDecimal balance, String symbol,
+                                BigDecimal quantity, BigDecimal averagePrice, BigDecimal currentPrice) {
+}
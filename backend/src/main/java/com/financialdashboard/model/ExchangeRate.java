@@ -0,0 +1,21 @@
+package com.financialdashboard.model;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+public record ExchangeRate(
+    String fromCurrency,
+    String toCurrency,
+    BigDecimal rate,
+    String lastRefreshed,
+    String timeZone
+) {
+    public Map<String, Object> toMap() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("price", rate);
+        result.put("lastRefreshed", lastRefreshed);
+        result.put("timeZone", timeZone);
+        return result;
+    }
+}
@@ -0,0 +1,76 @@
+package com.financialdashboard.model;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Money and quantity arithmetic on longs holding the value times 10^4, the scale of the
+ * DECIMAL(19,4) columns. Results are rounded half away from zero, as PostgreSQL rounds
+ * when storing into those columns, and overflow throws ArithmeticException instead of
+ * wrapping. Valuation kernels work in these units; BigDecimal is only for the API and
+ * persistence edges.
+ */
+public final class FixedPoint {
+
+    public static final int SCALE = 4;
+    public static final long ONE = 10_000L;
+
+    private FixedPoint() {
+    }
+
+    public static long of(BigDecimal value) {
+        return value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long units) {
+        return BigDecimal.valueOf(units, SCALE);
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /**
+     * a * b rounded to scale 4. Products that do not fit in a long before rounding fall
+     * back to BigInteger.
+     */
+    public static long multiply(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        if (high == (low >> 63)) {
+            return divideHalfUp(low, ONE);
+        }
+        return new BigDecimal(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)), 2 * SCALE)
+            .setScale(SCALE, RoundingMode.HALF_UP)
+            .unscaledValue()
+            .longValueExact();
+    }
+
+    /**
+     * a / b rounded to scale 4, matching {@code a.divide(b, 4, RoundingMode.HALF_UP)}.
+     */
+    public static long divide(long a, long b) {
+        long high = Math.multiplyHigh(a, ONE);
+        long low = a * ONE;
+        if (high == (low >> 63)) {
+            return divideHalfUp(low, b);
+        }
+        return BigDecimal.valueOf(a).divide(BigDecimal.valueOf(b), SCALE, RoundingMode.HALF_UP)
+            .unscaledValue()
+            .longValueExact();
+    }
+
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        if (remainder != 0 && remainder >= Math.abs(divisor) - remainder) {
+            quotient += (dividend ^ divisor) < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+}
@@ -0,0 +1,11 @@
+package com.financialdashboard.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Totals of one account's holdings in one symbol, as aggregated by the database. Market
+ * value uses the average price for lots that have no current price yet.
+ */
+public record HoldingPosition(Long accountId, String symbol, BigDecimal quantity,
+                              BigDecimal marketValue, BigDecimal costBasis) {
+}
@@ -14,8 +14,11 @@ import java.time.ZonedDateTime;
 @Entity
 @Table(name = "market_data")
 public class MarketData {
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "market_data_id")
+    @SequenceGenerator(name = "market_data_id", sequenceName = "market_data_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
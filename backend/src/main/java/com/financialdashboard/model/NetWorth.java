@@ -0,0 +1,15 @@
+package com.financialdashboard.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * A user's accounts valued at the latest prices, each in its own currency and in the base
+ * currency, with the total in the base currency.
+ */
+public record NetWorth(Long userId, String baseCurrency, BigDecimal total, List<AccountNetWorth> accounts) {
+
+    public record AccountNetWorth(Long accountId, String currency, BigDecimal balance, BigDecimal holdingsValue,
+                                  BigDecimal total, BigDecimal exchangeRate, BigDecimal totalInBaseCurrency) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.financialdashboard.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One OHLCV bucket. Providers report cumulative session volume, so volume is the highest
+ * value seen within the bucket rather than a sum. openTime and closeTime track which ticks
+ * set open and close, so partial bars from different batches merge in any order.
+ */
+public record OhlcvBar(
+    String symbol,
+    Instant bucketStart,
+    BigDecimal open,
+    BigDecimal high,
+    BigDecimal low,
+    BigDecimal close,
+    Long volume,
+    int tickCount,
+    @JsonIgnore Instant openTime,
+    @JsonIgnore Instant closeTime
+) {
+    public static OhlcvBar of(MarketData tick, Resolution resolution) {
+        Instant at = tick.getTimestamp().toInstant();
+        Instant bucketStart = resolution.isRollup() ? resolution.bucketStart(at) : at;
+        return new OhlcvBar(tick.getSymbol(), bucketStart, tick.getPrice(), tick.getPrice(), tick.getPrice(),
+            tick.getPrice(), tick.getVolume(), 1, at, at);
+    }
+
+    public OhlcvBar merge(OhlcvBar other) {
+        boolean otherOpens = other.openTime.isBefore(openTime);
+        boolean otherCloses = !other.closeTime.isBefore(closeTime);
+        return new OhlcvBar(symbol, bucketStart,
+            otherOpens ? other.open : open,
+            high.max(other.high),
+            low.min(other.low),
+            otherCloses ? other.close : close,
+            volume == null ? other.volume : other.volume == null ? volume : Math.max(volume, other.volume),
+            tickCount + other.tickCount,
+            otherOpens ? other.openTime : openTime,
+            otherCloses ? other.closeTime : closeTime);
+    }
+}
@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.ZonedDateTime;
 
 @Data
@@ -39,9 +40,12 @@ public class PortfolioHolding {
     @Column(name = "last_updated")
     private ZonedDateTime lastUpdated;
 
+    // Entity values stay BigDecimal, rounded to the column scale like the engine's fixed-point
+    // products, so a holding outside the long range still serializes instead of throwing
     @Transient
     public BigDecimal getMarketValue() {
-        return quantity.multiply(currentPrice != null ? currentPrice : averagePrice);
+        BigDecimal price = currentPrice != null ? currentPrice : averagePrice;
+        return quantity.multiply(price).setScale(FixedPoint.SCALE, RoundingMode.HALF_UP);
     }
 
     @Transient
@@ -49,6 +53,6 @@ public class PortfolioHolding {
         if (currentPrice == null) {
             return BigDecimal.ZERO;
         }
-        return quantity.multiply(currentPrice.subtract(averagePrice));
+        return quantity.multiply(currentPrice.subtract(averagePrice)).setScale(FixedPoint.SCALE, RoundingMode.HALF_UP);
     }
 } 
\ No newline at end of file
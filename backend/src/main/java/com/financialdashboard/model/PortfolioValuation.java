@@ -0,0 +1,35 @@
+package com.financialdashboard.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Point-in-time totals for one account, in {@link FixedPoint} units. Holdings without a
+ * current price are valued at their average price, so gain/loss is always market value
+ * less cost basis.
+ */
+public record PortfolioValuation(long marketValueUnits, long costBasisUnits) {
+
+    public BigDecimal marketValue() {
+        return FixedPoint.toBigDecimal(marketValueUnits);
+    }
+
+    public BigDecimal costBasis() {
+        return FixedPoint.toBigDecimal(costBasisUnits);
+    }
+
+    public BigDecimal gainLoss() {
+        return FixedPoint.toBigDecimal(FixedPoint.subtract(marketValueUnits, costBasisUnits));
+    }
+
+    /**
+     * Gain/loss over cost basis rounded to four places, then expressed in percent; zero
+     * when there is no cost basis.
+     */
+    public BigDecimal returnPercentage() {
+        if (costBasisUnits == 0) {
+            return BigDecimal.ZERO;
+        }
+        long ratio = FixedPoint.divide(FixedPoint.subtract(marketValueUnits, costBasisUnits), costBasisUnits);
+        return FixedPoint.toBigDecimal(Math.multiplyExact(ratio, 100L));
+    }
+}
@@ -0,0 +1,167 @@
+package com.financialdashboard.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable OHLCV series stored column-wise in primitive arrays, ordered by ascending
+ * timestamp. Prices are fixed-point longs with {@link #PRICE_SCALE} decimal places,
+ * matching the DECIMAL(19,4) columns they come from or are written to.
+ */
+public final class PriceSeries {
+    public static final int PRICE_SCALE = 4;
+
+    private final String symbol;
+    private final long[] timestamps;
+    private final long[] open;
+    private final long[] high;
+    private final long[] low;
+    private final long[] close;
+    private final long[] volume;
+
+    private PriceSeries(String symbol, long[] timestamps, long[] open, long[] high,
+                        long[] low, long[] close, long[] volume) {
+        this.symbol = symbol;
+        this.timestamps = timestamps;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+    }
+
+    public static Builder builder(String symbol, int expectedSize) {
+        return new Builder(symbol, expectedSize);
+    }
+
+    /**
+     * Column form of the bars, timestamped by bucket start in epoch millis. A missing volume
+     * is stored as zero.
+     */
+    public static PriceSeries of(String symbol, List<OhlcvBar> bars) {
+        Builder builder = builder(symbol, bars.size());
+        for (OhlcvBar bar : bars) {
+            builder.add(bar.bucketStart().toEpochMilli(), scaled(bar.open()), scaled(bar.high()),
+                scaled(bar.low()), scaled(bar.close()), bar.volume() != null ? bar.volume() : 0);
+        }
+        return builder.build();
+    }
+
+    private static long scaled(BigDecimal price) {
+        return price.setScale(PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public int size() {
+        return timestamps.length;
+    }
+
+    public long timestampAt(int index) {
+        return timestamps[index];
+    }
+
+    public long openAt(int index) {
+        return open[index];
+    }
+
+    public long highAt(int index) {
+        return high[index];
+    }
+
+    public long lowAt(int index) {
+        return low[index];
+    }
+
+    public long closeAt(int index) {
+        return close[index];
+    }
+
+    public long volumeAt(int index) {
+        return volume[index];
+    }
+
+    public BigDecimal closePrice(int index) {
+        return BigDecimal.valueOf(close[index], PRICE_SCALE);
+    }
+
+    public static final class Builder {
+        private final String symbol;
+        private long[] timestamps;
+        private long[] open;
+        private long[] high;
+        private long[] low;
+        private long[] close;
+        private long[] volume;
+        private int size;
+
+        private Builder(String symbol, int expectedSize) {
+            int capacity = Math.max(expectedSize, 16);
+            this.symbol = symbol;
+            this.timestamps = new long[capacity];
+            this.open = new long[capacity];
+            this.high = new long[capacity];
+            this.low = new long[capacity];
+            this.close = new long[capacity];
+            this.volume = new long[capacity];
+        }
+
+        public Builder add(long timestamp, long open, long high, long low, long close, long volume) {
+            if (size == timestamps.length) {
+                grow();
+            }
+            this.timestamps[size] = timestamp;
+            this.open[size] = open;
+            this.high[size] = high;
+            this.low[size] = low;
+            this.close[size] = close;
+            this.volume[size] = volume;
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public PriceSeries build() {
+            long[] ts = Arrays.copyOf(timestamps, size);
+            long[] o = Arrays.copyOf(open, size);
+            long[] h = Arrays.copyOf(high, size);
+            long[] l = Arrays.copyOf(low, size);
+            long[] c = Arrays.copyOf(close, size);
+            long[] v = Arrays.copyOf(volume, size);
+            if (size > 1 && ts[0] > ts[size - 1]) {
+                reverse(ts);
+                reverse(o);
+                reverse(h);
+                reverse(l);
+                reverse(c);
+                reverse(v);
+            }
+            return new PriceSeries(symbol, ts, o, h, l, c, v);
+        }
+
+        private void grow() {
+            int capacity = timestamps.length * 2;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            open = Arrays.copyOf(open, capacity);
+            high = Arrays.copyOf(high, capacity);
+            low = Arrays.copyOf(low, capacity);
+            close = Arrays.copyOf(close, capacity);
+            volume = Arrays.copyOf(volume, capacity);
+        }
+
+        private static void reverse(long[] values) {
+            for (int i = 0, j = values.length - 1; i < j; i++, j--) {
+                long tmp = values[i];
+                values[i] = values[j];
+                values[j] = tmp;
+            }
+        }
+    }
+}
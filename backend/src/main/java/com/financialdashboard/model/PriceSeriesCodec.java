@@ -0,0 +1,243 @@
+package com.financialdashboard.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Compact binary form of a {@link PriceSeries}, modelled on Gorilla: timestamps are
+ * delta-of-delta encoded in variable-width buckets, close prices and volumes are XORed
+ * with their predecessor, and open, high and low are stored as deltas from the bar's
+ * close. Regular bars with small moves take a few bytes each instead of ~100 as JSON.
+ * <p>
+ * Layout: magic "PSG", version byte, symbol length (u16) and UTF-8 bytes, bar count
+ * (i32), then the bit stream.
+ */
+public final class PriceSeriesCodec {
+    public static final String MEDIA_TYPE = "application/vnd.financialdashboard.price-series";
+
+    private static final byte[] MAGIC = {'P', 'S', 'G'};
+    private static final byte VERSION = 1;
+
+    private PriceSeriesCodec() {
+    }
+
+    public static byte[] encode(PriceSeries series) {
+        byte[] symbol = series.getSymbol().getBytes(StandardCharsets.UTF_8);
+        BitWriter bits = new BitWriter(16 + series.size() * 8);
+        int size = series.size();
+        if (size > 0) {
+            long previousTimestamp = series.timestampAt(0);
+            long previousDelta = 0;
+            bits.write(previousTimestamp, 64);
+            XorState closes = new XorState();
+            XorState volumes = new XorState();
+            for (int i = 0; i < size; i++) {
+                if (i > 0) {
+                    long delta = series.timestampAt(i) - previousTimestamp;
+                    writeSigned(bits, delta - previousDelta);
+                    previousTimestamp = series.timestampAt(i);
+                    previousDelta = delta;
+                }
+                long close = series.closeAt(i);
+                closes.write(bits, close);
+                writeSigned(bits, series.openAt(i) - close);
+                writeSigned(bits, series.highAt(i) - close);
+                writeSigned(bits, series.lowAt(i) - close);
+                volumes.write(bits, series.volumeAt(i));
+            }
+        }
+        byte[] payload = bits.toByteArray();
+        return ByteBuffer.allocate(MAGIC.length + 1 + 2 + symbol.length + 4 + payload.length)
+            .put(MAGIC)
+            .put(VERSION)
+            .putShort((short) symbol.length)
+            .put(symbol)
+            .putInt(size)
+            .put(payload)
+            .array();
+    }
+
+    public static PriceSeries decode(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        byte[] magic = new byte[MAGIC.length];
+        buffer.get(magic);
+        if (!Arrays.equals(magic, MAGIC) || buffer.get() != VERSION) {
+            throw new IllegalArgumentException("Not an encoded price series");
+        }
+        byte[] symbol = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(symbol);
+        int size = buffer.getInt();
+        PriceSeries.Builder builder = PriceSeries.builder(new String(symbol, StandardCharsets.UTF_8), size);
+        if (size == 0) {
+            return builder.build();
+        }
+        BitReader bits = new BitReader(data, buffer.position());
+        long timestamp = bits.read(64);
+        long delta = 0;
+        XorState closes = new XorState();
+        XorState volumes = new XorState();
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                delta += readSigned(bits);
+                timestamp += delta;
+            }
+            long close = closes.read(bits);
+            long open = close + readSigned(bits);
+            long high = close + readSigned(bits);
+            long low = close + readSigned(bits);
+            builder.add(timestamp, open, high, low, close, volumes.read(bits));
+        }
+        return builder.build();
+    }
+
+    // '0' for zero, then '10', '110', '1110' prefixes for 7, 9 and 12 bit values, '1111' for 64
+    private static void writeSigned(BitWriter bits, long value) {
+        if (value == 0) {
+            bits.write(0b0, 1);
+        } else if (value >= -64 && value < 64) {
+            bits.write(0b10, 2);
+            bits.write(value, 7);
+        } else if (value >= -256 && value < 256) {
+            bits.write(0b110, 3);
+            bits.write(value, 9);
+        } else if (value >= -2048 && value < 2048) {
+            bits.write(0b1110, 4);
+            bits.write(value, 12);
+        } else {
+            bits.write(0b1111, 4);
+            bits.write(value, 64);
+        }
+    }
+
+    private static long readSigned(BitReader bits) {
+        int ones = 0;
+        while (ones < 4 && bits.readBit()) {
+            ones++;
+        }
+        return switch (ones) {
+            case 0 -> 0;
+            case 1 -> signExtend(bits.read(7), 7);
+            case 2 -> signExtend(bits.read(9), 9);
+            case 3 -> signExtend(bits.read(12), 12);
+            default -> bits.read(64);
+        };
+    }
+
+    private static long signExtend(long value, int width) {
+        int shift = 64 - width;
+        return (value << shift) >> shift;
+    }
+
+    /**
+     * Gorilla XOR compression of successive values in one column: '0' when unchanged,
+     * '10' plus the meaningful bits when they fit the previous window, otherwise '11',
+     * six bits of leading zeros, six bits of length minus one and the meaningful bits.
+     */
+    private static final class XorState {
+        private long previous;
+        private boolean first = true;
+        private int leading = -1;
+        private int trailing;
+
+        void write(BitWriter bits, long value) {
+            if (first) {
+                bits.write(value, 64);
+                previous = value;
+                first = false;
+                return;
+            }
+            long xor = value ^ previous;
+            previous = value;
+            if (xor == 0) {
+                bits.write(0b0, 1);
+                return;
+            }
+            int valueLeading = Long.numberOfLeadingZeros(xor);
+            int valueTrailing = Long.numberOfTrailingZeros(xor);
+            if (leading >= 0 && valueLeading >= leading && valueTrailing >= trailing) {
+                bits.write(0b10, 2);
+                bits.write(xor >>> trailing, 64 - leading - trailing);
+                return;
+            }
+            leading = valueLeading;
+            trailing = valueTrailing;
+            int meaningful = 64 - leading - trailing;
+            bits.write(0b11, 2);
+            bits.write(leading, 6);
+            bits.write(meaningful - 1, 6);
+            bits.write(xor >>> trailing, meaningful);
+        }
+
+        long read(BitReader bits) {
+            if (first) {
+                previous = bits.read(64);
+                first = false;
+                return previous;
+            }
+            if (!bits.readBit()) {
+                return previous;
+            }
+            if (bits.readBit()) {
+                leading = (int) bits.read(6);
+                trailing = 64 - leading - ((int) bits.read(6) + 1);
+            }
+            long xor = bits.read(64 - leading - trailing) << trailing;
+            previous ^= xor;
+            return previous;
+        }
+    }
+
+    private static final class BitWriter {
+        private byte[] bytes;
+        private long bitCount;
+
+        BitWriter(int initialBytes) {
+            this.bytes = new byte[Math.max(initialBytes, 16)];
+        }
+
+        /**
+         * Writes the low width bits of value, most significant first.
+         */
+        void write(long value, int width) {
+            for (int i = width - 1; i >= 0; i--) {
+                int index = (int) (bitCount >>> 3);
+                if (index == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                }
+                if (((value >>> i) & 1) != 0) {
+                    bytes[index] |= (byte) (0x80 >>> (bitCount & 7));
+                }
+                bitCount++;
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, (int) ((bitCount + 7) >>> 3));
+        }
+    }
+
+    private static final class BitReader {
+        private final byte[] bytes;
+        private long position;
+
+        BitReader(byte[] bytes, int byteOffset) {
+            this.bytes = bytes;
+            this.position = (long) byteOffset << 3;
+        }
+
+        boolean readBit() {
+            boolean bit = (bytes[(int) (position >>> 3)] & (0x80 >>> (position & 7))) != 0;
+            position++;
+            return bit;
+        }
+
+        long read(int width) {
+            long value = 0;
+            for (int i = 0; i < width; i++) {
+                value = (value << 1) | (readBit() ? 1 : 0);
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.financialdashboard.model;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+
+public record PriceSnapshot(
+    String symbol,
+    BigDecimal price,
+    ZonedDateTime asOf,
+    MarketData.DataSource source
+) {
+    public static PriceSnapshot of(MarketData marketData) {
+        return new PriceSnapshot(marketData.getSymbol(), marketData.getPrice(), marketData.getTimestamp(),
+            marketData.getDataSource());
+    }
+
+    public static PriceSnapshot of(Quote quote) {
+        return new PriceSnapshot(quote.symbol(), quote.price(), quote.timestamp(), quote.source());
+    }
+
+    public Duration age() {
+        return Duration.between(asOf, ZonedDateTime.now());
+    }
+}
@@ -0,0 +1,10 @@
+package com.financialdashboard.model;
+
+/**
+ * How urgently a market data request is wanted. Declared in dispatch order: interactive
+ * requests are served before background ones.
+ */
+public enum Priority {
+    INTERACTIVE,
+    BACKGROUND
+}
@@ -0,0 +1,37 @@
+package com.financialdashboard.model;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+public record Quote(
+    String symbol,
+    BigDecimal price,
+    BigDecimal change,
+    BigDecimal changePercent,
+    long volume,
+    ZonedDateTime timestamp,
+    MarketData.DataSource source
+) {
+    public static final long NO_VOLUME = -1L;
+
+    public boolean hasVolume() {
+        return volume != NO_VOLUME;
+    }
+
+    public MarketData toMarketData() {
+        return new MarketData(null, symbol, price, hasVolume() ? volume : null, timestamp, source);
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("price", price);
+        result.put("change", change);
+        // The quote endpoint has always returned the percentage as a plain string
+        result.put("changePercent", changePercent != null ? changePercent.toPlainString() : null);
+        result.put("volume", hasVolume() ? volume : null);
+        result.put("latestTradingDay", timestamp != null ? timestamp.toLocalDate().toString() : null);
+        return result;
+    }
+}
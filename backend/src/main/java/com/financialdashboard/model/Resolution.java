@@ -0,0 +1,69 @@
+package com.financialdashboard.model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Bucket size for historical queries. RAW returns the stored ticks; the others are served
+ * from the matching market_data_ohlcv_* rollup table. Buckets are aligned to UTC.
+ */
+public enum Resolution {
+    RAW("raw", Duration.ZERO, null),
+    MINUTE("1m", Duration.ofMinutes(1), "market_data_ohlcv_1m"),
+    HOUR("1h", Duration.ofHours(1), "market_data_ohlcv_1h"),
+    DAY("1d", Duration.ofDays(1), "market_data_ohlcv_1d");
+
+    private final String code;
+    private final Duration bucket;
+    private final String table;
+
+    Resolution(String code, Duration bucket, String table) {
+        this.code = code;
+        this.bucket = bucket;
+        this.table = table;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public Duration getBucket() {
+        return bucket;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public boolean isRollup() {
+        return table != null;
+    }
+
+    public Instant bucketStart(Instant timestamp) {
+        long size = bucket.toMillis();
+        return Instant.ofEpochMilli(Math.floorDiv(timestamp.toEpochMilli(), size) * size);
+    }
+
+    /**
+     * Finest rollup that keeps the range within maxPoints buckets, falling back to daily bars.
+     */
+    public static Resolution forRange(Duration range, int maxPoints) {
+        for (Resolution resolution : values()) {
+            if (resolution.isRollup() && range.dividedBy(resolution.bucket) <= maxPoints) {
+                return resolution;
+            }
+        }
+        return DAY;
+    }
+
+    public static Resolution fromCode(String code) {
+        String normalized = code.trim().toLowerCase(Locale.ROOT);
+        for (Resolution resolution : values()) {
+            if (resolution.code.equals(normalized) || resolution.name().toLowerCase(Locale.ROOT).equals(normalized)) {
+                return resolution;
+            }
+        }
+        throw new IllegalArgumentException("Unknown resolution: " + code);
+    }
+}
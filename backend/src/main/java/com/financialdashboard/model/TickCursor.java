@@ -0,0 +1,31 @@
+package com.financialdashboard.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position in a symbol's tick history: the next page starts strictly after this
+ * (timestamp, id) pair. Encoded as an opaque URL-safe token for API clients.
+ */
+public record TickCursor(Instant timestamp, long id) {
+
+    public static TickCursor after(MarketData tick) {
+        return new TickCursor(tick.getTimestamp().toInstant(), tick.getId());
+    }
+
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TickCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new TickCursor(Instant.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.financialdashboard.model;
+
+import java.util.List;
+
+/**
+ * One page of raw ticks in (timestamp, id) order. nextCursor is null on the last page.
+ */
+public record TickPage(List<MarketData> items, String nextCursor) {
+}
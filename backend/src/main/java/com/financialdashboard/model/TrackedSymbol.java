@@ -0,0 +1,19 @@
+package com.financialdashboard.model;
+
+public record TrackedSymbol(
+    String symbol,
+    int holdingRefs,
+    boolean pinned
+) {
+    public boolean isTracked() {
+        return pinned || holdingRefs > 0;
+    }
+
+    public TrackedSymbol withHoldingRefs(int holdingRefs) {
+        return new TrackedSymbol(symbol, Math.max(0, holdingRefs), pinned);
+    }
+
+    public TrackedSymbol withPinned(boolean pinned) {
+        return new TrackedSymbol(symbol, holdingRefs, pinned);
+    }
+}
@@ -1,14 +1,25 @@
 package com.financialdashboard.repository;
 
+import com.financialdashboard.model.AccountHoldingRow;
 import com.financialdashboard.model.FinancialAccount;
 import com.financialdashboard.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface FinancialAccountRepository extends JpaRepository<FinancialAccount, Long> {
     List<FinancialAccount> findByUser(User user);
     List<FinancialAccount> findByUserAndProvider(User user, FinancialAccount.Provider provider);
+
+    @Query("SELECT new com.financialdashboard.model.AccountHoldingRow(a.id, a.currency, a.balance, h.symbol, " +
+           "h.quantity, h.averagePrice, h.currentPrice) " +
+           "FROM FinancialAccount a LEFT JOIN a.portfolioHoldings h WHERE a.user.id = ?1 ORDER BY a.id")
+    List<AccountHoldingRow> findHoldingRowsByUserId(Long userId);
+
+    @Query("SELECT a.id FROM FinancialAccount a WHERE a.id IN ?1")
+    List<Long> findExistingIds(Collection<Long> ids);
 } 
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.financialdashboard.repository;
+
+import com.financialdashboard.model.MarketData;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class MarketDataLatestRepository {
+
+    // Only moves forward: a late or replayed tick never overwrites a newer one
+    private static final String UPSERT =
+        "INSERT INTO market_data_latest (symbol, data_source, price, volume, timestamp) VALUES (?, ?, ?, ?, ?) " +
+        "ON CONFLICT (symbol, data_source) DO UPDATE SET price = EXCLUDED.price, volume = EXCLUDED.volume, " +
+        "timestamp = EXCLUDED.timestamp, updated_at = CURRENT_TIMESTAMP " +
+        "WHERE market_data_latest.timestamp <= EXCLUDED.timestamp";
+
+    // Newest row across sources for each requested symbol, served from the primary key index
+    private static final String SELECT_LATEST =
+        "SELECT DISTINCT ON (symbol) symbol, data_source, price, volume, timestamp " +
+        "FROM market_data_latest WHERE symbol = ANY (?) ORDER BY symbol, timestamp DESC";
+
+    private static final RowMapper<MarketData> ROW_MAPPER = (rs, rowNum) -> new MarketData(
+        null,
+        rs.getString("symbol"),
+        rs.getBigDecimal("price"),
+        rs.getObject("volume", Long.class),
+        rs.getTimestamp("timestamp").toInstant().atZone(ZoneOffset.UTC),
+        MarketData.DataSource.valueOf(rs.getString("data_source")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MarketDataLatestRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<MarketData> findBySymbol(String symbol) {
+        return findBySymbols(List.of(symbol)).stream().findFirst();
+    }
+
+    public List<MarketData> findBySymbols(Collection<String> symbols) {
+        if (symbols.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_LATEST);
+            statement.setArray(1, connection.createArrayOf("varchar", symbols.toArray()));
+            return statement;
+        }, ROW_MAPPER);
+    }
+
+    public void upsertAll(List<MarketData> ticks, int batchSize) {
+        jdbcTemplate.batchUpdate(UPSERT, ticks, batchSize, (ps, tick) -> {
+            ps.setString(1, tick.getSymbol());
+            ps.setString(2, tick.getDataSource().name());
+            ps.setBigDecimal(3, tick.getPrice());
+            if (tick.getVolume() != null) {
+                ps.setLong(4, tick.getVolume());
+            } else {
+                ps.setNull(4, Types.BIGINT);
+            }
+            ps.setTimestamp(5, Timestamp.from(tick.getTimestamp().toInstant()));
+        });
+    }
+}
@@ -1,8 +1,6 @@
 package com.financialdashboard.repository;
 
 import com.financialdashboard.model.MarketData;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -24,6 +22,4 @@ public interface MarketDataRepository extends JpaRepository<MarketData, Long> {
         ZonedDateTime startTime, 
         ZonedDateTime endTime
     );
-    
-    Page<MarketData> findBySymbol(String symbol, Pageable pageable);
 } 
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.financialdashboard.repository;
+
+import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.TickCursor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Bulk paths for ticks, bypassing the JPA persistence context. Ids come from
+ * market_data_id_seq in the same pooled blocks Hibernate uses for {@link MarketData}, so
+ * rows written here and through JPA never collide. Reads walk (symbol, timestamp, id)
+ * order, either through a server-side cursor or one keyset page at a time.
+ */
+@Repository
+public class MarketDataTickRepository {
+
+    private static final String INSERT =
+        "INSERT INTO market_data (id, symbol, price, volume, timestamp, data_source) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String COPY =
+        "COPY market_data (id, symbol, price, volume, timestamp, data_source) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String SELECT_RANGE =
+        "SELECT id, symbol, price, volume, timestamp, data_source FROM market_data " +
+        "WHERE symbol = ? AND timestamp >= ? AND timestamp < ? ORDER BY timestamp, id";
+
+    private static final String SELECT_PAGE =
+        "SELECT id, symbol, price, volume, timestamp, data_source FROM market_data " +
+        "WHERE symbol = ? AND timestamp >= ? AND timestamp < ? AND (timestamp, id) > (?, ?) " +
+        "ORDER BY timestamp, id LIMIT ?";
+
+    private static final RowMapper<MarketData> ROW_MAPPER = (rs, rowNum) -> new MarketData(
+        rs.getLong("id"),
+        rs.getString("symbol"),
+        rs.getBigDecimal("price"),
+        rs.getObject("volume", Long.class),
+        rs.getTimestamp("timestamp").toInstant().atZone(ZoneOffset.UTC),
+        MarketData.DataSource.valueOf(rs.getString("data_source")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private long nextId;
+    private long lastId = -1;
+
+    public MarketDataTickRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<MarketData> ticks, int batchSize) {
+        assignIds(ticks);
+        jdbcTemplate.batchUpdate(INSERT, ticks, batchSize, (ps, tick) -> {
+            ps.setLong(1, tick.getId());
+            ps.setString(2, tick.getSymbol());
+            ps.setBigDecimal(3, tick.getPrice());
+            if (tick.getVolume() != null) {
+                ps.setLong(4, tick.getVolume());
+            } else {
+                ps.setNull(4, Types.BIGINT);
+            }
+            ps.setTimestamp(5, Timestamp.from(tick.getTimestamp().toInstant()));
+            ps.setString(6, tick.getDataSource().name());
+        });
+    }
+
+    /**
+     * Streams the ticks through COPY FROM STDIN, which avoids per-row statement overhead
+     * entirely. Only worth it for large batches.
+     */
+    public long copyAll(List<MarketData> ticks) {
+        assignIds(ticks);
+        StringBuilder csv = new StringBuilder(ticks.size() * 64);
+        for (MarketData tick : ticks) {
+            csv.append(tick.getId()).append(',')
+                .append(quote(tick.getSymbol())).append(',')
+                .append(tick.getPrice().toPlainString()).append(',')
+                .append(tick.getVolume() != null ? tick.getVolume().toString() : "").append(',')
+                .append(tick.getTimestamp().toOffsetDateTime()).append(',')
+                .append(tick.getDataSource().name()).append('\n');
+        }
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return copied != null ? copied : 0;
+    }
+
+    /**
+     * Hands every tick in [from, to) to the handler as the rows arrive. The driver only
+     * fetches fetchSize rows at a time, which requires an open transaction.
+     */
+    public void streamRange(String symbol, Instant from, Instant to, int fetchSize, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_RANGE,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setString(1, symbol);
+            statement.setTimestamp(2, Timestamp.from(from));
+            statement.setTimestamp(3, Timestamp.from(to));
+            return statement;
+        }, handler);
+    }
+
+    /**
+     * Up to limit ticks in [from, to) after the cursor, or from the start when it is null.
+     */
+    public List<MarketData> findPage(String symbol, Instant from, Instant to, TickCursor after, int limit) {
+        TickCursor start = after != null ? after : new TickCursor(from, Long.MIN_VALUE);
+        return jdbcTemplate.query(SELECT_PAGE, ROW_MAPPER, symbol, Timestamp.from(from), Timestamp.from(to),
+            Timestamp.from(start.timestamp()), start.id(), limit);
+    }
+
+    private synchronized void assignIds(List<MarketData> ticks) {
+        for (MarketData tick : ticks) {
+            if (tick.getId() != null) {
+                continue;
+            }
+            if (nextId > lastId) {
+                // nextval reserves the block (value - allocation size, value]
+                lastId = jdbcTemplate.queryForObject("SELECT nextval('market_data_id_seq')", Long.class);
+                nextId = lastId - MarketData.ID_ALLOCATION_SIZE + 1;
+            }
+            tick.setId(nextId++);
+        }
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,86 @@
+package com.financialdashboard.repository;
+
+import com.financialdashboard.model.OhlcvBar;
+import com.financialdashboard.model.Resolution;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public class OhlcvRollupRepository {
+
+    // Merges a partial bar into the stored one; open and close follow the earliest and latest tick
+    private static final String UPSERT =
+        "INSERT INTO %1$s AS bar (symbol, bucket_start, open, high, low, close, volume, tick_count, open_time, close_time) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (symbol, bucket_start) DO UPDATE SET " +
+        "open = CASE WHEN EXCLUDED.open_time < bar.open_time THEN EXCLUDED.open ELSE bar.open END, " +
+        "open_time = LEAST(bar.open_time, EXCLUDED.open_time), " +
+        "high = GREATEST(bar.high, EXCLUDED.high), " +
+        "low = LEAST(bar.low, EXCLUDED.low), " +
+        "close = CASE WHEN EXCLUDED.close_time >= bar.close_time THEN EXCLUDED.close ELSE bar.close END, " +
+        "close_time = GREATEST(bar.close_time, EXCLUDED.close_time), " +
+        "volume = GREATEST(bar.volume, EXCLUDED.volume), " +
+        "tick_count = bar.tick_count + EXCLUDED.tick_count";
+
+    private static final String SELECT_RANGE =
+        "SELECT symbol, bucket_start, open, high, low, close, volume, tick_count, open_time, close_time " +
+        "FROM %1$s WHERE symbol = ? AND bucket_start >= ? AND bucket_start < ? ORDER BY bucket_start";
+
+    private static final RowMapper<OhlcvBar> ROW_MAPPER = (rs, rowNum) -> new OhlcvBar(
+        rs.getString("symbol"),
+        rs.getTimestamp("bucket_start").toInstant(),
+        rs.getBigDecimal("open"),
+        rs.getBigDecimal("high"),
+        rs.getBigDecimal("low"),
+        rs.getBigDecimal("close"),
+        rs.getObject("volume", Long.class),
+        rs.getInt("tick_count"),
+        rs.getTimestamp("open_time").toInstant(),
+        rs.getTimestamp("close_time").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OhlcvRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void upsertAll(Resolution resolution, List<OhlcvBar> bars, int batchSize) {
+        jdbcTemplate.batchUpdate(String.format(UPSERT, table(resolution)), bars, batchSize, (ps, bar) -> {
+            ps.setString(1, bar.symbol());
+            ps.setTimestamp(2, Timestamp.from(bar.bucketStart()));
+            ps.setBigDecimal(3, bar.open());
+            ps.setBigDecimal(4, bar.high());
+            ps.setBigDecimal(5, bar.low());
+            ps.setBigDecimal(6, bar.close());
+            if (bar.volume() != null) {
+                ps.setLong(7, bar.volume());
+            } else {
+                ps.setNull(7, Types.BIGINT);
+            }
+            ps.setInt(8, bar.tickCount());
+            ps.setTimestamp(9, Timestamp.from(bar.openTime()));
+            ps.setTimestamp(10, Timestamp.from(bar.closeTime()));
+        });
+    }
+
+    /**
+     * Bars whose bucket starts within [from, to).
+     */
+    public List<OhlcvBar> findBySymbolAndRange(String symbol, Resolution resolution, Instant from, Instant to) {
+        return jdbcTemplate.query(String.format(SELECT_RANGE, table(resolution)), ROW_MAPPER,
+            symbol, Timestamp.from(from), Timestamp.from(to));
+    }
+
+    private static String table(Resolution resolution) {
+        if (!resolution.isRollup()) {
+            throw new IllegalArgumentException("No rollup table for resolution " + resolution);
+        }
+        return resolution.getTable();
+    }
+}
@@ -0,0 +1,76 @@
+package com.financialdashboard.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based repricing of portfolio_holdings. Each chunk of prices is applied by one
+ * UPDATE joined against the unnested symbol and price arrays, so the statement text and
+ * plan stay the same whatever the number of symbols.
+ */
+@Repository
+public class PortfolioHoldingPriceRepository {
+
+    private static final String SELECT_SYMBOLS = "SELECT DISTINCT symbol FROM portfolio_holdings";
+
+    private static final String SELECT_ACCOUNT_SYMBOLS =
+        "SELECT DISTINCT symbol FROM portfolio_holdings WHERE account_id = ?";
+
+    // Rows already at the price are skipped, so they keep last_updated and leave no dead tuples
+    private static final String REPRICE =
+        "UPDATE portfolio_holdings h SET current_price = v.price, last_updated = CURRENT_TIMESTAMP " +
+        "FROM unnest(?, ?) AS v(symbol, price) " +
+        "WHERE h.symbol = v.symbol AND h.current_price IS DISTINCT FROM v.price";
+
+    private static final String RETURNING = " RETURNING h.account_id, h.symbol";
+
+    private static final String REPRICE_ACCOUNT = REPRICE + " AND h.account_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PortfolioHoldingPriceRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<String> findDistinctSymbols() {
+        return jdbcTemplate.queryForList(SELECT_SYMBOLS, String.class);
+    }
+
+    public List<String> findDistinctSymbols(Long accountId) {
+        return jdbcTemplate.queryForList(SELECT_ACCOUNT_SYMBOLS, String.class, accountId);
+    }
+
+    /**
+     * Sets current_price on every holding of the given symbols, restricted to one account
+     * when accountId is not null, and returns the symbols of the rows changed by account.
+     */
+    public Map<Long, List<String>> reprice(Map<String, BigDecimal> prices, Long accountId, int chunkSize) {
+        List<Map.Entry<String, BigDecimal>> entries = new ArrayList<>(prices.entrySet());
+        Map<Long, List<String>> changed = new HashMap<>();
+        for (int from = 0; from < entries.size(); from += chunkSize) {
+            List<Map.Entry<String, BigDecimal>> chunk = entries.subList(from, Math.min(from + chunkSize, entries.size()));
+            String[] symbols = chunk.stream().map(Map.Entry::getKey).toArray(String[]::new);
+            BigDecimal[] values = chunk.stream().map(Map.Entry::getValue).toArray(BigDecimal[]::new);
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    (accountId != null ? REPRICE_ACCOUNT : REPRICE) + RETURNING);
+                statement.setArray(1, connection.createArrayOf("varchar", symbols));
+                statement.setArray(2, connection.createArrayOf("numeric", values));
+                if (accountId != null) {
+                    statement.setLong(3, accountId);
+                }
+                return statement;
+            }, rs -> {
+                changed.computeIfAbsent(rs.getLong("account_id"), id -> new ArrayList<>()).add(rs.getString("symbol"));
+            });
+        }
+        return changed;
+    }
+}
@@ -1,10 +1,13 @@
 package com.financialdashboard.repository;
 
 import com.financialdashboard.model.FinancialAccount;
+import com.financialdashboard.model.HoldingPosition;
 import com.financialdashboard.model.PortfolioHolding;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +16,9 @@ public interface PortfolioHoldingRepository extends JpaRepository<PortfolioHoldi
     List<PortfolioHolding> findByAccount(FinancialAccount account);
     Optional<PortfolioHolding> findByAccountAndSymbol(FinancialAccount account, String symbol);
     List<PortfolioHolding> findBySymbol(String symbol);
+
+    @Query("SELECT new com.financialdashboard.model.HoldingPosition(h.account.id, h.symbol, SUM(h.quantity), " +
+           "SUM(h.quantity * COALESCE(h.currentPrice, h.averagePrice)), SUM(h.quantity * h.averagePrice)) " +
+           "FROM PortfolioHolding h WHERE h.account.id IN ?1 GROUP BY h.account.id, h.symbol")
+    List<HoldingPosition> summarizePositions(Collection<Long> accountIds);
 } 
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.financialdashboard.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+@Repository
+public class TickJournalCheckpointRepository {
+
+    // Only moves forward, like the journal's own checkpoint
+    private static final String ADVANCE =
+        "INSERT INTO tick_journal_checkpoints (journal_id, sequence) VALUES (?, ?) " +
+        "ON CONFLICT (journal_id) DO UPDATE SET sequence = GREATEST(tick_journal_checkpoints.sequence, EXCLUDED.sequence), " +
+        "updated_at = CURRENT_TIMESTAMP";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TickJournalCheckpointRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public OptionalLong find(String journalId) {
+        List<Long> sequences = jdbcTemplate.queryForList(
+            "SELECT sequence FROM tick_journal_checkpoints WHERE journal_id = ?", Long.class, journalId);
+        return sequences.isEmpty() ? OptionalLong.empty() : OptionalLong.of(sequences.get(0));
+    }
+
+    public void advance(String journalId, long sequence) {
+        jdbcTemplate.update(ADVANCE, journalId, sequence);
+    }
+}
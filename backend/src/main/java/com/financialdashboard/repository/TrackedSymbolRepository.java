@@ -0,0 +1,51 @@
+package com.financialdashboard.repository;
+
+import com.financialdashboard.model.TrackedSymbol;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class TrackedSymbolRepository {
+
+    private static final String UPSERT =
+        "INSERT INTO tracked_symbols (symbol, holding_refs, pinned) VALUES (?, ?, ?) " +
+        "ON CONFLICT (symbol) DO UPDATE SET holding_refs = EXCLUDED.holding_refs, " +
+        "pinned = EXCLUDED.pinned, updated_at = CURRENT_TIMESTAMP";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TrackedSymbolRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<TrackedSymbol> findAll() {
+        return jdbcTemplate.query("SELECT symbol, holding_refs, pinned FROM tracked_symbols",
+            (rs, rowNum) -> new TrackedSymbol(rs.getString("symbol"), rs.getInt("holding_refs"), rs.getBoolean("pinned")));
+    }
+
+    public Map<String, Integer> countHoldingsBySymbol() {
+        Map<String, Integer> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT symbol, COUNT(*) AS refs FROM portfolio_holdings GROUP BY symbol",
+            rs -> {
+                counts.put(rs.getString("symbol"), rs.getInt("refs"));
+            });
+        return counts;
+    }
+
+    public void upsertAll(List<TrackedSymbol> symbols, int batchSize) {
+        jdbcTemplate.batchUpdate(UPSERT, symbols, batchSize, (ps, symbol) -> {
+            ps.setString(1, symbol.symbol());
+            ps.setInt(2, symbol.holdingRefs());
+            ps.setBoolean(3, symbol.pinned());
+        });
+    }
+
+    public void deleteAll(List<String> symbols, int batchSize) {
+        jdbcTemplate.batchUpdate("DELETE FROM tracked_symbols WHERE symbol = ?", symbols, batchSize,
+            (ps, symbol) -> ps.setString(1, symbol));
+    }
+}
@@ -0,0 +1,50 @@
+package com.financialdashboard.service;
+
+import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.Priority;
+import com.financialdashboard.model.Quote;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public interface MarketDataProvider {
+    MarketData.DataSource getSource();
+    boolean isEnabled();
+    CompletableFuture<Quote> getQuote(String symbol, Priority priority);
+
+    /**
+     * Like {@link #getQuote(String, Priority)}, running {@code onDispatch} when the request
+     * actually leaves for the provider. Providers that queue requests override this; the
+     * default sends immediately.
+     */
+    default CompletableFuture<Quote> getQuote(String symbol, Priority priority, Runnable onDispatch) {
+        if (onDispatch != null) {
+            onDispatch.run();
+        }
+        return getQuote(symbol, priority);
+    }
+
+    /**
+     * Looks up several symbols at once. Providers with a bulk endpoint override this;
+     * the default fans out to {@link #getQuote}. Symbols the provider could not price
+     * are left out of the result.
+     */
+    default CompletableFuture<Map<String, Quote>> getQuotes(Collection<String> symbols, Priority priority) {
+        List<CompletableFuture<Quote>> lookups = symbols.stream()
+            .map(symbol -> getQuote(symbol, priority).exceptionally(error -> null))
+            .toList();
+        return CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            Map<String, Quote> quotes = new HashMap<>();
+            for (CompletableFuture<Quote> lookup : lookups) {
+                Quote quote = lookup.join();
+                if (quote != null) {
+                    quotes.put(quote.symbol(), quote);
+                }
+            }
+            return quotes;
+        });
+    }
+}
@@ -1,6 +1,15 @@
 package com.financialdashboard.service;
 
+import com.financialdashboard.model.ExportFormat;
 import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.OhlcvBar;
+import com.financialdashboard.model.PriceSnapshot;
+import com.financialdashboard.model.Resolution;
+import com.financialdashboard.model.TickCursor;
+import com.financialdashboard.model.TickPage;
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -8,7 +17,12 @@ import java.util.Map;
 
 public interface MarketDataService {
     BigDecimal getLatestPrice(String symbol);
+    PriceSnapshot getLatestPriceSnapshot(String symbol);
     List<MarketData> getHistoricalData(String symbol, ZonedDateTime startDate, ZonedDateTime endDate);
+    List<OhlcvBar> getHistoricalData(String symbol, ZonedDateTime startDate, ZonedDateTime endDate, Resolution resolution);
+    TickPage getHistoricalTicks(String symbol, ZonedDateTime startDate, ZonedDateTime endDate, TickCursor cursor, int limit);
+    long exportHistoricalData(String symbol, ZonedDateTime startDate, ZonedDateTime endDate, ExportFormat format,
+                              OutputStream out) throws IOException;
     Map<String, BigDecimal> getBatchPrices(List<String> symbols);
     void refreshMarketData();
     List<MarketData> getLatestMarketData(List<String> symbols);
@@ -0,0 +1,13 @@
+package com.financialdashboard.service;
+
+import com.financialdashboard.model.NetWorth;
+
+import java.util.Optional;
+
+public interface NetWorthService {
+    /**
+     * Values all of the user's accounts in the given currency, or the configured base
+     * currency when it is null; empty when the user does not exist.
+     */
+    Optional<NetWorth> getNetWorth(Long userId, String currency);
+}
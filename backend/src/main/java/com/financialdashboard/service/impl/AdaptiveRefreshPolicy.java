@@ -0,0 +1,164 @@
+package com.financialdashboard.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Decides which tracked symbols are due for a refresh. Each symbol keeps an exponentially
+ * decayed access rate and an EWMA of its absolute tick-to-tick log return; the hotter or
+ * more volatile it is, the closer its interval gets to the minimum. Outside trading hours
+ * a symbol gets one more refresh to capture the close and is then left alone.
+ */
+@Component
+public class AdaptiveRefreshPolicy {
+
+    private static final double VOLATILITY_ALPHA = 0.3;
+
+    private final TradingCalendar tradingCalendar;
+    private final Clock clock;
+    private final Duration minInterval;
+    private final Duration maxInterval;
+    private final double accessHalfLifeMillis;
+    private final double hotAccessesPerMinute;
+    private final double hotVolatility;
+    private final ConcurrentMap<String, SymbolState> states = new ConcurrentHashMap<>();
+
+    private final Counter dueSymbols;
+    private final Counter closedMarketSkips;
+
+    @Autowired
+    public AdaptiveRefreshPolicy(TradingCalendar tradingCalendar,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${market.refresh.adaptive.min-interval-ms:60000}") long minIntervalMs,
+                                 @Value("${market.refresh.adaptive.max-interval-ms:3600000}") long maxIntervalMs,
+                                 @Value("${market.refresh.adaptive.access-half-life-ms:600000}") long accessHalfLifeMs,
+                                 @Value("${market.refresh.adaptive.hot-accesses-per-minute:1.0}") double hotAccessesPerMinute,
+                                 @Value("${market.refresh.adaptive.hot-volatility:0.005}") double hotVolatility) {
+        this(tradingCalendar, meterRegistry, Clock.systemUTC(), Duration.ofMillis(minIntervalMs),
+            Duration.ofMillis(maxIntervalMs), accessHalfLifeMs, hotAccessesPerMinute, hotVolatility);
+    }
+
+    public AdaptiveRefreshPolicy(TradingCalendar tradingCalendar, MeterRegistry meterRegistry, Clock clock,
+                                 Duration minInterval, Duration maxInterval, long accessHalfLifeMs,
+                                 double hotAccessesPerMinute, double hotVolatility) {
+        this.tradingCalendar = tradingCalendar;
+        this.clock = clock;
+        this.minInterval = minInterval;
+        this.maxInterval = maxInterval;
+        this.accessHalfLifeMillis = accessHalfLifeMs;
+        this.hotAccessesPerMinute = hotAccessesPerMinute;
+        this.hotVolatility = hotVolatility;
+        this.dueSymbols = Counter.builder("market.refresh.policy.due").register(meterRegistry);
+        this.closedMarketSkips = Counter.builder("market.refresh.policy.closed").register(meterRegistry);
+    }
+
+    public void recordAccess(String symbol) {
+        state(symbol).recordAccess(clock.millis());
+    }
+
+    public void recordPrice(String symbol, BigDecimal price) {
+        if (price != null && price.signum() > 0) {
+            state(symbol).recordPrice(price.doubleValue());
+        }
+    }
+
+    /**
+     * Returns the symbols whose refresh interval has elapsed and marks them as attempted,
+     * so a failing symbol waits a full interval before it is retried.
+     */
+    public List<String> selectDue(Collection<String> trackedSymbols) {
+        long now = clock.millis();
+        boolean open = tradingCalendar.isOpen(Instant.ofEpochMilli(now));
+        List<String> due = new ArrayList<>();
+        for (String symbol : trackedSymbols) {
+            SymbolState state = state(symbol);
+            if (state.isDue(now, open)) {
+                state.markAttempted(now, open);
+                due.add(symbol);
+            }
+        }
+        if (!open && due.isEmpty()) {
+            closedMarketSkips.increment();
+        }
+        dueSymbols.increment(due.size());
+        return due;
+    }
+
+    public Duration intervalFor(String symbol) {
+        return Duration.ofMillis(state(symbol).intervalMillis(clock.millis()));
+    }
+
+    public void forget(String symbol) {
+        states.remove(symbol);
+    }
+
+    private SymbolState state(String symbol) {
+        return states.computeIfAbsent(symbol, key -> new SymbolState());
+    }
+
+    private final class SymbolState {
+        private double decayedAccesses;
+        private long lastAccessMillis;
+        private double volatility;
+        private double lastPrice;
+        private long lastAttemptMillis = -1;
+        private boolean lastAttemptDuringSession;
+
+        synchronized void recordAccess(long now) {
+            decayedAccesses = decayedAccesses(now) + 1;
+            lastAccessMillis = now;
+        }
+
+        synchronized void recordPrice(double price) {
+            if (lastPrice > 0) {
+                double move = Math.abs(Math.log(price / lastPrice));
+                volatility = VOLATILITY_ALPHA * move + (1 - VOLATILITY_ALPHA) * volatility;
+            }
+            lastPrice = price;
+        }
+
+        synchronized boolean isDue(long now, boolean marketOpen) {
+            if (lastAttemptMillis < 0) {
+                return true;
+            }
+            if (!marketOpen) {
+                return lastAttemptDuringSession;
+            }
+            return now - lastAttemptMillis >= intervalMillis(now);
+        }
+
+        synchronized void markAttempted(long now, boolean marketOpen) {
+            lastAttemptMillis = now;
+            lastAttemptDuringSession = marketOpen;
+        }
+
+        synchronized long intervalMillis(long now) {
+            // A decayed count with half-life h approximates rate * h / ln 2
+            double accessesPerMinute = decayedAccesses(now) * Math.log(2) / (accessHalfLifeMillis / 60_000.0);
+            double heat = accessesPerMinute / hotAccessesPerMinute + volatility / hotVolatility;
+            double ratio = (double) maxInterval.toMillis() / minInterval.toMillis();
+            long interval = (long) (maxInterval.toMillis() / (1 + heat * (ratio - 1)));
+            return Math.max(minInterval.toMillis(), Math.min(maxInterval.toMillis(), interval));
+        }
+
+        private double decayedAccesses(long now) {
+            if (decayedAccesses == 0) {
+                return 0;
+            }
+            return decayedAccesses * Math.pow(0.5, (now - lastAccessMillis) / accessHalfLifeMillis);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.financialdashboard.service.impl;
+
+import com.financialdashboard.exception.MarketDataProviderException;
+import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.Priority;
+import com.financialdashboard.model.Quote;
+import com.financialdashboard.service.MarketDataProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+@Component
+public class AlphaVantageQuoteProvider implements MarketDataProvider {
+
+    private final AlphaVantageService alphaVantageService;
+    private final String apiKey;
+
+    public AlphaVantageQuoteProvider(AlphaVantageService alphaVantageService,
+                                     @Value("${market.alpha.vantage.api.key:}") String apiKey) {
+        this.alphaVantageService = alphaVantageService;
+        this.apiKey = apiKey;
+    }
+
+    @Override
+    public MarketData.DataSource getSource() {
+        return MarketData.DataSource.ALPHA_VANTAGE;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return apiKey != null && !apiKey.isBlank();
+    }
+
+    @Override
+    public CompletableFuture<Quote> getQuote(String symbol, Priority priority) {
+        return getQuote(symbol, priority, null);
+    }
+
+    @Override
+    public CompletableFuture<Quote> getQuote(String symbol, Priority priority, Runnable onDispatch) {
+        CompletableFuture<Quote> queued = alphaVantageService.getStockQuoteAsync(symbol, priority, onDispatch);
+        CompletableFuture<Quote> quote = queued.thenApply(found -> {
+            if (found == null) {
+                throw new MarketDataProviderException("Alpha Vantage has no quote for " + symbol);
+            }
+            return found;
+        });
+        // Cancelling the lookup (a hedge that lost) takes the request out of the scheduler queue
+        quote.whenComplete((ignored, error) -> {
+            if (quote.isCancelled()) {
+                queued.cancel(false);
+            }
+        });
+        return quote;
+    }
+}
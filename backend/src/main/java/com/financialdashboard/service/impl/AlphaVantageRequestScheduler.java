@@ -0,0 +1,332 @@
+package com.financialdashboard.service.impl;
+
+import com.financialdashboard.exception.ProviderThrottledException;
+import com.financialdashboard.model.Priority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single gateway for Alpha Vantage calls. Requests wait in a priority queue and are
+ * released by one dispatcher thread only while both the per-minute token bucket and
+ * the daily budget allow it. A request for a key that is already queued is merged
+ * into the queued one instead of costing another call. Every caller gets its own future;
+ * once all callers of a queued request have cancelled it, it leaves the queue unsent.
+ */
+@Component
+public class AlphaVantageRequestScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(AlphaVantageRequestScheduler.class);
+
+    private final int callsPerMinute;
+    private final int callsPerDay;
+    private final int interactiveReserve;
+    private final int maxAttempts;
+    private final ZoneId quotaZone;
+    private final Clock clock;
+
+    private final PriorityBlockingQueue<PendingRequest> queue = new PriorityBlockingQueue<>();
+    private final Map<String, PendingRequest> pendingByKey = new HashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Map<Priority, Timer> waitTimers = new EnumMap<>(Priority.class);
+    private final Counter mergedRequests;
+    private final Counter throttledResponses;
+    private final Counter cancelledRequests;
+
+    private double minuteTokens;
+    private long lastRefillNanos;
+    private LocalDate quotaDay;
+    private int callsToday;
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public AlphaVantageRequestScheduler(MeterRegistry meterRegistry,
+                                        @Value("${market.alpha.vantage.quota.calls-per-minute:5}") int callsPerMinute,
+                                        @Value("${market.alpha.vantage.quota.calls-per-day:500}") int callsPerDay,
+                                        @Value("${market.alpha.vantage.quota.interactive-reserve:50}") int interactiveReserve,
+                                        @Value("${market.alpha.vantage.quota.max-attempts:3}") int maxAttempts,
+                                        @Value("${market.alpha.vantage.quota.reset-zone:UTC}") String quotaZone) {
+        this.callsPerMinute = callsPerMinute;
+        this.callsPerDay = callsPerDay;
+        this.interactiveReserve = interactiveReserve;
+        this.maxAttempts = maxAttempts;
+        this.quotaZone = ZoneId.of(quotaZone);
+        this.clock = Clock.system(this.quotaZone);
+        this.minuteTokens = callsPerMinute;
+        this.lastRefillNanos = System.nanoTime();
+        this.quotaDay = LocalDate.now(clock);
+
+        for (Priority priority : Priority.values()) {
+            waitTimers.put(priority, Timer.builder("market.alphavantage.queue.wait")
+                .tag("priority", priority.name().toLowerCase())
+                .register(meterRegistry));
+        }
+        this.mergedRequests = Counter.builder("market.alphavantage.requests.merged").register(meterRegistry);
+        this.throttledResponses = Counter.builder("market.alphavantage.requests.throttled").register(meterRegistry);
+        this.cancelledRequests = Counter.builder("market.alphavantage.requests.cancelled").register(meterRegistry);
+        Gauge.builder("market.alphavantage.queue.depth", queue, PriorityBlockingQueue::size).register(meterRegistry);
+        Gauge.builder("market.alphavantage.quota.remaining.day", this, s -> s.remainingToday()).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "alphavantage-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+    }
+
+    public <T> CompletableFuture<T> submit(String key, Priority priority, Supplier<CompletableFuture<T>> call) {
+        return submit(key, priority, call, null);
+    }
+
+    /**
+     * Queues a call, running {@code onDispatch} when it actually goes out (again on each
+     * retry), so callers can tell time spent waiting for quota from time spent at the API.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> submit(String key, Priority priority, Supplier<CompletableFuture<T>> call,
+                                           Runnable onDispatch) {
+        synchronized (pendingByKey) {
+            PendingRequest request = pendingByKey.get(key);
+            if (request != null) {
+                mergedRequests.increment();
+                if (priority.compareTo(request.priority) < 0 && queue.remove(request)) {
+                    request.priority = priority;
+                    queue.add(request);
+                }
+            } else {
+                request = new PendingRequest(key, priority, sequence.incrementAndGet(),
+                    (Supplier<CompletableFuture<?>>) (Supplier<?>) call);
+                pendingByKey.put(key, request);
+                queue.add(request);
+            }
+            if (onDispatch != null) {
+                request.dispatchListeners.add(onDispatch);
+            }
+            return (CompletableFuture<T>) subscribe(request);
+        }
+    }
+
+    private CompletableFuture<Object> subscribe(PendingRequest request) {
+        request.subscribers++;
+        CompletableFuture<Object> handle = new CompletableFuture<>();
+        request.result.whenComplete((value, error) -> {
+            if (error != null) {
+                handle.completeExceptionally(error);
+            } else {
+                handle.complete(value);
+            }
+        });
+        handle.whenComplete((value, error) -> {
+            if (error instanceof CancellationException) {
+                unsubscribe(request);
+            }
+        });
+        return handle;
+    }
+
+    private void unsubscribe(PendingRequest request) {
+        synchronized (pendingByKey) {
+            if (request.result.isDone()) {
+                return;
+            }
+            // A request that is already in flight finishes; one still queued is dropped
+            if (--request.subscribers == 0 && queue.remove(request)) {
+                pendingByKey.remove(request.key, request);
+                cancelledRequests.increment();
+                request.result.cancel(false);
+            }
+        }
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                awaitMinuteToken();
+                PendingRequest request = queue.take();
+                synchronized (pendingByKey) {
+                    pendingByKey.remove(request.key, request);
+                }
+                if (!consumeDailyCall(request.priority)) {
+                    request.result.completeExceptionally(new ProviderThrottledException(
+                        "Alpha Vantage daily quota exhausted for " + request.priority.name().toLowerCase() + " requests"));
+                    continue;
+                }
+                waitTimers.get(request.priority).record(System.nanoTime() - request.enqueuedNanos, TimeUnit.NANOSECONDS);
+                dispatch(request);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Alpha Vantage dispatcher failed", e);
+            }
+        }
+    }
+
+    private void dispatch(PendingRequest request) {
+        request.attempts++;
+        for (Runnable listener : request.dispatchListeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                logger.debug("Dispatch listener for {} failed", request.key, e);
+            }
+        }
+        CompletableFuture<?> call;
+        try {
+            call = request.call.get();
+        } catch (RuntimeException e) {
+            request.result.completeExceptionally(e);
+            return;
+        }
+        call.whenComplete((value, error) -> {
+            Throwable cause = error != null && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof ProviderThrottledException && request.attempts < maxAttempts) {
+                throttledResponses.increment();
+                logger.warn("Alpha Vantage throttled request {}, requeueing (attempt {})", request.key, request.attempts);
+                drainMinuteTokens();
+                requeue(request);
+            } else if (cause != null) {
+                request.result.completeExceptionally(cause);
+            } else {
+                request.result.complete(value);
+            }
+        });
+    }
+
+    private void requeue(PendingRequest request) {
+        synchronized (pendingByKey) {
+            if (request.subscribers == 0) {
+                cancelledRequests.increment();
+                request.result.cancel(false);
+                return;
+            }
+            PendingRequest merged = pendingByKey.putIfAbsent(request.key, request);
+            if (merged != null) {
+                // The forwarded result keeps the merged request alive for this one's callers
+                merged.subscribers++;
+                merged.result.whenComplete((value, error) -> {
+                    if (error != null) {
+                        request.result.completeExceptionally(error);
+                    } else {
+                        request.result.complete(value);
+                    }
+                });
+                return;
+            }
+            queue.add(request);
+        }
+    }
+
+    private void awaitMinuteToken() throws InterruptedException {
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                refill();
+                if (minuteTokens >= 1) {
+                    minuteTokens -= 1;
+                    return;
+                }
+                waitNanos = (long) ((1 - minuteTokens) * TimeUnit.MINUTES.toNanos(1) / callsPerMinute);
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.max(waitNanos, TimeUnit.MILLISECONDS.toNanos(1)));
+        }
+    }
+
+    private synchronized void refill() {
+        long now = System.nanoTime();
+        double refilled = (now - lastRefillNanos) * (double) callsPerMinute / TimeUnit.MINUTES.toNanos(1);
+        minuteTokens = Math.min(callsPerMinute, minuteTokens + refilled);
+        lastRefillNanos = now;
+    }
+
+    private synchronized void drainMinuteTokens() {
+        minuteTokens = 0;
+        lastRefillNanos = System.nanoTime();
+    }
+
+    private synchronized boolean consumeDailyCall(Priority priority) {
+        rollQuotaDay();
+        int limit = priority == Priority.INTERACTIVE ? callsPerDay : callsPerDay - interactiveReserve;
+        if (callsToday >= limit) {
+            return false;
+        }
+        callsToday++;
+        return true;
+    }
+
+    private synchronized int remainingToday() {
+        rollQuotaDay();
+        return callsPerDay - callsToday;
+    }
+
+    private void rollQuotaDay() {
+        LocalDate today = LocalDate.now(clock);
+        if (!today.equals(quotaDay)) {
+            quotaDay = today;
+            callsToday = 0;
+        }
+    }
+
+    private static final class PendingRequest implements Comparable<PendingRequest> {
+        private final String key;
+        private final long sequence;
+        private final long enqueuedNanos = System.nanoTime();
+        private final Supplier<CompletableFuture<?>> call;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final List<Runnable> dispatchListeners = new CopyOnWriteArrayList<>();
+        private volatile Priority priority;
+        private int attempts;
+        // Callers still waiting on the result, guarded by pendingByKey
+        private int subscribers;
+
+        private PendingRequest(String key, Priority priority, long sequence, Supplier<CompletableFuture<?>> call) {
+            this.key = key;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.call = call;
+        }
+
+        @Override
+        public int compareTo(PendingRequest other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
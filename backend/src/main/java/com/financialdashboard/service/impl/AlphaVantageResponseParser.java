@@ -0,0 +1,325 @@
+package com.financialdashboard.service.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financialdashboard.exception.MarketDataProviderException;
+import com.financialdashboard.exception.ProviderThrottledException;
+import com.financialdashboard.model.ExchangeRate;
+import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.PriceSeries;
+import com.financialdashboard.model.Quote;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneRules;
+
+/**
+ * Token-level parser for Alpha Vantage payloads. Values are read straight from the
+ * parser's character buffer into the target records, so no intermediate maps or
+ * per-field strings are created. Time series are decoded into primitive columns.
+ */
+@Component
+public class AlphaVantageResponseParser {
+
+    private static final ZoneId DEFAULT_ZONE = ZoneId.of("US/Eastern");
+    private static final LocalTime MARKET_CLOSE = LocalTime.of(16, 0);
+
+    private final JsonFactory jsonFactory;
+
+    public AlphaVantageResponseParser(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public Quote parseGlobalQuote(byte[] body, String symbol) {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("Global Quote".equals(field) && value == JsonToken.START_OBJECT) {
+                    return readGlobalQuote(parser, symbol);
+                }
+                checkThrottled(field);
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            throw new MarketDataProviderException("Unreadable Alpha Vantage response", e);
+        }
+    }
+
+    public ExchangeRate parseExchangeRate(byte[] body) {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("Realtime Currency Exchange Rate".equals(field) && value == JsonToken.START_OBJECT) {
+                    return readExchangeRate(parser);
+                }
+                checkThrottled(field);
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            throw new MarketDataProviderException("Unreadable Alpha Vantage response", e);
+        }
+    }
+
+    public PriceSeries parseTimeSeries(byte[] body, String symbol) {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            ZoneId zone = DEFAULT_ZONE;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("Meta Data".equals(field) && value == JsonToken.START_OBJECT) {
+                    zone = readTimeZone(parser);
+                } else if (field.contains("Time Series") && value == JsonToken.START_OBJECT) {
+                    return readSeries(parser, symbol, zone.getRules());
+                } else {
+                    checkThrottled(field);
+                    parser.skipChildren();
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new MarketDataProviderException("Unreadable Alpha Vantage response", e);
+        }
+    }
+
+    private Quote readGlobalQuote(JsonParser parser, String symbol) throws IOException {
+        BigDecimal price = null;
+        BigDecimal change = BigDecimal.ZERO;
+        BigDecimal changePercent = BigDecimal.ZERO;
+        long volume = Quote.NO_VOLUME;
+        ZonedDateTime timestamp = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "05. price" -> price = readDecimal(parser);
+                case "09. change" -> change = readDecimal(parser);
+                case "10. change percent" -> changePercent = readDecimal(parser);
+                case "06. volume" -> volume = readLong(parser);
+                case "07. latest trading day" -> timestamp = readTradingDay(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        if (price == null) {
+            return null;
+        }
+        if (timestamp == null) {
+            timestamp = ZonedDateTime.now(DEFAULT_ZONE);
+        }
+        return new Quote(symbol, price, change, changePercent, volume, timestamp, MarketData.DataSource.ALPHA_VANTAGE);
+    }
+
+    /**
+     * A quote is as of the close of its trading day, or as of now while that day is still
+     * trading, so a Friday price read over the weekend keeps Friday's date.
+     */
+    private static ZonedDateTime readTradingDay(JsonParser parser) throws IOException {
+        char[] chars = parser.getTextCharacters();
+        int o = parser.getTextOffset();
+        if (parser.getTextLength() < 10) {
+            return null;
+        }
+        LocalDate day = LocalDate.of(digits(chars, o, 4), digits(chars, o + 5, 2), digits(chars, o + 8, 2));
+        ZonedDateTime close = day.atTime(MARKET_CLOSE).atZone(DEFAULT_ZONE);
+        ZonedDateTime now = ZonedDateTime.now(DEFAULT_ZONE);
+        return close.isAfter(now) ? now : close;
+    }
+
+    private ExchangeRate readExchangeRate(JsonParser parser) throws IOException {
+        String from = null;
+        String to = null;
+        BigDecimal rate = null;
+        String lastRefreshed = null;
+        String timeZone = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "1. From_Currency Code" -> from = parser.getText();
+                case "3. To_Currency Code" -> to = parser.getText();
+                case "5. Exchange Rate" -> rate = readDecimal(parser);
+                case "6. Last Refreshed" -> lastRefreshed = parser.getText();
+                case "7. Time Zone" -> timeZone = parser.getText();
+                default -> parser.skipChildren();
+            }
+        }
+        return rate == null ? null : new ExchangeRate(from, to, rate, lastRefreshed, timeZone);
+    }
+
+    private ZoneId readTimeZone(JsonParser parser) throws IOException {
+        ZoneId zone = DEFAULT_ZONE;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (field.endsWith("Time Zone")) {
+                zone = ZoneId.of(parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return zone;
+    }
+
+    private PriceSeries readSeries(JsonParser parser, String symbol, ZoneRules zoneRules) throws IOException {
+        PriceSeries.Builder builder = PriceSeries.builder(symbol, 128);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            long timestamp = readTimestamp(parser, zoneRules);
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            long open = 0;
+            long high = 0;
+            long low = 0;
+            long close = 0;
+            long volume = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if (field.endsWith("open")) {
+                    open = readScaled(parser);
+                } else if (field.endsWith("high")) {
+                    high = readScaled(parser);
+                } else if (field.endsWith("low")) {
+                    low = readScaled(parser);
+                } else if (field.endsWith(" close") && !field.endsWith("adjusted close")) {
+                    close = readScaled(parser);
+                } else if (field.endsWith("volume")) {
+                    volume = readLong(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            builder.add(timestamp, open, high, low, close, volume);
+        }
+        return builder.build();
+    }
+
+    private static void checkThrottled(String field) {
+        // Alpha Vantage answers throttled calls with HTTP 200 and a "Note"/"Information" body
+        if ("Note".equals(field) || "Information".equals(field)) {
+            throw new ProviderThrottledException("Alpha Vantage rate limit reached");
+        }
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) {
+        if (actual != expected) {
+            throw new MarketDataProviderException("Unexpected Alpha Vantage payload: expected " + expected + " but was " + actual);
+        }
+    }
+
+    private static BigDecimal readDecimal(JsonParser parser) throws IOException {
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        // Percentages arrive as "1.2345%"
+        if (length > 0 && chars[offset + length - 1] == '%') {
+            length--;
+        }
+        return new BigDecimal(chars, offset, length);
+    }
+
+    private static long readScaled(JsonParser parser) throws IOException {
+        return parseScaled(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength(),
+            PriceSeries.PRICE_SCALE);
+    }
+
+    private static long readLong(JsonParser parser) throws IOException {
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int end = offset + parser.getTextLength();
+        long value = 0;
+        for (int i = offset; i < end; i++) {
+            char c = chars[i];
+            if (c < '0' || c > '9') {
+                break;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    static long parseScaled(char[] chars, int offset, int length, int scale) {
+        int end = offset + length;
+        int i = offset;
+        boolean negative = false;
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+        long value = 0;
+        int fractionDigits = -1;
+        boolean roundUp = false;
+        for (; i < end; i++) {
+            char c = chars[i];
+            if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                break;
+            }
+            if (fractionDigits >= scale) {
+                // First dropped digit decides HALF_UP rounding; the rest are ignored
+                if (fractionDigits == scale) {
+                    roundUp = c >= '5';
+                }
+                fractionDigits++;
+                continue;
+            }
+            value = value * 10 + (c - '0');
+            if (fractionDigits >= 0) {
+                fractionDigits++;
+            }
+        }
+        for (int digits = Math.max(fractionDigits, 0); digits < scale; digits++) {
+            value *= 10;
+        }
+        if (roundUp) {
+            value++;
+        }
+        return negative ? -value : value;
+    }
+
+    private static long readTimestamp(JsonParser parser, ZoneRules zoneRules) throws IOException {
+        char[] chars = parser.getTextCharacters();
+        int o = parser.getTextOffset();
+        int length = parser.getTextLength();
+        int year = digits(chars, o, 4);
+        int month = digits(chars, o + 5, 2);
+        int day = digits(chars, o + 8, 2);
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        if (length >= 19) {
+            hour = digits(chars, o + 11, 2);
+            minute = digits(chars, o + 14, 2);
+            second = digits(chars, o + 17, 2);
+        }
+        long epochSecond = LocalDate.of(year, month, day).toEpochDay() * 86400L + hour * 3600L + minute * 60L + second;
+        ZoneOffset offset = zoneRules.getOffset(LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC));
+        return (epochSecond - offset.getTotalSeconds()) * 1000L;
+    }
+
+    private static int digits(char[] chars, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            value = value * 10 + (chars[i] - '0');
+        }
+        return value;
+    }
+}
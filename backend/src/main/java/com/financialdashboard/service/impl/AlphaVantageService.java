@@ -1,85 +1,102 @@
 package com.financialdashboard.service.impl;
 
-import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.ExchangeRate;
+import com.financialdashboard.model.Priority;
+import com.financialdashboard.model.Quote;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import java.math.BigDecimal;
-import java.time.ZonedDateTime;
-import java.util.HashMap;
+import java.net.URI;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 public class AlphaVantageService {
     private static final String BASE_URL = "https://www.alphavantage.co/query";
-    private final RestTemplate restTemplate;
+    private final ProviderHttpTransport transport;
+    private final AlphaVantageRequestScheduler scheduler;
+    private final AlphaVantageResponseParser parser;
     private final String apiKey;
 
-    public AlphaVantageService(RestTemplate marketDataRestTemplate, 
+    public AlphaVantageService(ProviderHttpTransport transport,
+                             AlphaVantageRequestScheduler scheduler,
+                             AlphaVantageResponseParser parser,
                              @Value("${market.alpha.vantage.api.key}") String apiKey) {
-        this.restTemplate = marketDataRestTemplate;
+        this.transport = transport;
+        this.scheduler = scheduler;
+        this.parser = parser;
         this.apiKey = apiKey;
     }
 
-    @Cacheable(value = "stockQuote", key = "#symbol", unless = "#result == null")
     public Map<String, Object> getStockQuote(String symbol) {
-        String url = UriComponentsBuilder.fromHttpUrl(BASE_URL)
+        return getStockQuote(symbol, Priority.INTERACTIVE);
+    }
+
+    public Map<String, Object> getStockQuote(String symbol, Priority priority) {
+        Quote quote = await(getStockQuoteAsync(symbol, priority));
+        return quote != null ? quote.toMap() : null;
+    }
+
+    public Map<String, Object> getCryptoQuote(String symbol) {
+        return getCryptoQuote(symbol, Priority.INTERACTIVE);
+    }
+
+    public Map<String, Object> getCryptoQuote(String symbol, Priority priority) {
+        ExchangeRate rate = await(getCryptoQuoteAsync(symbol, priority));
+        return rate != null ? rate.toMap() : null;
+    }
+
+    public CompletableFuture<Quote> getStockQuoteAsync(String symbol) {
+        return getStockQuoteAsync(symbol, Priority.INTERACTIVE);
+    }
+
+    public CompletableFuture<Quote> getStockQuoteAsync(String symbol, Priority priority) {
+        return getStockQuoteAsync(symbol, priority, null);
+    }
+
+    public CompletableFuture<Quote> getStockQuoteAsync(String symbol, Priority priority, Runnable onDispatch) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(BASE_URL)
             .queryParam("function", "GLOBAL_QUOTE")
             .queryParam("symbol", symbol)
             .queryParam("apikey", apiKey)
             .build()
-            .toString();
+            .toUri();
 
-        Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-        return processStockQuoteResponse(response);
+        return scheduler.submit("GLOBAL_QUOTE:" + symbol, priority, () -> transport.getBytes(uri)
+            .thenApply(body -> parser.parseGlobalQuote(body, symbol)), onDispatch);
     }
 
-    @Cacheable(value = "cryptoQuote", key = "#symbol", unless = "#result == null")
-    public Map<String, Object> getCryptoQuote(String symbol) {
-        String url = UriComponentsBuilder.fromHttpUrl(BASE_URL)
-            .queryParam("function", "CURRENCY_EXCHANGE_RATE")
-            .queryParam("from_currency", symbol)
-            .queryParam("to_currency", "USD")
-            .queryParam("apikey", apiKey)
-            .build()
-            .toString();
+    public CompletableFuture<ExchangeRate> getCryptoQuoteAsync(String symbol) {
+        return getCryptoQuoteAsync(symbol, Priority.INTERACTIVE);
+    }
 
-        Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-        return processCryptoQuoteResponse(response);
+    public CompletableFuture<ExchangeRate> getCryptoQuoteAsync(String symbol, Priority priority) {
+        return getExchangeRateAsync(symbol, "USD", priority);
     }
 
-    private Map<String, Object> processStockQuoteResponse(Map<String, Object> response) {
-        if (response == null || response.get("Global Quote") == null) {
-            return null;
-        }
+    public CompletableFuture<ExchangeRate> getExchangeRateAsync(String fromCurrency, String toCurrency, Priority priority) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(BASE_URL)
+            .queryParam("function", "CURRENCY_EXCHANGE_RATE")
+            .queryParam("from_currency", fromCurrency)
+            .queryParam("to_currency", toCurrency)
+            .queryParam("apikey", apiKey)
+            .build()
+            .toUri();
 
-        Map<String, String> quote = (Map<String, String>) response.get("Global Quote");
-        Map<String, Object> result = new HashMap<>();
-        
-        result.put("price", new BigDecimal(quote.get("05. price")));
-        result.put("change", new BigDecimal(quote.get("09. change")));
-        result.put("changePercent", quote.get("10. change percent").replace("%", ""));
-        result.put("volume", Long.parseLong(quote.get("06. volume")));
-        result.put("latestTradingDay", quote.get("07. latest trading day"));
-        
-        return result;
+        return scheduler.submit("CURRENCY_EXCHANGE_RATE:" + fromCurrency + ":" + toCurrency, priority,
+            () -> transport.getBytes(uri).thenApply(parser::parseExchangeRate));
     }
 
-    private Map<String, Object> processCryptoQuoteResponse(Map<String, Object> response) {
-        if (response == null || response.get("Realtime Currency Exchange Rate") == null) {
-            return null;
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         }
-
-        Map<String, String> quote = (Map<String, String>) response.get("Realtime Currency Exchange Rate");
-        Map<String, Object> result = new HashMap<>();
-        
-        result.put("price", new BigDecimal(quote.get("5. Exchange Rate")));
-        result.put("lastRefreshed", quote.get("6. Last Refreshed"));
-        result.put("timeZone", quote.get("7. Time Zone"));
-        
-        return result;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package com.financialdashboard.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financialdashboard.exception.MarketDataProviderException;
+import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.Priority;
+import com.financialdashboard.model.Quote;
+import com.financialdashboard.service.MarketDataProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+public class FinnhubQuoteProvider implements MarketDataProvider {
+
+    private final ProviderHttpTransport transport;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String apiKey;
+
+    public FinnhubQuoteProvider(ProviderHttpTransport transport,
+                                ObjectMapper objectMapper,
+                                @Value("${market.finnhub.base-url:https://finnhub.io/api/v1}") String baseUrl,
+                                @Value("${market.finnhub.api.key:}") String apiKey) {
+        this.transport = transport;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.apiKey = apiKey;
+    }
+
+    @Override
+    public MarketData.DataSource getSource() {
+        return MarketData.DataSource.FINNHUB;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return apiKey != null && !apiKey.isBlank();
+    }
+
+    @Override
+    public CompletableFuture<Quote> getQuote(String symbol, Priority priority) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(baseUrl)
+            .path("/quote")
+            .queryParam("symbol", symbol)
+            .queryParam("token", apiKey)
+            .build()
+            .toUri();
+
+        return transport.get(uri).thenApply(body -> toQuote(symbol, body));
+    }
+
+    private Quote toQuote(String symbol, String body) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            throw new MarketDataProviderException("Unreadable Finnhub response", e);
+        }
+        // Finnhub answers unknown symbols with an all-zero quote
+        if (node == null || !node.hasNonNull("c") || node.get("c").decimalValue().signum() == 0) {
+            throw new MarketDataProviderException("Finnhub has no quote for " + symbol);
+        }
+        return new Quote(symbol,
+            node.get("c").decimalValue(),
+            node.path("d").isNumber() ? node.get("d").decimalValue() : BigDecimal.ZERO,
+            node.path("dp").isNumber() ? node.get("dp").decimalValue() : BigDecimal.ZERO,
+            Quote.NO_VOLUME,
+            Instant.ofEpochSecond(node.path("t").asLong()).atZone(ZoneOffset.UTC),
+            getSource());
+    }
+}
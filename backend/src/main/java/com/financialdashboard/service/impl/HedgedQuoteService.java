@@ -0,0 +1,298 @@
+package com.financialdashboard.service.impl;
+
+import com.financialdashboard.exception.MarketDataProviderException;
+import com.financialdashboard.exception.ProviderThrottledException;
+import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.Priority;
+import com.financialdashboard.model.Quote;
+import com.financialdashboard.service.MarketDataProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Fans quote lookups out across the configured providers. The first provider is asked
+ * first; if it has not answered within its observed p95 latency a hedged request goes
+ * to the next provider, and any error or throttle fails over immediately. The first
+ * successful answer wins and the attempts still outstanding are cancelled.
+ */
+@Service
+public class HedgedQuoteService {
+    private static final Logger logger = LoggerFactory.getLogger(HedgedQuoteService.class);
+
+    private final List<MarketDataProvider> providers;
+    private final Map<MarketData.DataSource, ProviderStats> stats = new EnumMap<>(MarketData.DataSource.class);
+    private final ScheduledExecutorService hedgeTimer;
+    private final long defaultHedgeDelayNanos;
+    private final long minHedgeDelayNanos;
+    private final int minSamples;
+    private final long throttleCooldownNanos;
+
+    private final Counter hedgedRequests;
+    private final Counter failovers;
+
+    public HedgedQuoteService(List<MarketDataProvider> providers,
+                              MeterRegistry meterRegistry,
+                              @Value("${market.providers.order:ALPHA_VANTAGE,FINNHUB,YAHOO_FINANCE,IEX_CLOUD}") String order,
+                              @Value("${market.providers.hedge.default-delay-ms:500}") long defaultHedgeDelayMs,
+                              @Value("${market.providers.hedge.min-delay-ms:50}") long minHedgeDelayMs,
+                              @Value("${market.providers.hedge.min-samples:20}") int minSamples,
+                              @Value("${market.providers.throttle-cooldown-ms:60000}") long throttleCooldownMs) {
+        List<String> ranking = Arrays.stream(order.split(",")).map(String::trim).collect(Collectors.toList());
+        this.providers = providers.stream()
+            .filter(MarketDataProvider::isEnabled)
+            .filter(provider -> ranking.contains(provider.getSource().name()))
+            .sorted(Comparator.comparingInt(provider -> ranking.indexOf(provider.getSource().name())))
+            .collect(Collectors.toList());
+        this.defaultHedgeDelayNanos = TimeUnit.MILLISECONDS.toNanos(defaultHedgeDelayMs);
+        this.minHedgeDelayNanos = TimeUnit.MILLISECONDS.toNanos(minHedgeDelayMs);
+        this.minSamples = minSamples;
+        this.throttleCooldownNanos = TimeUnit.MILLISECONDS.toNanos(throttleCooldownMs);
+        this.hedgeTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quote-hedge-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (MarketDataProvider provider : this.providers) {
+            stats.put(provider.getSource(), new ProviderStats(provider.getSource(), meterRegistry));
+        }
+        this.hedgedRequests = Counter.builder("market.quotes.hedged").register(meterRegistry);
+        this.failovers = Counter.builder("market.quotes.failover").register(meterRegistry);
+        logger.info("Quote providers in order: {}", this.providers.stream().map(MarketDataProvider::getSource).toList());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hedgeTimer.shutdownNow();
+    }
+
+    public List<MarketData.DataSource> getActiveSources() {
+        return providers.stream().map(MarketDataProvider::getSource).toList();
+    }
+
+    public CompletableFuture<Quote> getQuote(String symbol, Priority priority) {
+        if (providers.isEmpty()) {
+            return CompletableFuture.failedFuture(new MarketDataProviderException("No quote providers are configured"));
+        }
+        List<MarketDataProvider> candidates = availableProviders();
+        if (candidates.isEmpty()) {
+            return CompletableFuture.failedFuture(
+                new ProviderThrottledException("All quote providers are throttled"));
+        }
+        return new HedgedLookup(symbol, priority, candidates).start();
+    }
+
+    /**
+     * Bulk lookup for the micro-batcher. Bulk calls are not hedged: each provider in turn
+     * gets one request for the symbols still unpriced, so a partial answer only fails over
+     * the remainder. Symbols no provider could price are missing from the result.
+     */
+    public CompletableFuture<Map<String, Quote>> getQuotes(Collection<String> symbols, Priority priority) {
+        List<MarketDataProvider> candidates = availableProviders();
+        if (candidates.isEmpty()) {
+            return CompletableFuture.failedFuture(
+                new ProviderThrottledException("All quote providers are throttled"));
+        }
+        Map<String, Quote> found = new ConcurrentHashMap<>();
+        return fetchBulk(new ArrayList<>(new LinkedHashSet<>(symbols)), priority, candidates, 0, found);
+    }
+
+    private List<MarketDataProvider> availableProviders() {
+        List<MarketDataProvider> candidates = new ArrayList<>();
+        for (MarketDataProvider provider : providers) {
+            if (!stats.get(provider.getSource()).isCoolingDown()) {
+                candidates.add(provider);
+            }
+        }
+        return candidates;
+    }
+
+    private CompletableFuture<Map<String, Quote>> fetchBulk(List<String> remaining, Priority priority,
+                                                            List<MarketDataProvider> candidates, int index,
+                                                            Map<String, Quote> found) {
+        if (remaining.isEmpty() || index >= candidates.size()) {
+            return CompletableFuture.completedFuture(found);
+        }
+        MarketDataProvider provider = candidates.get(index);
+        ProviderStats providerStats = stats.get(provider.getSource());
+
+        CompletableFuture<Map<String, Quote>> attempt;
+        try {
+            attempt = provider.getQuotes(remaining, priority);
+        } catch (RuntimeException e) {
+            attempt = CompletableFuture.failedFuture(e);
+        }
+        return attempt.handle((quotes, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause == null && quotes != null && !quotes.isEmpty()) {
+                found.putAll(quotes);
+                providerStats.wins.increment();
+            } else if (cause instanceof ProviderThrottledException) {
+                providerStats.startCooldown();
+            } else if (cause != null) {
+                logger.debug("Bulk quote lookup against {} failed", provider.getSource(), cause);
+            }
+            List<String> missing = remaining.stream().filter(symbol -> !found.containsKey(symbol)).toList();
+            if (!missing.isEmpty() && index + 1 < candidates.size()) {
+                failovers.increment();
+            }
+            return fetchBulk(missing, priority, candidates, index + 1, found);
+        }).thenCompose(next -> next);
+    }
+
+    private final class HedgedLookup {
+        private final String symbol;
+        private final Priority priority;
+        private final List<MarketDataProvider> candidates;
+        private final CompletableFuture<Quote> result = new CompletableFuture<>();
+        private final List<CompletableFuture<Quote>> attempts = new CopyOnWriteArrayList<>();
+        private final AtomicInteger launched = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private volatile Throwable lastError;
+
+        private HedgedLookup(String symbol, Priority priority, List<MarketDataProvider> candidates) {
+            this.symbol = symbol;
+            this.priority = priority;
+            this.candidates = candidates;
+        }
+
+        CompletableFuture<Quote> start() {
+            // Whoever completes the result first, the losing attempts are no longer wanted
+            result.whenComplete((quote, error) -> attempts.forEach(attempt -> attempt.cancel(false)));
+            launchNext();
+            return result;
+        }
+
+        private void launchNext() {
+            int index = launched.getAndIncrement();
+            if (index >= candidates.size()) {
+                launched.decrementAndGet();
+                return;
+            }
+            MarketDataProvider provider = candidates.get(index);
+            ProviderStats providerStats = stats.get(provider.getSource());
+            // Latency counts from when the request left, not from time spent in a provider queue
+            AtomicLong dispatched = new AtomicLong();
+
+            CompletableFuture<Quote> attempt;
+            try {
+                attempt = provider.getQuote(symbol, priority, () -> dispatched.set(System.nanoTime()));
+            } catch (RuntimeException e) {
+                attempt = CompletableFuture.failedFuture(e);
+            }
+            attempts.add(attempt);
+            attempt.whenComplete((quote, error) -> onAttemptComplete(providerStats, dispatched.get(), quote, error));
+            if (result.isDone()) {
+                attempt.cancel(false);
+            }
+
+            if (index + 1 < candidates.size()) {
+                hedgeTimer.schedule(() -> {
+                    if (!result.isDone() && launched.get() == index + 1) {
+                        hedgedRequests.increment();
+                        logger.debug("Hedging quote for {} after {} exceeded its latency budget", symbol, provider.getSource());
+                        launchNext();
+                    }
+                }, providerStats.hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void onAttemptComplete(ProviderStats providerStats, long dispatchedNanos, Quote quote, Throwable error) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause == null && quote != null) {
+                if (dispatchedNanos != 0) {
+                    providerStats.recordLatency(System.nanoTime() - dispatchedNanos);
+                }
+                if (result.complete(quote)) {
+                    providerStats.wins.increment();
+                }
+                return;
+            }
+            if (cause instanceof CancellationException || result.isDone()) {
+                return;
+            }
+
+            lastError = cause;
+            if (cause instanceof ProviderThrottledException) {
+                providerStats.startCooldown();
+            }
+            int failures = failed.incrementAndGet();
+            if (failures >= candidates.size()) {
+                result.completeExceptionally(lastError != null ? lastError
+                    : new MarketDataProviderException("No provider returned a quote for " + symbol));
+            } else if (!result.isDone() && launched.get() == failures) {
+                failovers.increment();
+                launchNext();
+            }
+        }
+    }
+
+    private final class ProviderStats {
+        private static final int WINDOW = 256;
+
+        private final long[] latencies = new long[WINDOW];
+        private final Timer latency;
+        private final Counter wins;
+        private int count;
+        private int next;
+        private volatile long cooldownUntil;
+
+        private ProviderStats(MarketData.DataSource source, MeterRegistry meterRegistry) {
+            String tag = source.name().toLowerCase();
+            this.latency = Timer.builder("market.provider.latency").tag("source", tag)
+                .publishPercentiles(0.95, 0.99).register(meterRegistry);
+            this.wins = Counter.builder("market.provider.wins").tag("source", tag).register(meterRegistry);
+        }
+
+        synchronized void recordLatency(long nanos) {
+            latency.record(nanos, TimeUnit.NANOSECONDS);
+            latencies[next] = nanos;
+            next = (next + 1) % WINDOW;
+            count = Math.min(count + 1, WINDOW);
+        }
+
+        synchronized long hedgeDelayNanos() {
+            if (count < minSamples) {
+                return defaultHedgeDelayNanos;
+            }
+            long[] window = Arrays.copyOf(latencies, count);
+            Arrays.sort(window);
+            long p95 = window[(int) Math.ceil(count * 0.95) - 1];
+            return Math.max(minHedgeDelayNanos, p95);
+        }
+
+        void startCooldown() {
+            cooldownUntil = System.nanoTime() + throttleCooldownNanos;
+        }
+
+        boolean isCoolingDown() {
+            return cooldownUntil != 0 && System.nanoTime() - cooldownUntil < 0;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.financialdashboard.service.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.financialdashboard.model.ExportFormat;
+import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.TickCursor;
+import com.financialdashboard.model.TickPage;
+import com.financialdashboard.repository.MarketDataTickRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Raw tick history for API clients. Exports stream rows from a forward-only cursor
+ * straight into the response, so memory stays bounded by the fetch size and the output
+ * buffer whatever the range; pages use keyset pagination on (timestamp, id).
+ */
+@Component
+public class HistoricalTickReader {
+
+    private static final String CSV_HEADER = "id,symbol,price,volume,timestamp,data_source\n";
+
+    private final MarketDataTickRepository marketDataTickRepository;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final int fetchSize;
+    private final int maxPageSize;
+
+    public HistoricalTickReader(MarketDataTickRepository marketDataTickRepository,
+                                @Value("${market.history.export.fetch-size:1000}") int fetchSize,
+                                @Value("${market.history.max-page-size:5000}") int maxPageSize) {
+        this.marketDataTickRepository = marketDataTickRepository;
+        this.fetchSize = fetchSize;
+        this.maxPageSize = maxPageSize;
+        this.jsonFactory.setRootValueSeparator(null);
+    }
+
+    /**
+     * Writes every tick in [from, to) to the stream and returns the number of rows. Must run
+     * inside a transaction for the driver to use a server-side cursor.
+     */
+    public long export(String symbol, Instant from, Instant to, ExportFormat format, OutputStream out) throws IOException {
+        RowWriter rowWriter = format == ExportFormat.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        long[] rows = {0};
+        try {
+            marketDataTickRepository.streamRange(symbol, from, to, fetchSize, rs -> {
+                try {
+                    rowWriter.write(rs);
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        rowWriter.finish();
+        return rows[0];
+    }
+
+    public TickPage page(String symbol, Instant from, Instant to, TickCursor after, int limit) {
+        int size = Math.max(1, Math.min(limit, maxPageSize));
+        List<MarketData> ticks = marketDataTickRepository.findPage(symbol, from, to, after, size + 1);
+        if (ticks.size() <= size) {
+            return new TickPage(ticks, null);
+        }
+        List<MarketData> items = ticks.subList(0, size);
+        return new TickPage(List.copyOf(items), TickCursor.after(items.get(size - 1)).encode());
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws IOException, SQLException;
+
+        void finish() throws IOException;
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(OutputStream out) throws IOException {
+            this.generator = jsonFactory.createGenerator(out);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws IOException, SQLException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong("id"));
+            generator.writeStringField("symbol", rs.getString("symbol"));
+            generator.writeNumberField("price", rs.getBigDecimal("price"));
+            long volume = rs.getLong("volume");
+            if (rs.wasNull()) {
+                generator.writeNullField("volume");
+            } else {
+                generator.writeNumberField("volume", volume);
+            }
+            generator.writeStringField("timestamp", rs.getTimestamp("timestamp").toInstant().toString());
+            generator.writeStringField("dataSource", rs.getString("data_source"));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        private boolean headerWritten;
+
+        private CsvRowWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void write(ResultSet rs) throws IOException, SQLException {
+            if (!headerWritten) {
+                writer.write(CSV_HEADER);
+                headerWritten = true;
+            }
+            writer.write(Long.toString(rs.getLong("id")));
+            writer.write(',');
+            writer.write(rs.getString("symbol"));
+            writer.write(',');
+            BigDecimal price = rs.getBigDecimal("price");
+            writer.write(price.toPlainString());
+            writer.write(',');
+            long volume = rs.getLong("volume");
+            if (!rs.wasNull()) {
+                writer.write(Long.toString(volume));
+            }
+            writer.write(',');
+            writer.write(rs.getTimestamp("timestamp").toInstant().toString());
+            writer.write(',');
+            writer.write(rs.getString("data_source"));
+            writer.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (!headerWritten) {
+                writer.write(CSV_HEADER);
+            }
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.financialdashboard.service.impl;
+
+import com.financialdashboard.model.MarketData;
+import com.financialdashboard.repository.MarketDataLatestRepository;
+import com.financialdashboard.repository.PortfolioHoldingPriceRepository;
+import com.financialdashboard.service.MarketDataService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Refreshes current_price on holdings. The distinct symbols are priced in one batch
+ * outside any transaction, then written with set-based updates, so repricing the whole
+ * book costs a handful of statements instead of a lookup and save per holding. The
+ * scheduled job reads the stored latest prices rather than going through the market data
+ * service, so it neither fetches from providers nor counts as access to the symbols.
+ */
+@Component
+public class HoldingRepricer {
+    private static final Logger logger = LoggerFactory.getLogger(HoldingRepricer.class);
+
+    private final PortfolioHoldingPriceRepository portfolioHoldingPriceRepository;
+    private final MarketDataLatestRepository marketDataLatestRepository;
+    private final MarketDataService marketDataService;
+    private final PortfolioValuationEngine portfolioValuationEngine;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Counter repricedRows;
+    private final int chunkSize;
+
+    public HoldingRepricer(PortfolioHoldingPriceRepository portfolioHoldingPriceRepository,
+                           MarketDataLatestRepository marketDataLatestRepository,
+                           MarketDataService marketDataService,
+                           PortfolioValuationEngine portfolioValuationEngine,
+                           CacheManager cacheManager,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${market.reprice.chunk-size:1000}") int chunkSize) {
+        this.portfolioHoldingPriceRepository = portfolioHoldingPriceRepository;
+        this.marketDataLatestRepository = marketDataLatestRepository;
+        this.marketDataService = marketDataService;
+        this.portfolioValuationEngine = portfolioValuationEngine;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.repricedRows = Counter.builder("portfolio.reprice.rows").register(meterRegistry);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Reprices every holding at the newest stored price of its symbol, feeds those prices to
+     * the valuation engine as of their own timestamps and evicts only the cached holdings
+     * whose rows changed.
+     */
+    @Scheduled(fixedDelayString = "${market.reprice.interval-ms:300000}")
+    public int repriceAll() {
+        List<String> symbols = portfolioHoldingPriceRepository.findDistinctSymbols();
+        if (symbols.isEmpty()) {
+            return 0;
+        }
+        List<MarketData> latest = marketDataLatestRepository.findBySymbols(symbols);
+        Map<String, BigDecimal> prices = new HashMap<>();
+        for (MarketData tick : latest) {
+            if (tick.getPrice() != null) {
+                prices.put(tick.getSymbol(), tick.getPrice());
+            }
+        }
+        Map<Long, List<String>> changed = update(prices, null, "all");
+        Cache holdings = cacheManager.getCache(PortfolioServiceImpl.HOLDINGS_CACHE);
+        Cache holding = cacheManager.getCache(PortfolioServiceImpl.HOLDING_CACHE);
+        changed.forEach((accountId, changedSymbols) -> {
+            if (holdings != null) {
+                holdings.evict(accountId);
+            }
+            if (holding != null) {
+                changedSymbols.forEach(symbol -> holding.evict(accountId + "-" + symbol));
+            }
+        });
+        for (MarketData tick : latest) {
+            if (tick.getPrice() != null) {
+                portfolioValuationEngine.onPrice(tick.getSymbol(), tick.getPrice(), tick.getTimestamp().toInstant());
+            }
+        }
+        return prices.size();
+    }
+
+    /**
+     * Reprices one account's holdings at freshly fetched prices and returns the prices
+     * applied. Evicting the account's cached entries and valuation is left to the caller.
+     */
+    public Map<String, BigDecimal> repriceAccount(Long accountId) {
+        List<String> symbols = portfolioHoldingPriceRepository.findDistinctSymbols(accountId);
+        if (symbols.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, BigDecimal> prices = new HashMap<>();
+        marketDataService.getBatchPrices(symbols).forEach((symbol, price) -> {
+            if (price != null) {
+                prices.put(symbol, price);
+            }
+        });
+        update(prices, accountId, "account");
+        return prices;
+    }
+
+    private Map<Long, List<String>> update(Map<String, BigDecimal> prices, Long accountId, String scope) {
+        if (prices.isEmpty()) {
+            return Map.of();
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Map<Long, List<String>> changed = transactionTemplate.execute(status ->
+            portfolioHoldingPriceRepository.reprice(prices, accountId, chunkSize));
+        sample.stop(meterRegistry.timer("portfolio.reprice.latency", "scope", scope));
+        int updated = changed != null ? changed.values().stream().mapToInt(List::size).sum() : 0;
+        repricedRows.increment(updated);
+        logger.debug("Repriced {} holdings across {} symbols ({})", updated, prices.size(), scope);
+        return changed != null ? changed : Map.of();
+    }
+}
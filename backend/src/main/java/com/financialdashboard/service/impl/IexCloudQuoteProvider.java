@@ -0,0 +1,133 @@
+package com.financialdashboard.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financialdashboard.exception.MarketDataProviderException;
+import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.Priority;
+import com.financialdashboard.model.Quote;
+import com.financialdashboard.service.MarketDataProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+public class IexCloudQuoteProvider implements MarketDataProvider {
+
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+    private final ProviderHttpTransport transport;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String apiKey;
+    private final int maxSymbolsPerRequest;
+
+    public IexCloudQuoteProvider(ProviderHttpTransport transport,
+                                 ObjectMapper objectMapper,
+                                 @Value("${market.iex.cloud.base-url:https://cloud.iexapis.com/stable}") String baseUrl,
+                                 @Value("${market.iex.cloud.api.key:}") String apiKey,
+                                 @Value("${market.iex.cloud.max-symbols-per-request:100}") int maxSymbolsPerRequest) {
+        this.transport = transport;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.apiKey = apiKey;
+        this.maxSymbolsPerRequest = maxSymbolsPerRequest;
+    }
+
+    @Override
+    public MarketData.DataSource getSource() {
+        return MarketData.DataSource.IEX_CLOUD;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return apiKey != null && !apiKey.isBlank();
+    }
+
+    @Override
+    public CompletableFuture<Quote> getQuote(String symbol, Priority priority) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(baseUrl)
+            .path("/stock/{symbol}/quote")
+            .queryParam("token", apiKey)
+            .buildAndExpand(symbol)
+            .toUri();
+
+        return transport.get(uri).thenApply(body -> {
+            Quote quote = toQuote(symbol, readTree(body));
+            if (quote == null) {
+                throw new MarketDataProviderException("IEX Cloud has no quote for " + symbol);
+            }
+            return quote;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Quote>> getQuotes(Collection<String> symbols, Priority priority) {
+        List<String> pending = new ArrayList<>(symbols);
+        List<CompletableFuture<Map<String, Quote>>> chunks = new ArrayList<>();
+        for (int from = 0; from < pending.size(); from += maxSymbolsPerRequest) {
+            chunks.add(fetchBatch(pending.subList(from, Math.min(from + maxSymbolsPerRequest, pending.size()))));
+        }
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            Map<String, Quote> quotes = new HashMap<>();
+            chunks.forEach(chunk -> quotes.putAll(chunk.join()));
+            return quotes;
+        });
+    }
+
+    private CompletableFuture<Map<String, Quote>> fetchBatch(List<String> symbols) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(baseUrl)
+            .path("/stock/market/batch")
+            .queryParam("symbols", String.join(",", symbols))
+            .queryParam("types", "quote")
+            .queryParam("token", apiKey)
+            .build()
+            .toUri();
+
+        return transport.get(uri).thenApply(body -> {
+            // Batch responses are keyed by upper-cased symbol: {"AAPL": {"quote": {...}}}
+            JsonNode root = readTree(body);
+            Map<String, Quote> quotes = new HashMap<>();
+            for (String symbol : symbols) {
+                Quote quote = toQuote(symbol, root.path(symbol.toUpperCase()).path("quote"));
+                if (quote != null) {
+                    quotes.put(symbol, quote);
+                }
+            }
+            return quotes;
+        });
+    }
+
+    private JsonNode readTree(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            throw new MarketDataProviderException("Unreadable IEX Cloud response", e);
+        }
+    }
+
+    private Quote toQuote(String symbol, JsonNode node) {
+        if (node == null || !node.path("latestPrice").isNumber()) {
+            return null;
+        }
+        return new Quote(symbol,
+            node.get("latestPrice").decimalValue(),
+            node.path("change").decimalValue(),
+            node.path("changePercent").decimalValue().multiply(HUNDRED),
+            node.path("latestVolume").asLong(Quote.NO_VOLUME),
+            Instant.ofEpochMilli(node.path("latestUpdate").asLong()).atZone(ZoneOffset.UTC),
+            getSource());
+    }
+}
@@ -0,0 +1,151 @@
+package com.financialdashboard.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Keeps the monthly market_data partitions rolling: creates the partitions for the coming
+ * months ahead of time and drops or archives the ones past the retention window. A new
+ * partition is built as a plain table, filled with any rows the default partition caught
+ * for its range and then attached, since PostgreSQL refuses to create a partition whose
+ * range still has rows in the default one. Each partition is handled on its own, so one
+ * failure is logged and does not stop the rest or the application from starting.
+ */
+@Component
+public class MarketDataPartitionMaintainer {
+    private static final Logger logger = LoggerFactory.getLogger(MarketDataPartitionMaintainer.class);
+
+    static final String PARTITION_PREFIX = "market_data_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String ARCHIVE_SCHEMA = "market_archive";
+    private static final String DEFAULT_PARTITION = "market_data_default";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final boolean archive;
+
+    @Autowired
+    public MarketDataPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${market.partitions.premake-months:3}") int premakeMonths,
+                                         @Value("${market.retention.months:24}") int retentionMonths,
+                                         @Value("${market.retention.mode:drop}") String retentionMode) {
+        this(jdbcTemplate, transactionManager, Clock.systemUTC(), premakeMonths, retentionMonths, retentionMode);
+    }
+
+    public MarketDataPartitionMaintainer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                         Clock clock, int premakeMonths, int retentionMonths, String retentionMode) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.premakeMonths = premakeMonths;
+        this.retentionMonths = retentionMonths;
+        this.archive = "archive".equalsIgnoreCase(retentionMode);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${market.partitions.cron:0 15 0 * * *}", zone = "UTC")
+    public void maintain() {
+        List<String> existing;
+        try {
+            existing = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = 'market_data'", String.class);
+        } catch (RuntimeException e) {
+            logger.error("Could not list market_data partitions, skipping maintenance", e);
+            return;
+        }
+
+        YearMonth current = YearMonth.now(clock.withZone(ZoneOffset.UTC));
+        for (int offset = 0; offset <= premakeMonths; offset++) {
+            YearMonth month = current.plusMonths(offset);
+            if (!existing.contains(partitionName(month))) {
+                try {
+                    createPartition(month);
+                } catch (RuntimeException e) {
+                    logger.error("Could not create market_data partition {}", partitionName(month), e);
+                }
+            }
+        }
+
+        if (retentionMonths <= 0) {
+            return;
+        }
+        YearMonth oldestKept = current.minusMonths(retentionMonths - 1L);
+        for (String partition : existing) {
+            YearMonth month = monthOf(partition);
+            if (month != null && month.isBefore(oldestKept)) {
+                try {
+                    expire(partition);
+                } catch (RuntimeException e) {
+                    logger.error("Could not expire market_data partition {}", partition, e);
+                }
+            }
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + SUFFIX.format(month);
+    }
+
+    static YearMonth monthOf(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), SUFFIX);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        OffsetDateTime from = month.atDay(1).atStartOfDay(ZoneOffset.UTC).toOffsetDateTime();
+        OffsetDateTime to = month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toOffsetDateTime();
+        Integer moved = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition
+                + " (LIKE market_data INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            int rows = jdbcTemplate.update("INSERT INTO " + partition + " SELECT * FROM " + DEFAULT_PARTITION
+                + " WHERE timestamp >= ? AND timestamp < ?", from, to);
+            jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE timestamp >= ? AND timestamp < ?", from, to);
+            jdbcTemplate.execute("ALTER TABLE market_data ATTACH PARTITION " + partition
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+            return rows;
+        });
+        logger.info("Created market_data partition {} ({} rows moved from the default partition)", partition, moved);
+    }
+
+    private void expire(String partition) {
+        // Names come from pg_inherits and matched the partition pattern, so they are safe to inline
+        if (archive) {
+            jdbcTemplate.execute("ALTER TABLE market_data DETACH PARTITION " + partition);
+            jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + ARCHIVE_SCHEMA);
+            logger.info("Archived market_data partition {} to {}", partition, ARCHIVE_SCHEMA);
+        } else {
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            logger.info("Dropped expired market_data partition {}", partition);
+        }
+    }
+}
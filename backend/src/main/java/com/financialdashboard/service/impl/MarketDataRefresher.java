@@ -0,0 +1,187 @@
+package com.financialdashboard.service.impl;
+
+import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.Priority;
+import com.financialdashboard.model.Quote;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs one market data refresh cycle: quotes for all symbols are requested concurrently
+ * (bounded by a permit count) and the resulting ticks are persisted in batches.
+ * Overlapping cycles are rejected rather than queued.
+ */
+@Component
+public class MarketDataRefresher {
+    private static final Logger logger = LoggerFactory.getLogger(MarketDataRefresher.class);
+
+    private final MarketDataWriter marketDataWriter;
+    private final HedgedQuoteService hedgedQuoteService;
+    private final int maxConcurrency;
+    private final int batchSize;
+    private final Duration cycleTimeout;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Timer cycleDuration;
+    private final Counter succeededSymbols;
+    private final Counter failedSymbols;
+    private final Counter skippedCycles;
+    private final Counter lateTicks;
+
+    public MarketDataRefresher(MarketDataWriter marketDataWriter,
+                               HedgedQuoteService hedgedQuoteService,
+                               MeterRegistry meterRegistry,
+                               @Value("${market.refresh.max-concurrency:32}") int maxConcurrency,
+                               @Value("${market.refresh.batch-size:500}") int batchSize,
+                               @Value("${market.refresh.cycle-timeout-ms:280000}") long cycleTimeoutMs) {
+        this.marketDataWriter = marketDataWriter;
+        this.hedgedQuoteService = hedgedQuoteService;
+        this.maxConcurrency = maxConcurrency;
+        this.batchSize = batchSize;
+        this.cycleTimeout = Duration.ofMillis(cycleTimeoutMs);
+
+        this.cycleDuration = Timer.builder("market.refresh.duration").register(meterRegistry);
+        this.succeededSymbols = Counter.builder("market.refresh.symbols").tag("outcome", "success").register(meterRegistry);
+        this.failedSymbols = Counter.builder("market.refresh.symbols").tag("outcome", "failure").register(meterRegistry);
+        this.skippedCycles = Counter.builder("market.refresh.skipped").register(meterRegistry);
+        this.lateTicks = Counter.builder("market.refresh.late").register(meterRegistry);
+    }
+
+    public RefreshResult refresh(Collection<String> symbols) {
+        return refresh(symbols, quote -> { });
+    }
+
+    public RefreshResult refresh(Collection<String> symbols, Consumer<Quote> onQuote) {
+        if (!running.compareAndSet(false, true)) {
+            skippedCycles.increment();
+            logger.warn("Skipping market data refresh, previous cycle is still running");
+            return RefreshResult.skippedCycle();
+        }
+
+        long started = System.nanoTime();
+        try {
+            return runCycle(List.copyOf(symbols), onQuote, started);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private RefreshResult runCycle(List<String> symbols, Consumer<Quote> onQuote, long started) {
+        Semaphore permits = new Semaphore(maxConcurrency);
+        ConcurrentLinkedQueue<MarketData> pendingTicks = new ConcurrentLinkedQueue<>();
+        // Set under its own lock once the final drain starts; quotes completing after that go
+        // through the writer's buffer so the next flush persists them
+        AtomicBoolean closed = new AtomicBoolean();
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<CompletableFuture<Void>> requests = new ArrayList<>(symbols.size());
+        int persisted = 0;
+
+        try {
+            for (int i = 0; i < symbols.size(); i++) {
+                if (!permits.tryAcquire(remaining(started), TimeUnit.NANOSECONDS)) {
+                    // Out of time with every permit still held; the rest are not requested this cycle
+                    failed.addAndGet(symbols.size() - i);
+                    logger.warn("Market data refresh ran out of time before requesting {} symbols", symbols.size() - i);
+                    break;
+                }
+                String symbol = symbols.get(i);
+                requests.add(hedgedQuoteService.getQuote(symbol, Priority.BACKGROUND)
+                    .handle((quote, error) -> {
+                        permits.release();
+                        MarketData tick = error == null && quote != null ? quote.toMarketData() : null;
+                        if (tick != null) {
+                            synchronized (closed) {
+                                if (closed.get()) {
+                                    lateTicks.increment();
+                                    marketDataWriter.append(tick);
+                                } else {
+                                    pendingTicks.add(tick);
+                                }
+                            }
+                            succeeded.incrementAndGet();
+                            onQuote.accept(quote);
+                        } else {
+                            failed.incrementAndGet();
+                            logger.debug("Refresh failed for symbol: {}", symbol, error);
+                        }
+                        return null;
+                    }));
+                if (pendingTicks.size() >= batchSize) {
+                    persisted += persistBatch(pendingTicks);
+                }
+            }
+            CompletableFuture.allOf(requests.toArray(new CompletableFuture[0]))
+                .get(remaining(started), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            logger.warn("Market data refresh did not finish within {}", cycleTimeout);
+        } catch (Exception e) {
+            logger.error("Market data refresh failed", e);
+        }
+
+        synchronized (closed) {
+            closed.set(true);
+        }
+        while (!pendingTicks.isEmpty()) {
+            persisted += persistBatch(pendingTicks);
+        }
+
+        long elapsed = System.nanoTime() - started;
+        cycleDuration.record(elapsed, TimeUnit.NANOSECONDS);
+        succeededSymbols.increment(succeeded.get());
+        failedSymbols.increment(failed.get());
+
+        RefreshResult result = new RefreshResult(symbols.size(), succeeded.get(), failed.get(), persisted,
+            Duration.ofNanos(elapsed), false);
+        logger.info("Market data refresh finished: {} symbols, {} succeeded, {} failed, {} persisted in {} ms",
+            result.symbols(), result.succeeded(), result.failed(), result.persisted(), result.duration().toMillis());
+        return result;
+    }
+
+    private int persistBatch(ConcurrentLinkedQueue<MarketData> pendingTicks) {
+        List<MarketData> batch = new ArrayList<>(batchSize);
+        MarketData tick;
+        while (batch.size() < batchSize && (tick = pendingTicks.poll()) != null) {
+            batch.add(tick);
+        }
+        if (!batch.isEmpty()) {
+            marketDataWriter.saveAll(batch);
+        }
+        return batch.size();
+    }
+
+    private long remaining(long started) {
+        return Math.max(0, cycleTimeout.toNanos() - (System.nanoTime() - started));
+    }
+
+    public record RefreshResult(int symbols, int succeeded, int failed, int persisted,
+                                Duration duration, boolean skipped) {
+        static RefreshResult skippedCycle() {
+            return new RefreshResult(0, 0, 0, 0, Duration.ZERO, true);
+        }
+    }
+}
@@ -1,41 +1,116 @@
 package com.financialdashboard.service.impl;
 
+import com.financialdashboard.model.ExportFormat;
 import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.OhlcvBar;
+import com.financialdashboard.model.PriceSnapshot;
+import com.financialdashboard.model.Priority;
+import com.financialdashboard.model.Quote;
+import com.financialdashboard.model.Resolution;
+import com.financialdashboard.model.TickCursor;
+import com.financialdashboard.model.TickPage;
+import com.financialdashboard.repository.MarketDataLatestRepository;
 import com.financialdashboard.repository.MarketDataRepository;
 import com.financialdashboard.service.MarketDataService;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import com.financialdashboard.service.impl.StaleWhileRevalidateCache.Entry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class MarketDataServiceImpl implements MarketDataService {
+    private static final Logger logger = LoggerFactory.getLogger(MarketDataServiceImpl.class);
 
     private final MarketDataRepository marketDataRepository;
+    private final MarketDataLatestRepository marketDataLatestRepository;
+    private final PriceSeriesCache priceSeriesCache;
+    private final HistoricalTickReader historicalTickReader;
+    private final MarketDataWriter marketDataWriter;
     private final AlphaVantageService alphaVantageService;
-    private final Set<String> trackedSymbols;
+    private final QuoteBatcher quoteBatcher;
+    private final MarketDataRefresher marketDataRefresher;
+    private final AdaptiveRefreshPolicy refreshPolicy;
+    private final TrackedSymbolRegistry trackedSymbols;
+    private final int maxHistoryPoints;
+    private final Clock clock = Clock.systemUTC();
+    private final StaleWhileRevalidateCache<String, PriceSnapshot> latestPrices;
+    private final StaleWhileRevalidateCache<String, Map<String, Object>> stockQuotes;
+    private final StaleWhileRevalidateCache<String, Map<String, Object>> cryptoQuotes;
 
     public MarketDataServiceImpl(MarketDataRepository marketDataRepository,
-                               AlphaVantageService alphaVantageService) {
+                               MarketDataLatestRepository marketDataLatestRepository,
+                               PriceSeriesCache priceSeriesCache,
+                               HistoricalTickReader historicalTickReader,
+                               MarketDataWriter marketDataWriter,
+                               AlphaVantageService alphaVantageService,
+                               QuoteBatcher quoteBatcher,
+                               MarketDataRefresher marketDataRefresher,
+                               AdaptiveRefreshPolicy refreshPolicy,
+                               TrackedSymbolRegistry trackedSymbols,
+                               MeterRegistry meterRegistry,
+                               @Qualifier("cacheRefreshExecutor") Executor cacheRefreshExecutor,
+                               @Value("${market.cache.soft-ttl-ms:60000}") long softTtlMs,
+                               @Value("${market.cache.hard-ttl-ms:600000}") long hardTtlMs,
+                               @Value("${market.cache.maximum-size:1000}") long maximumSize,
+                               @Value("${market.history.max-points:2000}") int maxHistoryPoints) {
         this.marketDataRepository = marketDataRepository;
+        this.marketDataLatestRepository = marketDataLatestRepository;
+        this.priceSeriesCache = priceSeriesCache;
+        this.historicalTickReader = historicalTickReader;
+        this.marketDataWriter = marketDataWriter;
         this.alphaVantageService = alphaVantageService;
-        this.trackedSymbols = new HashSet<>();
+        this.quoteBatcher = quoteBatcher;
+        this.marketDataRefresher = marketDataRefresher;
+        this.refreshPolicy = refreshPolicy;
+        this.trackedSymbols = trackedSymbols;
+        this.maxHistoryPoints = maxHistoryPoints;
+
+        Duration softTtl = Duration.ofMillis(softTtlMs);
+        Duration hardTtl = Duration.ofMillis(hardTtlMs);
+        // Revalidation serves a stale entry to nobody in particular, so it must not spend interactive quota
+        this.latestPrices = new StaleWhileRevalidateCache<>("latestPrice", softTtl, hardTtl, maximumSize,
+            symbol -> loadLatestPrice(symbol, Priority.INTERACTIVE),
+            symbol -> loadLatestPrice(symbol, Priority.BACKGROUND), cacheRefreshExecutor, meterRegistry, clock);
+        this.stockQuotes = new StaleWhileRevalidateCache<>("stockQuote", softTtl, hardTtl, maximumSize,
+            alphaVantageService::getStockQuote,
+            symbol -> alphaVantageService.getStockQuote(symbol, Priority.BACKGROUND),
+            cacheRefreshExecutor, meterRegistry, clock);
+        this.cryptoQuotes = new StaleWhileRevalidateCache<>("cryptoQuote", softTtl, hardTtl, maximumSize,
+            alphaVantageService::getCryptoQuote,
+            symbol -> alphaVantageService.getCryptoQuote(symbol, Priority.BACKGROUND),
+            cacheRefreshExecutor, meterRegistry, clock);
     }
 
     @Override
-    @Cacheable(value = "latestPrice", key = "#symbol", unless = "#result == null")
     public BigDecimal getLatestPrice(String symbol) {
-        return marketDataRepository.findLatestBySymbol(symbol)
-            .map(MarketData::getPrice)
-            .orElseGet(() -> fetchLatestPrice(symbol));
+        PriceSnapshot snapshot = getLatestPriceSnapshot(symbol);
+        return snapshot != null ? snapshot.price() : null;
+    }
+
+    @Override
+    public PriceSnapshot getLatestPriceSnapshot(String symbol) {
+        refreshPolicy.recordAccess(symbol);
+        Entry<PriceSnapshot> entry = latestPrices.get(symbol);
+        return entry != null ? entry.value() : null;
     }
 
     @Override
@@ -44,63 +119,189 @@ public class MarketDataServiceImpl implements MarketDataService {
     }
 
     @Override
-    @Cacheable(value = "batchPrices", key = "#symbols.hashCode()")
+    public List<OhlcvBar> getHistoricalData(String symbol, ZonedDateTime startDate, ZonedDateTime endDate,
+                                            Resolution resolution) {
+        Resolution effective = resolution != null
+            ? resolution
+            : Resolution.forRange(Duration.between(startDate, endDate), maxHistoryPoints);
+        if (!effective.isRollup()) {
+            return getHistoricalData(symbol, startDate, endDate).stream()
+                .map(tick -> OhlcvBar.of(tick, Resolution.RAW))
+                .sorted(Comparator.comparing(OhlcvBar::bucketStart))
+                .toList();
+        }
+        // Include the bucket the range starts in
+        return priceSeriesCache.getBars(symbol, effective,
+            effective.bucketStart(startDate.toInstant()), endDate.toInstant());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TickPage getHistoricalTicks(String symbol, ZonedDateTime startDate, ZonedDateTime endDate,
+                                       TickCursor cursor, int limit) {
+        return historicalTickReader.page(symbol, startDate.toInstant(), endDate.toInstant(), cursor, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportHistoricalData(String symbol, ZonedDateTime startDate, ZonedDateTime endDate,
+                                     ExportFormat format, OutputStream out) throws IOException {
+        return historicalTickReader.export(symbol, startDate.toInstant(), endDate.toInstant(), format, out);
+    }
+
+    @Override
     public Map<String, BigDecimal> getBatchPrices(List<String> symbols) {
-        return symbols.stream()
-            .collect(Collectors.toMap(
-                symbol -> symbol,
-                this::getLatestPrice
-            ));
+        Map<String, BigDecimal> prices = new LinkedHashMap<>();
+        getBatchSnapshots(symbols).forEach((symbol, snapshot) -> prices.put(symbol, snapshot.price()));
+        return prices;
+    }
+
+    private Map<String, PriceSnapshot> getBatchSnapshots(List<String> symbols) {
+        Map<String, PriceSnapshot> found = new HashMap<>();
+        Set<String> uncached = new LinkedHashSet<>();
+        for (String symbol : symbols) {
+            refreshPolicy.recordAccess(symbol);
+            Entry<PriceSnapshot> entry = latestPrices.getIfPresent(symbol);
+            if (entry != null) {
+                found.put(symbol, entry.value());
+            } else {
+                uncached.add(symbol);
+            }
+        }
+
+        if (!uncached.isEmpty()) {
+            for (MarketData latest : marketDataLatestRepository.findBySymbols(uncached)) {
+                PriceSnapshot snapshot = PriceSnapshot.of(latest);
+                latestPrices.put(latest.getSymbol(), snapshot);
+                found.put(latest.getSymbol(), snapshot);
+            }
+            List<String> missing = uncached.stream()
+                .filter(symbol -> !found.containsKey(symbol))
+                .collect(Collectors.toList());
+            if (!missing.isEmpty()) {
+                fetchLatestPrices(missing, Priority.INTERACTIVE).forEach((symbol, quote) -> {
+                    PriceSnapshot snapshot = PriceSnapshot.of(quote);
+                    latestPrices.put(symbol, snapshot);
+                    found.put(symbol, snapshot);
+                });
+            }
+        }
+
+        Map<String, PriceSnapshot> snapshots = new LinkedHashMap<>();
+        for (String symbol : symbols) {
+            PriceSnapshot snapshot = found.get(symbol);
+            if (snapshot != null) {
+                snapshots.put(symbol, snapshot);
+            }
+        }
+        return snapshots;
     }
 
     @Override
-    @Scheduled(fixedRate = 300000) // Every 5 minutes
-    @CacheEvict(value = {"latestPrice", "batchPrices", "stockQuote", "cryptoQuote"}, allEntries = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void refreshMarketData() {
-        trackedSymbols.forEach(this::fetchLatestPrice);
+        marketDataRefresher.refresh(trackedSymbols.getSymbols(), this::onRefreshed);
+    }
+
+    @Scheduled(fixedDelayString = "${market.refresh.tick-ms:15000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void refreshDueSymbols() {
+        if (marketDataRefresher.isRunning()) {
+            return;
+        }
+        List<String> due = refreshPolicy.selectDue(trackedSymbols.getSymbols());
+        if (!due.isEmpty()) {
+            marketDataRefresher.refresh(due, this::onRefreshed);
+        }
+    }
+
+    private void onRefreshed(Quote quote) {
+        // Fresh quotes are written through instead of evicting, so readers never hit a cold cache
+        latestPrices.put(quote.symbol(), PriceSnapshot.of(quote));
+        refreshPolicy.recordPrice(quote.symbol(), quote.price());
     }
 
+    /**
+     * Rows carry the source and time of the price they hold; symbols with no known price are
+     * left out rather than reported with a made-up source.
+     */
     @Override
     public List<MarketData> getLatestMarketData(List<String> symbols) {
-        return symbols.stream()
-            .map(symbol -> {
-                BigDecimal price = getLatestPrice(symbol);
-                return new MarketData(null, symbol, price, null, ZonedDateTime.now(), 
-                    MarketData.DataSource.ALPHA_VANTAGE);
-            })
+        return getBatchSnapshots(symbols).values().stream()
+            .map(snapshot -> new MarketData(null, snapshot.symbol(), snapshot.price(), null, snapshot.asOf(),
+                snapshot.source()))
             .collect(Collectors.toList());
     }
 
     @Override
-    @Cacheable(value = "stockQuote", key = "#symbol", unless = "#result == null")
     public Map<String, Object> getStockQuote(String symbol) {
-        return alphaVantageService.getStockQuote(symbol);
+        return withAge(stockQuotes.get(symbol));
     }
 
     @Override
-    @Cacheable(value = "cryptoQuote", key = "#symbol", unless = "#result == null")
     public Map<String, Object> getCryptoQuote(String symbol) {
-        return alphaVantageService.getCryptoQuote(symbol);
-    }
-
-    private BigDecimal fetchLatestPrice(String symbol) {
-        Map<String, Object> quote = alphaVantageService.getStockQuote(symbol);
-        if (quote != null && quote.containsKey("price")) {
-            BigDecimal price = (BigDecimal) quote.get("price");
-            MarketData marketData = new MarketData(null, symbol, price, 
-                (Long) quote.get("volume"), ZonedDateTime.now(), MarketData.DataSource.ALPHA_VANTAGE);
-            marketDataRepository.save(marketData);
-            trackedSymbols.add(symbol);
-            return price;
+        return withAge(cryptoQuotes.get(symbol));
+    }
+
+    private Map<String, Object> withAge(Entry<Map<String, Object>> entry) {
+        if (entry == null) {
+            return null;
         }
-        return null;
+        Map<String, Object> quote = new HashMap<>(entry.value());
+        quote.put("asOf", entry.loadedAt());
+        quote.put("ageSeconds", entry.age(clock).toSeconds());
+        return quote;
+    }
+
+    private PriceSnapshot loadLatestPrice(String symbol, Priority priority) {
+        return marketDataLatestRepository.findBySymbol(symbol)
+            .map(PriceSnapshot::of)
+            .orElseGet(() -> fetchLatestPrice(symbol, priority));
+    }
+
+    private PriceSnapshot fetchLatestPrice(String symbol, Priority priority) {
+        Quote quote;
+        try {
+            quote = quoteBatcher.submit(symbol, priority).join();
+        } catch (CompletionException e) {
+            logger.warn("No quote available for symbol: {}", symbol, e.getCause());
+            return null;
+        }
+        marketDataWriter.append(quote.toMarketData());
+        trackedSymbols.reference(symbol);
+        return PriceSnapshot.of(quote);
+    }
+
+    private Map<String, Quote> fetchLatestPrices(List<String> symbols, Priority priority) {
+        Map<String, CompletableFuture<Quote>> lookups = quoteBatcher.submitAll(symbols, priority);
+        CompletableFuture.allOf(lookups.values().toArray(CompletableFuture[]::new))
+            .exceptionally(error -> null)
+            .join();
+
+        Map<String, Quote> quotes = new LinkedHashMap<>();
+        List<MarketData> ticks = new ArrayList<>();
+        lookups.forEach((symbol, lookup) -> {
+            if (lookup.isCompletedExceptionally()) {
+                logger.warn("No quote available for symbol: {}", symbol);
+                return;
+            }
+            Quote quote = lookup.join();
+            ticks.add(quote.toMarketData());
+            quotes.put(symbol, quote);
+        });
+        marketDataWriter.saveAll(ticks);
+        quotes.keySet().forEach(trackedSymbols::reference);
+        return quotes;
     }
 
     public void trackSymbol(String symbol) {
-        trackedSymbols.add(symbol);
+        trackedSymbols.track(symbol);
     }
 
     public void untrackSymbol(String symbol) {
-        trackedSymbols.remove(symbol);
+        trackedSymbols.untrack(symbol);
+        if (!trackedSymbols.isTracked(symbol)) {
+            refreshPolicy.forget(symbol);
+        }
     }
 } 
\ No newline at end of file
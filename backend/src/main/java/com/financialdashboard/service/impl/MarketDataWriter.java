@@ -0,0 +1,279 @@
+package com.financialdashboard.service.impl;
+
+import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.OhlcvBar;
+import com.financialdashboard.model.Resolution;
+import com.financialdashboard.repository.MarketDataLatestRepository;
+import com.financialdashboard.repository.MarketDataTickRepository;
+import com.financialdashboard.repository.OhlcvRollupRepository;
+import com.financialdashboard.repository.TickJournalCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Single write path for ticks: each batch is appended to market_data, upserted into
+ * market_data_latest and folded into the OHLCV rollups in one transaction, so the tables
+ * never disagree. Individual ticks are buffered and flushed once the buffer reaches the
+ * flush size or on the flush interval; large batches go through COPY, smaller ones through
+ * a JDBC batch. When the tick journal is enabled, buffered ticks are journaled first and
+ * each flush records the journal sequence it reached in the same transaction as its ticks,
+ * so replay after a crash starts exactly where the database left off, however stale the
+ * journal's own checkpoint file is. A batch that fails to write is kept and retried first
+ * on the next flush, so the checkpoint never moves past it. Without the journal a failed
+ * batch is dropped. Committed batches feed the history
+ * cache and the latest price per symbol to the portfolio valuation engine.
+ */
+@Component
+public class MarketDataWriter {
+    private static final Logger logger = LoggerFactory.getLogger(MarketDataWriter.class);
+
+    private final MarketDataTickRepository marketDataTickRepository;
+    private final MarketDataLatestRepository marketDataLatestRepository;
+    private final OhlcvRollupRepository ohlcvRollupRepository;
+    private final PriceSeriesCache priceSeriesCache;
+    private final PortfolioValuationEngine portfolioValuationEngine;
+    private final TickJournal tickJournal;
+    private final TickJournalCheckpointRepository tickJournalCheckpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int flushSize;
+    private final int copyThreshold;
+
+    private final ConcurrentLinkedQueue<BufferedTick> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Journaled batch whose write failed, retried before anything newer; guarded by flushLock
+    private List<BufferedTick> failedBatch;
+
+    private final DistributionSummary flushSizes;
+    private final Counter dropped;
+
+    public MarketDataWriter(MarketDataTickRepository marketDataTickRepository,
+                            MarketDataLatestRepository marketDataLatestRepository,
+                            OhlcvRollupRepository ohlcvRollupRepository,
+                            PriceSeriesCache priceSeriesCache,
+                            PortfolioValuationEngine portfolioValuationEngine,
+                            Optional<TickJournal> tickJournal,
+                            TickJournalCheckpointRepository tickJournalCheckpointRepository,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${market.refresh.batch-size:500}") int batchSize,
+                            @Value("${market.ticks.flush-size:1000}") int flushSize,
+                            @Value("${market.ticks.copy-threshold:1000}") int copyThreshold) {
+        this.marketDataTickRepository = marketDataTickRepository;
+        this.marketDataLatestRepository = marketDataLatestRepository;
+        this.ohlcvRollupRepository = ohlcvRollupRepository;
+        this.priceSeriesCache = priceSeriesCache;
+        this.portfolioValuationEngine = portfolioValuationEngine;
+        this.tickJournal = tickJournal.orElse(null);
+        this.tickJournalCheckpointRepository = tickJournalCheckpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.flushSize = flushSize;
+        this.copyThreshold = copyThreshold;
+        this.flushSizes = DistributionSummary.builder("market.ticks.flush.size").register(meterRegistry);
+        this.dropped = Counter.builder("market.ticks.dropped").register(meterRegistry);
+        Gauge.builder("market.ticks.buffered", buffered, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Re-buffers journaled ticks that never reached the database before the last shutdown,
+     * starting from the later of the journal's checkpoint and the one committed with the ticks.
+     */
+    @PostConstruct
+    public void recoverJournal() {
+        if (tickJournal == null) {
+            return;
+        }
+        long from = Math.max(tickJournal.getCheckpoint(),
+            tickJournalCheckpointRepository.find(tickJournal.getId()).orElse(0));
+        tickJournal.checkpoint(from);
+        long recovered = tickJournal.replay(from, (tick, sequence) -> {
+            buffer.add(new BufferedTick(tick, sequence));
+            buffered.incrementAndGet();
+        });
+        if (recovered > 0) {
+            logger.info("Recovered {} ticks from the tick journal", recovered);
+        }
+    }
+
+    /**
+     * Buffers a tick for the next flush. The caller that fills the buffer flushes it,
+     * unless another flush is already running.
+     */
+    public void append(MarketData tick) {
+        if (tickJournal != null) {
+            // Journal and buffer in the same order, so every flush covers a journal prefix
+            synchronized (tickJournal) {
+                buffer.add(new BufferedTick(tick, tickJournal.append(tick)));
+            }
+        } else {
+            buffer.add(new BufferedTick(tick, -1));
+        }
+        if (buffered.incrementAndGet() >= flushSize && flushLock.tryLock()) {
+            try {
+                drain("size");
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Writes a batch the caller already collected straight away, bypassing the buffer.
+     */
+    public void saveAll(List<MarketData> ticks) {
+        if (ticks.isEmpty()) {
+            return;
+        }
+        write(ticks, "explicit", -1);
+    }
+
+    @Scheduled(fixedDelayString = "${market.ticks.flush-ms:1000}")
+    @PreDestroy
+    public void flush() {
+        flushLock.lock();
+        try {
+            drain("time");
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void drain(String trigger) {
+        while (true) {
+            List<BufferedTick> batch = failedBatch;
+            failedBatch = null;
+            if (batch == null) {
+                batch = new ArrayList<>(Math.min(Math.max(buffered.get(), 1), flushSize));
+                BufferedTick next;
+                while (batch.size() < flushSize && (next = buffer.poll()) != null) {
+                    batch.add(next);
+                }
+                if (batch.isEmpty()) {
+                    return;
+                }
+            }
+            List<MarketData> ticks = new ArrayList<>(batch.size());
+            batch.forEach(entry -> ticks.add(entry.tick()));
+            long lastSequence = batch.get(batch.size() - 1).sequence();
+            try {
+                write(ticks, trigger, lastSequence >= 0 ? lastSequence + 1 : -1);
+            } catch (RuntimeException e) {
+                if (tickJournal != null) {
+                    failedBatch = batch;
+                    logger.warn("Flush of {} ticks failed, retrying on the next flush with the journal checkpoint held at {}",
+                        batch.size(), batch.get(0).sequence(), e);
+                } else {
+                    buffered.addAndGet(-batch.size());
+                    dropped.increment(batch.size());
+                    logger.warn("Dropped {} buffered ticks after a failed flush", batch.size(), e);
+                }
+                return;
+            }
+            buffered.addAndGet(-batch.size());
+            if (tickJournal != null && lastSequence >= 0) {
+                tickJournal.checkpoint(lastSequence + 1);
+            }
+        }
+    }
+
+    /**
+     * Writes one batch; a non-negative journalCheckpoint is committed along with it.
+     */
+    private void write(List<MarketData> ticks, String trigger, long journalCheckpoint) {
+        String mode = ticks.size() >= copyThreshold ? "copy" : "batch";
+        Map<Resolution, List<OhlcvBar>> rollups = new EnumMap<>(Resolution.class);
+        for (Resolution resolution : Resolution.values()) {
+            if (resolution.isRollup()) {
+                rollups.put(resolution, rollup(ticks, resolution));
+            }
+        }
+        List<MarketData> latest = latestBySource(ticks);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if ("copy".equals(mode)) {
+                    marketDataTickRepository.copyAll(ticks);
+                } else {
+                    marketDataTickRepository.insertAll(ticks, batchSize);
+                }
+                marketDataLatestRepository.upsertAll(latest, batchSize);
+                rollups.forEach((resolution, bars) -> ohlcvRollupRepository.upsertAll(resolution, bars, batchSize));
+                if (tickJournal != null && journalCheckpoint >= 0) {
+                    tickJournalCheckpointRepository.advance(tickJournal.getId(), journalCheckpoint);
+                }
+            });
+        } finally {
+            sample.stop(meterRegistry.timer("market.ticks.flush.latency", "trigger", trigger, "mode", mode));
+        }
+        flushSizes.record(ticks.size());
+        rollups.forEach(priceSeriesCache::append);
+        latestBySymbol(ticks).forEach(tick ->
+            portfolioValuationEngine.onPrice(tick.getSymbol(), tick.getPrice(), tick.getTimestamp().toInstant()));
+    }
+
+    private static Collection<MarketData> latestBySymbol(List<MarketData> ticks) {
+        Map<String, MarketData> latest = new HashMap<>();
+        for (MarketData tick : ticks) {
+            latest.merge(tick.getSymbol(), tick, (current, next) ->
+                next.getTimestamp().isBefore(current.getTimestamp()) ? current : next);
+        }
+        return latest.values();
+    }
+
+    /**
+     * Keeps the newest tick per (symbol, source) so a batched upsert never touches the same
+     * market_data_latest row twice, in a stable key order for the same reason as the rollups.
+     */
+    private static List<MarketData> latestBySource(List<MarketData> ticks) {
+        Map<String, MarketData> latest = new TreeMap<>();
+        for (MarketData tick : ticks) {
+            latest.merge(tick.getSymbol() + '|' + tick.getDataSource().name(), tick, (current, next) ->
+                next.getTimestamp().isBefore(current.getTimestamp()) ? current : next);
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    /**
+     * Pre-aggregates the batch so each bucket is upserted once, in a stable key order to keep
+     * concurrent flushes from deadlocking on the same rows.
+     */
+    private static List<OhlcvBar> rollup(List<MarketData> ticks, Resolution resolution) {
+        Map<String, OhlcvBar> bars = new TreeMap<>();
+        for (MarketData tick : ticks) {
+            OhlcvBar bar = OhlcvBar.of(tick, resolution);
+            bars.merge(bar.symbol() + '|' + bar.bucketStart().toEpochMilli(), bar, OhlcvBar::merge);
+        }
+        return new ArrayList<>(bars.values());
+    }
+
+    private record BufferedTick(MarketData tick, long sequence) {
+    }
+}
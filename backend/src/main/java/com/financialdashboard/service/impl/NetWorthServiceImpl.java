@@ -0,0 +1,167 @@
+package com.financialdashboard.service.impl;
+
+import com.financialdashboard.exception.MarketDataProviderException;
+import com.financialdashboard.model.AccountHoldingRow;
+import com.financialdashboard.model.FixedPoint;
+import com.financialdashboard.model.NetWorth;
+import com.financialdashboard.model.NetWorth.AccountNetWorth;
+import com.financialdashboard.model.Priority;
+import com.financialdashboard.repository.FinancialAccountRepository;
+import com.financialdashboard.repository.UserRepository;
+import com.financialdashboard.service.MarketDataService;
+import com.financialdashboard.service.NetWorthService;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Values every account of a user in one pass: accounts and holdings come from a single
+ * joined query, each distinct symbol is priced once in one batch call and each foreign
+ * currency is converted once, and the accounts are then valued in parallel. An account is
+ * worth its balance plus its holdings at the latest price, falling back to the stored
+ * current price and then the average price; holdings are taken to be quoted in the
+ * account's currency.
+ */
+@Service
+public class NetWorthServiceImpl implements NetWorthService {
+    private static final Logger logger = LoggerFactory.getLogger(NetWorthServiceImpl.class);
+
+    private final FinancialAccountRepository financialAccountRepository;
+    private final UserRepository userRepository;
+    private final MarketDataService marketDataService;
+    private final AlphaVantageService alphaVantageService;
+    private final Executor valuationExecutor;
+    private final String baseCurrency;
+    private final long timeoutMs;
+    // Rates are few and change slowly; caching the futures also collapses concurrent lookups
+    private final AsyncCache<String, BigDecimal> exchangeRates;
+
+    public NetWorthServiceImpl(FinancialAccountRepository financialAccountRepository,
+                               UserRepository userRepository,
+                               MarketDataService marketDataService,
+                               AlphaVantageService alphaVantageService,
+                               @Qualifier("valuationExecutor") Executor valuationExecutor,
+                               @Value("${market.net-worth.base-currency:USD}") String baseCurrency,
+                               @Value("${market.net-worth.fx-ttl-ms:600000}") long fxTtlMs,
+                               @Value("${market.net-worth.timeout-ms:5000}") long timeoutMs) {
+        this.financialAccountRepository = financialAccountRepository;
+        this.userRepository = userRepository;
+        this.marketDataService = marketDataService;
+        this.alphaVantageService = alphaVantageService;
+        this.valuationExecutor = valuationExecutor;
+        this.baseCurrency = baseCurrency;
+        this.timeoutMs = timeoutMs;
+        this.exchangeRates = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMillis(fxTtlMs))
+            .maximumSize(200)
+            .buildAsync();
+    }
+
+    @Override
+    public Optional<NetWorth> getNetWorth(Long userId, String currency) {
+        String base = currency != null ? currency.toUpperCase(Locale.ROOT) : baseCurrency;
+        List<AccountHoldingRow> rows = financialAccountRepository.findHoldingRowsByUserId(userId);
+        if (rows.isEmpty()) {
+            return userRepository.existsById(userId)
+                ? Optional.of(new NetWorth(userId, base, FixedPoint.toBigDecimal(0), List.of()))
+                : Optional.empty();
+        }
+
+        Map<Long, List<AccountHoldingRow>> byAccount = new LinkedHashMap<>();
+        Set<String> symbols = new LinkedHashSet<>();
+        for (AccountHoldingRow row : rows) {
+            byAccount.computeIfAbsent(row.accountId(), id -> new ArrayList<>()).add(row);
+            if (row.symbol() != null) {
+                symbols.add(row.symbol());
+            }
+        }
+
+        CompletableFuture<Map<String, BigDecimal>> prices = symbols.isEmpty()
+            ? CompletableFuture.completedFuture(Map.of())
+            : CompletableFuture.supplyAsync(() -> marketDataService.getBatchPrices(List.copyOf(symbols)), valuationExecutor);
+        List<CompletableFuture<AccountNetWorth>> valuations = new ArrayList<>(byAccount.size());
+        for (List<AccountHoldingRow> accountRows : byAccount.values()) {
+            valuations.add(prices.thenCombineAsync(exchangeRate(accountRows.get(0).currency(), base),
+                (latest, rate) -> value(accountRows, latest, rate), valuationExecutor));
+        }
+
+        List<AccountNetWorth> accounts = await(valuations, userId);
+        long total = 0;
+        for (AccountNetWorth account : accounts) {
+            total = FixedPoint.add(total, FixedPoint.of(account.totalInBaseCurrency()));
+        }
+        return Optional.of(new NetWorth(userId, base, FixedPoint.toBigDecimal(total), accounts));
+    }
+
+    private CompletableFuture<BigDecimal> exchangeRate(String from, String to) {
+        if (from.equalsIgnoreCase(to)) {
+            return CompletableFuture.completedFuture(BigDecimal.ONE);
+        }
+        String key = from.toUpperCase(Locale.ROOT) + ":" + to;
+        return exchangeRates.get(key, (k, executor) ->
+            alphaVantageService.getExchangeRateAsync(from.toUpperCase(Locale.ROOT), to, Priority.INTERACTIVE)
+                .thenApply(rate -> {
+                    if (rate == null || rate.rate() == null) {
+                        throw new MarketDataProviderException("No exchange rate from " + from + " to " + to);
+                    }
+                    return rate.rate();
+                }));
+    }
+
+    private static AccountNetWorth value(List<AccountHoldingRow> rows, Map<String, BigDecimal> latest, BigDecimal rate) {
+        AccountHoldingRow account = rows.get(0);
+        long holdings = 0;
+        for (AccountHoldingRow row : rows) {
+            if (row.symbol() == null) {
+                continue;
+            }
+            BigDecimal price = latest.get(row.symbol());
+            if (price == null) {
+                price = row.currentPrice() != null ? row.currentPrice() : row.averagePrice();
+            }
+            holdings = FixedPoint.add(holdings, FixedPoint.multiply(FixedPoint.of(row.quantity()), FixedPoint.of(price)));
+        }
+        long balance = FixedPoint.of(account.balance());
+        BigDecimal total = FixedPoint.toBigDecimal(FixedPoint.add(balance, holdings));
+        // Rates carry more places than the money scale, so conversion stays in BigDecimal
+        BigDecimal converted = total.multiply(rate).setScale(FixedPoint.SCALE, RoundingMode.HALF_UP);
+        return new AccountNetWorth(account.accountId(), account.currency(), FixedPoint.toBigDecimal(balance),
+            FixedPoint.toBigDecimal(holdings), total, rate, converted);
+    }
+
+    private List<AccountNetWorth> await(List<CompletableFuture<AccountNetWorth>> valuations, Long userId) {
+        try {
+            CompletableFuture.allOf(valuations.toArray(CompletableFuture[]::new)).get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MarketDataProviderException("Interrupted while valuing accounts of user " + userId, e);
+        } catch (ExecutionException e) {
+            throw new MarketDataProviderException("Failed to value accounts of user " + userId, e.getCause());
+        } catch (TimeoutException e) {
+            logger.warn("Valuing accounts of user {} took longer than {} ms", userId, timeoutMs);
+            throw new MarketDataProviderException("Timed out valuing accounts of user " + userId, e);
+        }
+        return valuations.stream().map(CompletableFuture::join).toList();
+    }
+}
@@ -4,48 +4,79 @@ import com.financialdashboard.exception.ResourceNotFoundException;
 import com.financialdashboard.exception.ValidationException;
 import com.financialdashboard.model.FinancialAccount;
 import com.financialdashboard.model.PortfolioHolding;
+import com.financialdashboard.model.PortfolioValuation;
+import com.financialdashboard.repository.FinancialAccountRepository;
 import com.financialdashboard.repository.PortfolioHoldingRepository;
 import com.financialdashboard.service.MarketDataService;
 import com.financialdashboard.service.PortfolioService;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 @Transactional
 public class PortfolioServiceImpl implements PortfolioService {
 
+    static final String HOLDINGS_CACHE = "portfolioHoldings";
+    static final String HOLDING_CACHE = "portfolioHolding";
+
     private final PortfolioHoldingRepository portfolioHoldingRepository;
+    private final FinancialAccountRepository financialAccountRepository;
     private final MarketDataService marketDataService;
+    private final TrackedSymbolRegistry trackedSymbolRegistry;
+    private final PortfolioValuationEngine portfolioValuationEngine;
+    private final HoldingRepricer holdingRepricer;
+    private final CacheManager cacheManager;
+    private final int maxSummaryAccounts;
 
     public PortfolioServiceImpl(PortfolioHoldingRepository portfolioHoldingRepository,
-                              MarketDataService marketDataService) {
+                              FinancialAccountRepository financialAccountRepository,
+                              MarketDataService marketDataService,
+                              TrackedSymbolRegistry trackedSymbolRegistry,
+                              PortfolioValuationEngine portfolioValuationEngine,
+                              HoldingRepricer holdingRepricer,
+                              CacheManager cacheManager,
+                              @Value("${market.valuation.max-summary-accounts:200}") int maxSummaryAccounts) {
         this.portfolioHoldingRepository = portfolioHoldingRepository;
+        this.financialAccountRepository = financialAccountRepository;
         this.marketDataService = marketDataService;
+        this.trackedSymbolRegistry = trackedSymbolRegistry;
+        this.portfolioValuationEngine = portfolioValuationEngine;
+        this.holdingRepricer = holdingRepricer;
+        this.cacheManager = cacheManager;
+        this.maxSummaryAccounts = maxSummaryAccounts;
     }
 
     @Override
-    @Cacheable(value = "portfolioHoldings", key = "#account.id")
+    @Cacheable(value = HOLDINGS_CACHE, key = "#account.id")
     public List<PortfolioHolding> getHoldingsByAccount(FinancialAccount account) {
         return portfolioHoldingRepository.findByAccount(account);
     }
 
     @Override
-    @Cacheable(value = "portfolioHolding", key = "#account.id + '-' + #symbol")
+    @Cacheable(value = HOLDING_CACHE, key = "#account.id + '-' + #symbol")
     public PortfolioHolding getHoldingBySymbol(FinancialAccount account, String symbol) {
         return portfolioHoldingRepository.findByAccountAndSymbol(account, symbol)
             .orElseThrow(() -> new ResourceNotFoundException("PortfolioHolding", "symbol", symbol));
     }
 
     @Override
-    @CacheEvict(value = {"portfolioHoldings", "portfolioHolding"}, allEntries = true)
     public PortfolioHolding addHolding(FinancialAccount account, String symbol, 
                                      BigDecimal quantity, BigDecimal price) {
         if (quantity.compareTo(BigDecimal.ZERO) <= 0) {
@@ -59,6 +90,7 @@ public class PortfolioServiceImpl implements PortfolioService {
             .orElse(new PortfolioHolding());
 
         if (holding.getId() == null) {
+            trackedSymbolRegistry.holdingAdded(symbol);
             holding.setAccount(account);
             holding.setSymbol(symbol);
             holding.setQuantity(quantity);
@@ -72,11 +104,11 @@ public class PortfolioServiceImpl implements PortfolioService {
         }
 
         holding.setCurrentPrice(marketDataService.getLatestPrice(symbol));
+        evictAccount(account.getId(), List.of(symbol));
         return portfolioHoldingRepository.save(holding);
     }
 
     @Override
-    @CacheEvict(value = {"portfolioHoldings", "portfolioHolding"}, allEntries = true)
     public PortfolioHolding updateHolding(Long id, BigDecimal quantity, BigDecimal price) {
         PortfolioHolding holding = portfolioHoldingRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("PortfolioHolding", "id", id));
@@ -96,55 +128,96 @@ public class PortfolioServiceImpl implements PortfolioService {
         }
 
         holding.setCurrentPrice(marketDataService.getLatestPrice(holding.getSymbol()));
+        evictAccount(holding.getAccount().getId(), List.of(holding.getSymbol()));
         return portfolioHoldingRepository.save(holding);
     }
 
     @Override
-    @CacheEvict(value = {"portfolioHoldings", "portfolioHolding"}, allEntries = true)
     public void removeHolding(Long id) {
-        if (!portfolioHoldingRepository.existsById(id)) {
-            throw new ResourceNotFoundException("PortfolioHolding", "id", id);
-        }
-        portfolioHoldingRepository.deleteById(id);
+        PortfolioHolding holding = portfolioHoldingRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("PortfolioHolding", "id", id));
+        portfolioHoldingRepository.delete(holding);
+        evictAccount(holding.getAccount().getId(), List.of(holding.getSymbol()));
+        trackedSymbolRegistry.holdingRemoved(holding.getSymbol());
     }
 
+    /**
+     * Served from the valuation engine, which keeps each account's totals current as prices
+     * arrive instead of summing its holdings on every read.
+     */
     @Override
-    @Cacheable(value = "portfolioSummary", key = "#account.id")
+    @Transactional(readOnly = true)
     public Map<String, BigDecimal> getPortfolioSummary(FinancialAccount account) {
-        List<PortfolioHolding> holdings = getHoldingsByAccount(account);
-        Map<String, BigDecimal> summary = new HashMap<>();
-        
-        BigDecimal totalValue = BigDecimal.ZERO;
-        BigDecimal totalCost = BigDecimal.ZERO;
-        BigDecimal totalGainLoss = BigDecimal.ZERO;
-
-        for (PortfolioHolding holding : holdings) {
-            BigDecimal marketValue = holding.getMarketValue();
-            BigDecimal costBasis = holding.getAveragePrice().multiply(holding.getQuantity());
-            BigDecimal gainLoss = holding.getUnrealizedGainLoss();
-
-            totalValue = totalValue.add(marketValue);
-            totalCost = totalCost.add(costBasis);
-            totalGainLoss = totalGainLoss.add(gainLoss);
+        return summarize(portfolioValuationEngine.getValuation(account));
+    }
+
+    /**
+     * Summaries for many accounts, keyed by account id; accounts the engine does not hold
+     * yet are loaded together in one aggregate query. Ids of accounts that do not exist are
+     * left out of the result and never reach the engine.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Map<String, BigDecimal>> getPortfolioSummaries(Collection<Long> accountIds) {
+        Set<Long> requested = new LinkedHashSet<>(accountIds);
+        if (requested.size() > maxSummaryAccounts) {
+            throw new ValidationException("accountIds", "At most " + maxSummaryAccounts + " accounts can be summarized at once");
         }
+        Map<Long, Map<String, BigDecimal>> summaries = new LinkedHashMap<>();
+        if (requested.isEmpty()) {
+            return summaries;
+        }
+        requested.retainAll(financialAccountRepository.findExistingIds(requested));
+        portfolioValuationEngine.getValuations(requested)
+            .forEach((accountId, valuation) -> summaries.put(accountId, summarize(valuation)));
+        return summaries;
+    }
 
-        summary.put("totalValue", totalValue);
-        summary.put("totalCost", totalCost);
-        summary.put("totalGainLoss", totalGainLoss);
-        summary.put("returnPercentage", 
-            totalCost.compareTo(BigDecimal.ZERO) == 0 ? BigDecimal.ZERO :
-            totalGainLoss.divide(totalCost, 4, RoundingMode.HALF_UP).multiply(new BigDecimal("100")));
+    /**
+     * Goes through the same batch price fetch and set-based update as the scheduled
+     * repricing job; the repricer commits its own short transaction.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void updateCurrentPrices(FinancialAccount account) {
+        Map<String, BigDecimal> prices = holdingRepricer.repriceAccount(account.getId());
+        evictAccount(account.getId(), List.copyOf(prices.keySet()));
+    }
 
+    private Map<String, BigDecimal> summarize(PortfolioValuation valuation) {
+        Map<String, BigDecimal> summary = new HashMap<>();
+        summary.put("totalValue", valuation.marketValue());
+        summary.put("totalCost", valuation.costBasis());
+        summary.put("totalGainLoss", valuation.gainLoss());
+        summary.put("returnPercentage", valuation.returnPercentage());
         return summary;
     }
 
-    @Override
-    @CacheEvict(value = {"portfolioHoldings", "portfolioHolding", "portfolioSummary"}, allEntries = true)
-    public void updateCurrentPrices(FinancialAccount account) {
-        List<PortfolioHolding> holdings = getHoldingsByAccount(account);
-        for (PortfolioHolding holding : holdings) {
-            holding.setCurrentPrice(marketDataService.getLatestPrice(holding.getSymbol()));
-            portfolioHoldingRepository.save(holding);
+    /**
+     * Evicts only the account's cached holdings, the given account-symbol entries and its
+     * valuation, once the current transaction commits so no reader can re-cache the old rows.
+     */
+    private void evictAccount(Long accountId, List<String> symbols) {
+        Runnable evict = () -> {
+            Cache holdings = cacheManager.getCache(HOLDINGS_CACHE);
+            if (holdings != null) {
+                holdings.evict(accountId);
+            }
+            Cache holding = cacheManager.getCache(HOLDING_CACHE);
+            if (holding != null) {
+                symbols.forEach(symbol -> holding.evict(accountId + "-" + symbol));
+            }
+            portfolioValuationEngine.evict(accountId);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
         }
     }
 } 
\ No newline at end of file
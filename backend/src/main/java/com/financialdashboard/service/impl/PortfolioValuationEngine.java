@@ -0,0 +1,227 @@
+package com.financialdashboard.service.impl;
+
+import com.financialdashboard.model.FinancialAccount;
+import com.financialdashboard.model.FixedPoint;
+import com.financialdashboard.model.HoldingPosition;
+import com.financialdashboard.model.PortfolioValuation;
+import com.financialdashboard.repository.PortfolioHoldingRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps running valuations for accounts whose summary has been read. Each account is
+ * loaded once, as per-symbol totals aggregated by the database rather than as holding
+ * entities, and registered in a symbol to accounts index; a new price for a symbol then
+ * adjusts only the accounts holding it, by quantity times the price change, so summary
+ * reads never rescan holdings. Accounts are evicted when their holdings change and
+ * reloaded on the next read. Books live in a Caffeine cache bounded in size and idle
+ * time; an account that drops out is unregistered from the symbol index and simply
+ * reloaded from the database the next time it is read.
+ */
+@Component
+public class PortfolioValuationEngine {
+    private static final long MAX_QUOTED_SYMBOLS = 50_000;
+    // Only has to outlive a load that is in flight when the account is evicted
+    private static final Duration GENERATION_TTL = Duration.ofMinutes(10);
+
+    private final PortfolioHoldingRepository portfolioHoldingRepository;
+
+    private final Map<Long, AccountBook> accounts;
+    private final Map<String, Set<AccountBook>> holdersBySymbol = new ConcurrentHashMap<>();
+    private final Map<String, Quote> lastQuotes;
+    // Set to a fresh value on every eviction so a load that read holdings before a change
+    // is discarded; values never repeat, so an expired entry can only cause a mismatch
+    private final Map<Long, Long> generations;
+    private final AtomicLong nextGeneration = new AtomicLong();
+
+    public PortfolioValuationEngine(PortfolioHoldingRepository portfolioHoldingRepository,
+                                    @Value("${market.valuation.max-accounts:10000}") long maxAccounts,
+                                    @Value("${market.valuation.idle-ttl-ms:1800000}") long idleTtlMs) {
+        this.portfolioHoldingRepository = portfolioHoldingRepository;
+        Cache<Long, AccountBook> books = Caffeine.newBuilder()
+            .maximumSize(maxAccounts)
+            .expireAfterAccess(Duration.ofMillis(idleTtlMs))
+            .executor(Runnable::run)
+            .evictionListener((Long accountId, AccountBook book, RemovalCause cause) -> {
+                if (book != null) {
+                    unregister(book);
+                }
+            })
+            .build();
+        this.accounts = books.asMap();
+        this.generations = Caffeine.newBuilder().expireAfterWrite(GENERATION_TTL).<Long, Long>build().asMap();
+        this.lastQuotes = Caffeine.newBuilder().maximumSize(MAX_QUOTED_SYMBOLS).<String, Quote>build().asMap();
+    }
+
+    public PortfolioValuation getValuation(FinancialAccount account) {
+        AccountBook book = accounts.get(account.getId());
+        return book != null ? book.valuation : load(List.of(account.getId())).get(account.getId()).valuation;
+    }
+
+    /**
+     * Returns valuations for many accounts, loading all that are not yet held in one query.
+     * Every id is taken to be an existing account; one without holdings gets an empty book.
+     */
+    public Map<Long, PortfolioValuation> getValuations(Collection<Long> accountIds) {
+        Map<Long, PortfolioValuation> valuations = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long accountId : new LinkedHashSet<>(accountIds)) {
+            AccountBook book = accounts.get(accountId);
+            valuations.put(accountId, book != null ? book.valuation : null);
+            if (book == null) {
+                missing.add(accountId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            load(missing).forEach((accountId, book) -> valuations.put(accountId, book.valuation));
+        }
+        return valuations;
+    }
+
+    /**
+     * Applies a price to every loaded account holding the symbol. Prices older than the last
+     * one seen for the symbol are ignored.
+     */
+    public void onPrice(String symbol, BigDecimal price, Instant asOf) {
+        Quote quote = new Quote(FixedPoint.of(price), asOf);
+        Quote accepted = lastQuotes.merge(symbol, quote, (current, next) -> next.asOf().isBefore(current.asOf()) ? current : next);
+        if (accepted != quote) {
+            return;
+        }
+        Set<AccountBook> holders = holdersBySymbol.get(symbol);
+        if (holders != null) {
+            for (AccountBook book : holders) {
+                book.reprice(symbol, quote);
+            }
+        }
+    }
+
+    public void evict(Long accountId) {
+        generations.put(accountId, nextGeneration.incrementAndGet());
+        AccountBook book = accounts.remove(accountId);
+        if (book != null) {
+            unregister(book);
+        }
+    }
+
+    private Map<Long, AccountBook> load(List<Long> accountIds) {
+        Map<Long, Long> loadedGenerations = new HashMap<>();
+        Map<Long, List<HoldingPosition>> positions = new HashMap<>();
+        for (Long accountId : accountIds) {
+            loadedGenerations.put(accountId, generations.getOrDefault(accountId, 0L));
+            positions.put(accountId, new ArrayList<>());
+        }
+        for (HoldingPosition position : portfolioHoldingRepository.summarizePositions(accountIds)) {
+            positions.get(position.accountId()).add(position);
+        }
+        Map<Long, AccountBook> books = new HashMap<>();
+        positions.forEach((accountId, held) ->
+            books.put(accountId, register(accountId, new AccountBook(held), loadedGenerations.get(accountId))));
+        return books;
+    }
+
+    private AccountBook register(Long accountId, AccountBook book, long generation) {
+        if (generations.getOrDefault(accountId, 0L) != generation) {
+            return book;
+        }
+        AccountBook existing = accounts.putIfAbsent(accountId, book);
+        if (existing != null) {
+            return existing;
+        }
+        for (String symbol : book.symbols()) {
+            holdersBySymbol.computeIfAbsent(symbol, s -> ConcurrentHashMap.newKeySet()).add(book);
+            // Catch up on prices that arrived while the holdings were being read
+            Quote quote = lastQuotes.get(symbol);
+            if (quote != null) {
+                book.reprice(symbol, quote);
+            }
+        }
+        if (generations.getOrDefault(accountId, 0L) != generation && accounts.remove(accountId, book)) {
+            unregister(book);
+        } else if (accounts.get(accountId) != book) {
+            // Evicted while its symbols were being registered, after the listener already ran
+            unregister(book);
+        }
+        return book;
+    }
+
+    private void unregister(AccountBook book) {
+        for (String symbol : book.symbols()) {
+            holdersBySymbol.computeIfPresent(symbol, (s, holders) -> {
+                holders.remove(book);
+                return holders.isEmpty() ? null : holders;
+            });
+        }
+    }
+
+    private record Quote(long price, Instant asOf) {
+    }
+
+    private static final class Position {
+        private final long quantity;
+        private long marketValue;
+        private Instant asOf = Instant.MIN;
+
+        private Position(long quantity, long marketValue) {
+            this.quantity = quantity;
+            this.marketValue = marketValue;
+        }
+    }
+
+    /**
+     * One account's positions and running totals in {@link FixedPoint} units, so applying a
+     * price does no BigDecimal arithmetic.
+     */
+    private static final class AccountBook {
+        private final Map<String, Position> positions = new HashMap<>();
+        private long marketValue;
+        private volatile PortfolioValuation valuation;
+
+        private AccountBook(List<HoldingPosition> held) {
+            long costBasis = 0;
+            for (HoldingPosition position : held) {
+                long value = FixedPoint.of(position.marketValue());
+                positions.put(position.symbol(), new Position(FixedPoint.of(position.quantity()), value));
+                marketValue = FixedPoint.add(marketValue, value);
+                costBasis = FixedPoint.add(costBasis, FixedPoint.of(position.costBasis()));
+            }
+            this.valuation = new PortfolioValuation(marketValue, costBasis);
+        }
+
+        private Set<String> symbols() {
+            return positions.keySet();
+        }
+
+        private synchronized void reprice(String symbol, Quote quote) {
+            Position position = positions.get(symbol);
+            if (position == null || quote.asOf().isBefore(position.asOf)) {
+                return;
+            }
+            long repriced = FixedPoint.multiply(position.quantity, quote.price());
+            long delta = FixedPoint.subtract(repriced, position.marketValue);
+            position.marketValue = repriced;
+            position.asOf = quote.asOf();
+            if (delta != 0) {
+                marketValue = FixedPoint.add(marketValue, delta);
+                valuation = new PortfolioValuation(marketValue, valuation.costBasisUnits());
+            }
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.financialdashboard.service.impl;
+
+import com.financialdashboard.model.OhlcvBar;
+import com.financialdashboard.model.PriceSeries;
+import com.financialdashboard.model.Resolution;
+import com.financialdashboard.repository.OhlcvRollupRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recent OHLCV history per symbol and resolution, held column-wise in primitive arrays
+ * under a byte budget. A series covers the last max-points buckets when it is loaded and
+ * is kept current by the writer, so range queries inside that window are answered with
+ * two binary searches and no database round trip. Once the budget is exceeded, Caffeine
+ * evicts whole series, favouring the ones read least recently and least often. A series
+ * also expires a TTL after it was last loaded or appended to: on the node running the
+ * writer appends keep it alive, while other nodes, which never see the appends, reload it
+ * from the rollups instead of serving it stale.
+ */
+@Component
+public class PriceSeriesCache {
+
+    // Nine primitive columns per bar plus array headers
+    private static final int BYTES_PER_BAR = 8 * 8 + 4;
+    private static final int BYTES_PER_SERIES = 256;
+
+    private final OhlcvRollupRepository ohlcvRollupRepository;
+    private final Clock clock;
+    private final int windowPoints;
+    private final Cache<SeriesKey, ColumnarSeries> cache;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bypasses;
+
+    @Autowired
+    public PriceSeriesCache(OhlcvRollupRepository ohlcvRollupRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${market.history.cache.max-bytes:67108864}") long maxBytes,
+                            @Value("${market.history.cache.ttl-ms:60000}") long ttlMs,
+                            @Value("${market.history.max-points:2000}") int windowPoints) {
+        this(ohlcvRollupRepository, meterRegistry, Clock.systemUTC(), maxBytes, Duration.ofMillis(ttlMs), windowPoints);
+    }
+
+    public PriceSeriesCache(OhlcvRollupRepository ohlcvRollupRepository, MeterRegistry meterRegistry,
+                            Clock clock, long maxBytes, Duration ttl, int windowPoints) {
+        this.ohlcvRollupRepository = ohlcvRollupRepository;
+        this.clock = clock;
+        this.windowPoints = windowPoints;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((SeriesKey key, ColumnarSeries series) -> series.weight())
+            .expireAfterWrite(ttl)
+            .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "priceSeries");
+        this.hits = lookups(meterRegistry, "hit");
+        this.misses = lookups(meterRegistry, "miss");
+        this.bypasses = lookups(meterRegistry, "bypass");
+    }
+
+    /**
+     * Bars whose bucket starts within [from, to). Ranges reaching back past the cached
+     * window go to the database.
+     */
+    public List<OhlcvBar> getBars(String symbol, Resolution resolution, Instant from, Instant to) {
+        SeriesKey key = new SeriesKey(symbol, resolution);
+        ColumnarSeries series = cache.getIfPresent(key);
+        if (series == null) {
+            Instant now = clock.instant();
+            Instant windowStart = resolution.bucketStart(
+                now.minus(resolution.getBucket().multipliedBy(windowPoints)));
+            if (from.isBefore(windowStart)) {
+                bypasses.increment();
+                return ohlcvRollupRepository.findBySymbolAndRange(symbol, resolution, from, to);
+            }
+            misses.increment();
+            series = cache.get(key, k -> load(k, windowStart, now.plus(k.resolution().getBucket())));
+        } else if (!series.covers(from.toEpochMilli())) {
+            bypasses.increment();
+            return ohlcvRollupRepository.findBySymbolAndRange(symbol, resolution, from, to);
+        } else {
+            hits.increment();
+        }
+        return series.slice(from.toEpochMilli(), to.toEpochMilli());
+    }
+
+    /**
+     * Folds freshly persisted bars into the series that are already cached. Runs under the
+     * cache's per-key lock, so it waits for an in-flight load of the same series instead
+     * of getting lost.
+     */
+    public void append(Resolution resolution, List<OhlcvBar> bars) {
+        for (OhlcvBar bar : bars) {
+            cache.asMap().computeIfPresent(new SeriesKey(bar.symbol(), resolution), (key, series) -> {
+                series.merge(bar, 2 * windowPoints);
+                return series;
+            });
+        }
+    }
+
+    private ColumnarSeries load(SeriesKey key, Instant windowStart, Instant windowEnd) {
+        List<OhlcvBar> bars = ohlcvRollupRepository.findBySymbolAndRange(key.symbol(), key.resolution(),
+            windowStart, windowEnd);
+        ColumnarSeries series = new ColumnarSeries(key.symbol(), windowStart.toEpochMilli(), Math.max(bars.size(), 16));
+        bars.forEach(bar -> series.merge(bar, Integer.MAX_VALUE));
+        return series;
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("market.history.cache.lookups").tag("result", result).register(meterRegistry);
+    }
+
+    private record SeriesKey(String symbol, Resolution resolution) {
+    }
+
+    /**
+     * Growable column store ordered by bucket start. Prices are fixed-point longs with
+     * {@link PriceSeries#PRICE_SCALE} decimals; a null volume is stored as Long.MIN_VALUE.
+     */
+    private static final class ColumnarSeries {
+        private final String symbol;
+        private long coversFrom;
+        private long[] bucketStart;
+        private long[] open;
+        private long[] high;
+        private long[] low;
+        private long[] close;
+        private long[] volume;
+        private long[] openTime;
+        private long[] closeTime;
+        private int[] tickCount;
+        private int size;
+
+        ColumnarSeries(String symbol, long coversFrom, int capacity) {
+            this.symbol = symbol;
+            this.coversFrom = coversFrom;
+            allocate(capacity);
+        }
+
+        synchronized boolean covers(long from) {
+            return from >= coversFrom;
+        }
+
+        synchronized int weight() {
+            return BYTES_PER_SERIES + bucketStart.length * BYTES_PER_BAR;
+        }
+
+        synchronized List<OhlcvBar> slice(long from, long to) {
+            int start = lowerBound(from);
+            int end = lowerBound(to);
+            List<OhlcvBar> bars = new ArrayList<>(Math.max(0, end - start));
+            for (int i = start; i < end; i++) {
+                bars.add(new OhlcvBar(symbol, Instant.ofEpochMilli(bucketStart[i]), price(open[i]), price(high[i]),
+                    price(low[i]), price(close[i]), volume[i] == Long.MIN_VALUE ? null : volume[i], tickCount[i],
+                    Instant.ofEpochMilli(openTime[i]), Instant.ofEpochMilli(closeTime[i])));
+            }
+            return bars;
+        }
+
+        synchronized void merge(OhlcvBar bar, int maxBars) {
+            long bucket = bar.bucketStart().toEpochMilli();
+            if (bucket < coversFrom) {
+                return;
+            }
+            int index = lowerBound(bucket);
+            if (index < size && bucketStart[index] == bucket) {
+                long barOpenTime = bar.openTime().toEpochMilli();
+                long barCloseTime = bar.closeTime().toEpochMilli();
+                if (barOpenTime < openTime[index]) {
+                    open[index] = scaled(bar.open());
+                    openTime[index] = barOpenTime;
+                }
+                if (barCloseTime >= closeTime[index]) {
+                    close[index] = scaled(bar.close());
+                    closeTime[index] = barCloseTime;
+                }
+                high[index] = Math.max(high[index], scaled(bar.high()));
+                low[index] = Math.min(low[index], scaled(bar.low()));
+                volume[index] = Math.max(volume[index], bar.volume() != null ? bar.volume() : Long.MIN_VALUE);
+                tickCount[index] += bar.tickCount();
+                return;
+            }
+            if (size == bucketStart.length) {
+                grow();
+            }
+            shiftRight(index);
+            bucketStart[index] = bucket;
+            open[index] = scaled(bar.open());
+            high[index] = scaled(bar.high());
+            low[index] = scaled(bar.low());
+            close[index] = scaled(bar.close());
+            volume[index] = bar.volume() != null ? bar.volume() : Long.MIN_VALUE;
+            tickCount[index] = bar.tickCount();
+            openTime[index] = bar.openTime().toEpochMilli();
+            closeTime[index] = bar.closeTime().toEpochMilli();
+            size++;
+            if (size > maxBars) {
+                dropOldest(size / 2);
+            }
+        }
+
+        private int lowerBound(long key) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (bucketStart[mid] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void shiftRight(int index) {
+            int moved = size - index;
+            if (moved > 0) {
+                System.arraycopy(bucketStart, index, bucketStart, index + 1, moved);
+                System.arraycopy(open, index, open, index + 1, moved);
+                System.arraycopy(high, index, high, index + 1, moved);
+                System.arraycopy(low, index, low, index + 1, moved);
+                System.arraycopy(close, index, close, index + 1, moved);
+                System.arraycopy(volume, index, volume, index + 1, moved);
+                System.arraycopy(tickCount, index, tickCount, index + 1, moved);
+                System.arraycopy(openTime, index, openTime, index + 1, moved);
+                System.arraycopy(closeTime, index, closeTime, index + 1, moved);
+            }
+        }
+
+        private void dropOldest(int count) {
+            int remaining = size - count;
+            System.arraycopy(bucketStart, count, bucketStart, 0, remaining);
+            System.arraycopy(open, count, open, 0, remaining);
+            System.arraycopy(high, count, high, 0, remaining);
+            System.arraycopy(low, count, low, 0, remaining);
+            System.arraycopy(close, count, close, 0, remaining);
+            System.arraycopy(volume, count, volume, 0, remaining);
+            System.arraycopy(tickCount, count, tickCount, 0, remaining);
+            System.arraycopy(openTime, count, openTime, 0, remaining);
+            System.arraycopy(closeTime, count, closeTime, 0, remaining);
+            size = remaining;
+            coversFrom = bucketStart[0];
+        }
+
+        private void allocate(int capacity) {
+            bucketStart = new long[capacity];
+            open = new long[capacity];
+            high = new long[capacity];
+            low = new long[capacity];
+            close = new long[capacity];
+            volume = new long[capacity];
+            tickCount = new int[capacity];
+            openTime = new long[capacity];
+            closeTime = new long[capacity];
+        }
+
+        private void grow() {
+            int capacity = bucketStart.length * 2;
+            bucketStart = Arrays.copyOf(bucketStart, capacity);
+            open = Arrays.copyOf(open, capacity);
+            high = Arrays.copyOf(high, capacity);
+            low = Arrays.copyOf(low, capacity);
+            close = Arrays.copyOf(close, capacity);
+            volume = Arrays.copyOf(volume, capacity);
+            tickCount = Arrays.copyOf(tickCount, capacity);
+            openTime = Arrays.copyOf(openTime, capacity);
+            closeTime = Arrays.copyOf(closeTime, capacity);
+        }
+
+        private static long scaled(BigDecimal price) {
+            return price.setScale(PriceSeries.PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        }
+
+        private static BigDecimal price(long scaled) {
+            return BigDecimal.valueOf(scaled, PriceSeries.PRICE_SCALE);
+        }
+    }
+}
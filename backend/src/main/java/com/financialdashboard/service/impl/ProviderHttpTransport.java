@@ -0,0 +1,121 @@
+package com.financialdashboard.service.impl;
+
+import com.financialdashboard.exception.MarketDataProviderException;
+import com.financialdashboard.exception.ProviderThrottledException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+public class ProviderHttpTransport {
+
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final int maxConcurrentPerHost;
+    private final ConcurrentMap<String, HostPermits> hostPermits = new ConcurrentHashMap<>();
+
+    public ProviderHttpTransport(HttpClient marketDataHttpClient,
+                                 @Value("${market.http.request-timeout-ms:5000}") long requestTimeoutMs,
+                                 @Value("${market.http.max-concurrent-per-host:16}") int maxConcurrentPerHost) {
+        this.httpClient = marketDataHttpClient;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.maxConcurrentPerHost = maxConcurrentPerHost;
+    }
+
+    public CompletableFuture<String> get(URI uri) {
+        return get(uri, Map.of());
+    }
+
+    public CompletableFuture<String> get(URI uri, Map<String, String> headers) {
+        return send(uri, headers, HttpResponse.BodyHandlers.ofString());
+    }
+
+    public CompletableFuture<byte[]> getBytes(URI uri) {
+        return send(uri, Map.of(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private <T> CompletableFuture<T> send(URI uri, Map<String, String> headers, HttpResponse.BodyHandler<T> bodyHandler) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+            .timeout(requestTimeout)
+            .header("Accept", "application/json")
+            .GET();
+        headers.forEach(builder::header);
+        HttpRequest request = builder.build();
+
+        HostPermits permits = hostPermits.computeIfAbsent(uri.getHost(), host -> new HostPermits(maxConcurrentPerHost));
+        CompletableFuture<T> result = new CompletableFuture<>();
+        permits.submit(() -> {
+            CompletableFuture<HttpResponse<T>> exchange;
+            try {
+                exchange = httpClient.sendAsync(request, bodyHandler);
+            } catch (RuntimeException e) {
+                // Thrown before the exchange started, so whenComplete below never runs
+                permits.release();
+                result.completeExceptionally(new MarketDataProviderException(
+                    "Request to " + uri.getHost() + " failed", e));
+                return;
+            }
+            exchange.whenComplete((response, error) -> {
+                permits.release();
+                if (error != null) {
+                    result.completeExceptionally(new MarketDataProviderException(
+                        "Request to " + uri.getHost() + " failed", error));
+                } else if (response.statusCode() == 429) {
+                    result.completeExceptionally(new ProviderThrottledException(
+                        "Request to " + uri.getHost() + " was rate limited"));
+                } else if (response.statusCode() / 100 != 2) {
+                    result.completeExceptionally(new MarketDataProviderException(
+                        "Request to " + uri.getHost() + " returned HTTP " + response.statusCode()));
+                } else {
+                    result.complete(response.body());
+                }
+            });
+        });
+        return result;
+    }
+
+    private static final class HostPermits {
+        private final int maxConcurrent;
+        private final Deque<Runnable> waiting = new ArrayDeque<>();
+        private int active;
+
+        private HostPermits(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        void submit(Runnable task) {
+            synchronized (this) {
+                if (active >= maxConcurrent) {
+                    waiting.addLast(task);
+                    return;
+                }
+                active++;
+            }
+            task.run();
+        }
+
+        void release() {
+            Runnable next;
+            synchronized (this) {
+                next = waiting.pollFirst();
+                if (next == null) {
+                    active--;
+                }
+            }
+            if (next != null) {
+                next.run();
+            }
+        }
+    }
+}
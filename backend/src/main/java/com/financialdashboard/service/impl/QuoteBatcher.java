@@ -0,0 +1,179 @@
+package com.financialdashboard.service.impl;
+
+import com.financialdashboard.exception.MarketDataProviderException;
+import com.financialdashboard.model.Priority;
+import com.financialdashboard.model.Quote;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects quote lookups for different symbols into bulk provider calls. A batch is sent
+ * once it reaches the max size or its linger time runs out, whichever comes first, and
+ * each caller's future is completed from the bulk result. A batch that ends up holding a
+ * single symbol goes through the hedged single-quote path instead, since bulk calls are
+ * not hedged and a lone lookup is usually a user waiting on one price.
+ */
+@Component
+public class QuoteBatcher {
+
+    private final HedgedQuoteService hedgedQuoteService;
+    private final MeterRegistry meterRegistry;
+    private final int maxBatchSize;
+    private final long lingerMs;
+    private final ScheduledExecutorService lingerTimer;
+    private final Map<Priority, Batch> pending = new EnumMap<>(Priority.class);
+
+    private final DistributionSummary batchSize;
+    private final Counter coalesced;
+
+    public QuoteBatcher(HedgedQuoteService hedgedQuoteService,
+                        MeterRegistry meterRegistry,
+                        @Value("${market.batch.max-size:50}") int maxBatchSize,
+                        @Value("${market.batch.linger-ms:10}") long lingerMs) {
+        this.hedgedQuoteService = hedgedQuoteService;
+        this.meterRegistry = meterRegistry;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerMs = lingerMs;
+        this.lingerTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quote-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batchSize = DistributionSummary.builder("market.quotes.batch.size").register(meterRegistry);
+        this.coalesced = Counter.builder("market.quotes.batch.coalesced").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lingerTimer.shutdownNow();
+    }
+
+    public CompletableFuture<Quote> submit(String symbol, Priority priority) {
+        List<Batch> ready = new ArrayList<>(1);
+        CompletableFuture<Quote> future;
+        synchronized (pending) {
+            future = enqueue(symbol, priority, ready);
+        }
+        ready.forEach(batch -> dispatch(batch, "size"));
+        return future;
+    }
+
+    /**
+     * Enqueues a whole group of symbols and sends what is pending right away: the caller
+     * already supplied a full batch, so there is nothing to gain from lingering.
+     */
+    public Map<String, CompletableFuture<Quote>> submitAll(Collection<String> symbols, Priority priority) {
+        Map<String, CompletableFuture<Quote>> futures = new LinkedHashMap<>();
+        List<Batch> ready = new ArrayList<>();
+        Batch remainder;
+        synchronized (pending) {
+            for (String symbol : symbols) {
+                futures.put(symbol, enqueue(symbol, priority, ready));
+            }
+            remainder = pending.remove(priority);
+        }
+        ready.forEach(batch -> dispatch(batch, "size"));
+        if (remainder != null) {
+            remainder.cancelLinger();
+            dispatch(remainder, "explicit");
+        }
+        return futures;
+    }
+
+    private CompletableFuture<Quote> enqueue(String symbol, Priority priority, List<Batch> ready) {
+        Batch batch = pending.get(priority);
+        if (batch == null) {
+            Batch created = new Batch(priority);
+            created.linger = lingerTimer.schedule(() -> flushLingering(created), lingerMs, TimeUnit.MILLISECONDS);
+            pending.put(priority, created);
+            batch = created;
+        }
+        CompletableFuture<Quote> future = batch.waiters.get(symbol);
+        if (future != null) {
+            coalesced.increment();
+            return future;
+        }
+        future = new CompletableFuture<>();
+        batch.waiters.put(symbol, future);
+        if (batch.waiters.size() >= maxBatchSize) {
+            pending.remove(priority);
+            batch.cancelLinger();
+            ready.add(batch);
+        }
+        return future;
+    }
+
+    private void flushLingering(Batch batch) {
+        synchronized (pending) {
+            if (pending.get(batch.priority) != batch) {
+                return;
+            }
+            pending.remove(batch.priority);
+        }
+        dispatch(batch, "linger");
+    }
+
+    private void dispatch(Batch batch, String trigger) {
+        batchSize.record(batch.waiters.size());
+        meterRegistry.counter("market.quotes.batch.flush", "trigger", trigger).increment();
+
+        CompletableFuture<Map<String, Quote>> lookup;
+        try {
+            if (batch.waiters.size() == 1) {
+                String symbol = batch.waiters.keySet().iterator().next();
+                lookup = hedgedQuoteService.getQuote(symbol, batch.priority).thenApply(quote -> Map.of(symbol, quote));
+            } else {
+                lookup = hedgedQuoteService.getQuotes(batch.waiters.keySet(), batch.priority);
+            }
+        } catch (RuntimeException e) {
+            lookup = CompletableFuture.failedFuture(e);
+        }
+        lookup.whenComplete((quotes, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            batch.waiters.forEach((symbol, future) -> {
+                Quote quote = quotes != null ? quotes.get(symbol) : null;
+                if (quote != null) {
+                    future.complete(quote);
+                } else if (cause != null) {
+                    future.completeExceptionally(cause);
+                } else {
+                    future.completeExceptionally(
+                        new MarketDataProviderException("No provider returned a quote for " + symbol));
+                }
+            });
+        });
+    }
+
+    private static final class Batch {
+        private final Priority priority;
+        private final Map<String, CompletableFuture<Quote>> waiters = new LinkedHashMap<>();
+        private ScheduledFuture<?> linger;
+
+        private Batch(Priority priority) {
+            this.priority = priority;
+        }
+
+        void cancelLinger() {
+            if (linger != null) {
+                linger.cancel(false);
+            }
+        }
+    }
+}
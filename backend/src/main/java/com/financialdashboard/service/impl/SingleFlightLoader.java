@@ -0,0 +1,69 @@
+package com.financialdashboard.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads for the same key into a single in-flight call.
+ * The first caller for a key runs the loader; every caller that arrives while
+ * it is still running waits on the same future and receives its result.
+ */
+public class SingleFlightLoader<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executedLoads;
+    private final Counter coalescedLoads;
+
+    public SingleFlightLoader(String name, MeterRegistry meterRegistry) {
+        this.executedLoads = Counter.builder("market.singleflight.loads")
+            .tag("loader", name)
+            .tag("outcome", "executed")
+            .register(meterRegistry);
+        this.coalescedLoads = Counter.builder("market.singleflight.loads")
+            .tag("loader", name)
+            .tag("outcome", "coalesced")
+            .register(meterRegistry);
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            coalescedLoads.increment();
+            return await(existing);
+        }
+
+        executedLoads.increment();
+        try {
+            V value = loader.get();
+            pending.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
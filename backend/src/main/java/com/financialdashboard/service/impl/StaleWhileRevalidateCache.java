@@ -0,0 +1,159 @@
+package com.financialdashboard.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Cache that serves entries past their soft TTL immediately while one background reload
+ * per key refreshes them. Only a miss, or an entry past its hard TTL, makes the caller
+ * wait for the loader, and concurrent waiters for a key share a single load. Background
+ * reloads may use a separate refresher, e.g. one that fetches at a lower priority.
+ */
+public class StaleWhileRevalidateCache<K, V> {
+    private static final Logger logger = LoggerFactory.getLogger(StaleWhileRevalidateCache.class);
+
+    private final String name;
+    private final Cache<K, Entry<V>> cache;
+    private final Function<K, V> loader;
+    private final Function<K, V> refresher;
+    private final SingleFlightLoader<K, Entry<V>> singleFlight;
+    private final Set<K> revalidating = ConcurrentHashMap.newKeySet();
+    private final Executor refreshExecutor;
+    private final Duration softTtl;
+    private final Clock clock;
+
+    private final Counter freshHits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter refreshFailures;
+
+    public StaleWhileRevalidateCache(String name, Duration softTtl, Duration hardTtl, long maximumSize,
+                                     Function<K, V> loader, Executor refreshExecutor,
+                                     MeterRegistry meterRegistry, Clock clock) {
+        this(name, softTtl, hardTtl, maximumSize, loader, loader, refreshExecutor, meterRegistry, clock);
+    }
+
+    public StaleWhileRevalidateCache(String name, Duration softTtl, Duration hardTtl, long maximumSize,
+                                     Function<K, V> loader, Function<K, V> refresher, Executor refreshExecutor,
+                                     MeterRegistry meterRegistry, Clock clock) {
+        this.name = name;
+        this.softTtl = softTtl;
+        this.loader = loader;
+        this.refresher = refresher;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(hardTtl)
+            .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+            .recordStats()
+            .build();
+        this.singleFlight = new SingleFlightLoader<>(name, meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        this.freshHits = lookups(meterRegistry, "fresh");
+        this.staleHits = lookups(meterRegistry, "stale");
+        this.misses = lookups(meterRegistry, "miss");
+        this.refreshFailures = Counter.builder("market.cache.swr.refresh.failures").tag("cache", name)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached entry, loading it synchronously on a miss. Returns null when the
+     * loader has nothing for the key; such results are not cached.
+     */
+    public Entry<V> get(K key) {
+        Entry<V> entry = getIfPresent(key);
+        if (entry != null) {
+            return entry;
+        }
+        misses.increment();
+        return load(key);
+    }
+
+    /**
+     * Returns the cached entry without ever blocking on the loader, scheduling a
+     * revalidation if it is past the soft TTL. Returns null on a miss.
+     */
+    public Entry<V> getIfPresent(K key) {
+        Entry<V> entry = cache.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.age(clock).compareTo(softTtl) <= 0) {
+            freshHits.increment();
+        } else {
+            staleHits.increment();
+            revalidate(key);
+        }
+        return entry;
+    }
+
+    public Entry<V> put(K key, V value) {
+        Entry<V> entry = new Entry<>(value, clock.instant());
+        cache.put(key, entry);
+        return entry;
+    }
+
+    public void invalidate(K key) {
+        cache.invalidate(key);
+    }
+
+    private Entry<V> load(K key) {
+        return singleFlight.load(key, () -> {
+            V value = loader.apply(key);
+            return value != null ? put(key, value) : null;
+        });
+    }
+
+    private void revalidate(K key) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    // Outside the single flight, so a caller blocked on a miss is not held to the refresher's pace
+                    V value = refresher.apply(key);
+                    if (value != null) {
+                        put(key, value);
+                    }
+                } catch (RuntimeException e) {
+                    refreshFailures.increment();
+                    logger.warn("Background refresh of {} entry {} failed; keeping the stale value", name, key, e);
+                } finally {
+                    revalidating.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            revalidating.remove(key);
+            refreshFailures.increment();
+        }
+    }
+
+    private Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("market.cache.swr.lookups").tag("cache", name).tag("result", result)
+            .register(meterRegistry);
+    }
+
+    public record Entry<V>(V value, Instant loadedAt) {
+        public Duration age(Clock clock) {
+            return Duration.between(loadedAt, clock.instant());
+        }
+    }
+}
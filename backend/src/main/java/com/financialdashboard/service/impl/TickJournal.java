@@ -0,0 +1,348 @@
+package com.financialdashboard.service.impl;
+
+import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.PriceSeries;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only local journal of ticks in fixed-width records, spread over memory-mapped
+ * segment files. Each record is 32 bytes: epoch nanos, price as a fixed-point long,
+ * volume, symbol id and data source. Symbols are interned through an append-only
+ * dictionary file. A record becomes visible once its timestamp is written, which
+ * happens last, and readers never go past the committed sequence.
+ * <p>
+ * The writer moves the checkpoint forward once ticks are in the database; segments
+ * entirely below the checkpoint are deleted, and ticks past it are replayed at startup.
+ */
+@Component
+@ConditionalOnProperty(name = "market.journal.enabled", havingValue = "true")
+public class TickJournal {
+    private static final Logger logger = LoggerFactory.getLogger(TickJournal.class);
+
+    static final int RECORD_BYTES = 32;
+    private static final int PRICE_OFFSET = 8;
+    private static final int VOLUME_OFFSET = 16;
+    private static final int SYMBOL_OFFSET = 24;
+    private static final int SOURCE_OFFSET = 28;
+    private static final long NULL_VOLUME = Long.MIN_VALUE;
+
+    private static final String SEGMENT_PREFIX = "ticks-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String DICTIONARY = "symbols.dict";
+    private static final String CHECKPOINT = "checkpoint";
+    private static final String ID = "journal-id";
+
+    private final Path directory;
+    private final String id;
+    private final int segmentBytes;
+    private final long recordsPerSegment;
+    private final List<String> symbols = new CopyOnWriteArrayList<>();
+    private final Map<String, Integer> symbolIds = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, MappedByteBuffer> segments = new ConcurrentSkipListMap<>();
+    private final BufferedWriter dictionary;
+
+    private volatile long committed;
+    private volatile long checkpoint;
+    private long persistedCheckpoint = -1;
+
+    @Autowired
+    public TickJournal(@Value("${market.journal.directory:data/journal}") String directory,
+                       @Value("${market.journal.segment-bytes:67108864}") int segmentBytes) {
+        this(Path.of(directory), segmentBytes);
+    }
+
+    public TickJournal(Path directory, int segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes - segmentBytes % RECORD_BYTES;
+        this.recordsPerSegment = this.segmentBytes / RECORD_BYTES;
+        try {
+            Files.createDirectories(directory);
+            // Identifies this journal's sequence numbers; a wiped directory starts a new journal
+            Path idFile = directory.resolve(ID);
+            if (Files.exists(idFile)) {
+                this.id = Files.readString(idFile).trim();
+            } else {
+                this.id = UUID.randomUUID().toString();
+                Files.writeString(idFile, id);
+            }
+            Path dictionaryFile = directory.resolve(DICTIONARY);
+            if (Files.exists(dictionaryFile)) {
+                for (String symbol : Files.readAllLines(dictionaryFile, StandardCharsets.UTF_8)) {
+                    symbolIds.put(symbol, symbols.size());
+                    symbols.add(symbol);
+                }
+            }
+            this.dictionary = Files.newBufferedWriter(dictionaryFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            Path checkpointFile = directory.resolve(CHECKPOINT);
+            if (Files.exists(checkpointFile)) {
+                checkpoint = Long.parseLong(Files.readString(checkpointFile).trim());
+                persistedCheckpoint = checkpoint;
+            }
+            openSegments();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open tick journal in " + directory, e);
+        }
+        logger.info("Opened tick journal {} in {}: {} records, checkpoint {}", id, directory, committed, checkpoint);
+    }
+
+    /**
+     * Appends a tick and returns its sequence number.
+     */
+    public synchronized long append(MarketData tick) {
+        int symbolId = symbolId(tick.getSymbol());
+        long sequence = committed;
+        long segmentIndex = sequence / recordsPerSegment;
+        MappedByteBuffer segment = segments.get(segmentIndex);
+        if (segment == null) {
+            // Rolling over: make the finished segment durable before moving on
+            MappedByteBuffer previous = segments.get(segmentIndex - 1);
+            if (previous != null) {
+                previous.force();
+            }
+            segment = map(segmentIndex);
+            segments.put(segmentIndex, segment);
+        }
+        int offset = (int) (sequence % recordsPerSegment) * RECORD_BYTES;
+        segment.putLong(offset + PRICE_OFFSET,
+            tick.getPrice().setScale(PriceSeries.PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+        segment.putLong(offset + VOLUME_OFFSET, tick.getVolume() != null ? tick.getVolume() : NULL_VOLUME);
+        segment.putInt(offset + SYMBOL_OFFSET, symbolId);
+        segment.putShort(offset + SOURCE_OFFSET, (short) tick.getDataSource().ordinal());
+        segment.putLong(offset, epochNanos(tick.getTimestamp().toInstant()));
+        committed = sequence + 1;
+        return sequence;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public long getCommitted() {
+        return committed;
+    }
+
+    public long getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * Marks every record before the given sequence as persisted elsewhere.
+     */
+    public synchronized void checkpoint(long sequence) {
+        if (sequence > checkpoint) {
+            checkpoint = Math.min(sequence, committed);
+        }
+    }
+
+    /**
+     * Reads every committed record from the given sequence on and returns how many were read.
+     */
+    public long replay(long fromSequence, ObjLongConsumer<MarketData> consumer) {
+        Tailer tailer = tailer(fromSequence);
+        long total = 0;
+        int read;
+        while ((read = tailer.poll(consumer, 4096)) > 0) {
+            total += read;
+        }
+        return total;
+    }
+
+    public Tailer tailer(long fromSequence) {
+        return new Tailer(fromSequence);
+    }
+
+    /**
+     * Forces written pages to disk, persists the checkpoint and deletes segments that lie
+     * entirely before it. The active segment is always kept.
+     */
+    @Scheduled(fixedDelayString = "${market.journal.sync-ms:1000}")
+    public void sync() {
+        Map.Entry<Long, MappedByteBuffer> active = segments.lastEntry();
+        if (active != null) {
+            active.getValue().force();
+        }
+        long current = checkpoint;
+        if (current != persistedCheckpoint) {
+            writeCheckpoint(current);
+            persistedCheckpoint = current;
+        }
+        compact(current);
+    }
+
+    @PreDestroy
+    public void close() {
+        sync();
+        try {
+            dictionary.close();
+        } catch (IOException e) {
+            logger.warn("Could not close tick journal dictionary", e);
+        }
+    }
+
+    private void compact(long upTo) {
+        Long activeIndex = segments.isEmpty() ? null : segments.lastKey();
+        for (Long index : segments.keySet()) {
+            if (index.equals(activeIndex) || (index + 1) * recordsPerSegment > upTo) {
+                break;
+            }
+            segments.remove(index);
+            try {
+                Files.deleteIfExists(segmentPath(index));
+                logger.debug("Deleted tick journal segment {}", index);
+            } catch (IOException e) {
+                logger.warn("Could not delete tick journal segment {}", index, e);
+            }
+        }
+    }
+
+    private void openSegments() throws IOException {
+        List<Long> indexes;
+        try (Stream<Path> files = Files.list(directory)) {
+            indexes = files.map(path -> path.getFileName().toString())
+                .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                .sorted()
+                .toList();
+        }
+        for (long index : indexes) {
+            segments.put(index, map(index));
+        }
+        if (indexes.isEmpty()) {
+            committed = checkpoint;
+            return;
+        }
+        long lastIndex = indexes.get(indexes.size() - 1);
+        MappedByteBuffer last = segments.get(lastIndex);
+        long count = 0;
+        while (count < recordsPerSegment && last.getLong((int) count * RECORD_BYTES) != 0) {
+            count++;
+        }
+        committed = lastIndex * recordsPerSegment + count;
+    }
+
+    private MappedByteBuffer map(long index) {
+        try (FileChannel channel = FileChannel.open(segmentPath(index),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map tick journal segment " + index, e);
+        }
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format(Locale.ROOT, "%s%020d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private int symbolId(String symbol) {
+        Integer id = symbolIds.get(symbol);
+        if (id != null) {
+            return id;
+        }
+        try {
+            dictionary.write(symbol);
+            dictionary.newLine();
+            dictionary.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not extend tick journal dictionary", e);
+        }
+        int assigned = symbols.size();
+        symbols.add(symbol);
+        symbolIds.put(symbol, assigned);
+        return assigned;
+    }
+
+    private void writeCheckpoint(long sequence) {
+        Path target = directory.resolve(CHECKPOINT);
+        Path temp = directory.resolve(CHECKPOINT + ".tmp");
+        try {
+            Files.writeString(temp, Long.toString(sequence));
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not persist tick journal checkpoint {}", sequence, e);
+        }
+    }
+
+    private MarketData read(long sequence) {
+        MappedByteBuffer segment = segments.get(sequence / recordsPerSegment);
+        if (segment == null) {
+            throw new IllegalStateException("Tick journal record " + sequence + " has been compacted away");
+        }
+        int offset = (int) (sequence % recordsPerSegment) * RECORD_BYTES;
+        long nanos = segment.getLong(offset);
+        long volume = segment.getLong(offset + VOLUME_OFFSET);
+        return new MarketData(
+            null,
+            symbols.get(segment.getInt(offset + SYMBOL_OFFSET)),
+            BigDecimal.valueOf(segment.getLong(offset + PRICE_OFFSET), PriceSeries.PRICE_SCALE),
+            volume == NULL_VOLUME ? null : volume,
+            Instant.ofEpochSecond(0, nanos).atZone(ZoneOffset.UTC),
+            MarketData.DataSource.values()[segment.getShort(offset + SOURCE_OFFSET)]);
+    }
+
+    private static long epochNanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    /**
+     * Sequential reader that follows the journal as it grows. Not thread-safe; each
+     * consumer uses its own tailer.
+     */
+    public final class Tailer {
+        private long next;
+
+        private Tailer(long fromSequence) {
+            this.next = fromSequence;
+        }
+
+        /**
+         * Hands up to max committed records to the consumer along with their sequence,
+         * returning how many were read; zero means the tailer has caught up.
+         */
+        public int poll(ObjLongConsumer<MarketData> consumer, int max) {
+            long end = Math.min(committed, next + max);
+            int read = 0;
+            while (next < end) {
+                consumer.accept(read(next), next);
+                next++;
+                read++;
+            }
+            return read;
+        }
+
+        public long position() {
+            return next;
+        }
+    }
+}
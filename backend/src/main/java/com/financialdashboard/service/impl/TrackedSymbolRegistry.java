@@ -0,0 +1,173 @@
+package com.financialdashboard.service.impl;
+
+import com.financialdashboard.model.TrackedSymbol;
+import com.financialdashboard.repository.TrackedSymbolRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Concurrent set of symbols the refresher keeps up to date. A symbol stays tracked while
+ * it is pinned through the track endpoint or referenced by at least one portfolio holding.
+ * Changes are applied in memory and written to tracked_symbols in batches; holding
+ * reference counts are recomputed from portfolio_holdings at startup. Ad-hoc price lookups
+ * only add a transient reference that is never persisted and lapses after a TTL.
+ */
+@Component
+public class TrackedSymbolRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(TrackedSymbolRegistry.class);
+
+    private final TrackedSymbolRepository trackedSymbolRepository;
+    private final int batchSize;
+    private final ConcurrentMap<String, TrackedSymbol> symbols = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private final Cache<String, Boolean> transientRefs;
+
+    public TrackedSymbolRegistry(TrackedSymbolRepository trackedSymbolRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${market.tracking.batch-size:500}") int batchSize,
+                                 @Value("${market.tracking.transient-ttl-ms:900000}") long transientTtlMs) {
+        this.trackedSymbolRepository = trackedSymbolRepository;
+        this.batchSize = batchSize;
+        this.transientRefs = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMillis(transientTtlMs))
+            .maximumSize(10_000)
+            .build();
+        Gauge.builder("market.tracked.symbols", symbols, Map::size).register(meterRegistry);
+        Gauge.builder("market.tracked.symbols.transient", transientRefs, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void load() {
+        Map<String, Integer> holdingRefs = trackedSymbolRepository.countHoldingsBySymbol();
+        Map<String, TrackedSymbol> loaded = new HashMap<>();
+        for (TrackedSymbol stored : trackedSymbolRepository.findAll()) {
+            TrackedSymbol reconciled = stored.withHoldingRefs(holdingRefs.getOrDefault(stored.symbol(), 0));
+            loaded.put(stored.symbol(), reconciled);
+            if (reconciled.holdingRefs() != stored.holdingRefs() || !reconciled.isTracked()) {
+                dirty.add(stored.symbol());
+            }
+        }
+        holdingRefs.forEach((symbol, refs) -> {
+            if (!loaded.containsKey(symbol)) {
+                loaded.put(symbol, new TrackedSymbol(symbol, refs, false));
+                dirty.add(symbol);
+            }
+        });
+        loaded.values().stream().filter(TrackedSymbol::isTracked).forEach(symbol -> symbols.put(symbol.symbol(), symbol));
+        logger.info("Loaded {} tracked symbols", symbols.size());
+    }
+
+    public List<String> getSymbols() {
+        Set<String> tracked = new LinkedHashSet<>(symbols.keySet());
+        tracked.addAll(transientRefs.asMap().keySet());
+        return new ArrayList<>(tracked);
+    }
+
+    public boolean isTracked(String symbol) {
+        return symbols.containsKey(symbol) || transientRefs.getIfPresent(symbol) != null;
+    }
+
+    /**
+     * Keeps a symbol refreshed for a while after someone looked it up, without pinning it.
+     * Each lookup restarts the TTL.
+     */
+    public void reference(String symbol) {
+        transientRefs.put(symbol, Boolean.TRUE);
+    }
+
+    public void track(String symbol) {
+        update(symbol, current -> current.withPinned(true));
+    }
+
+    public void untrack(String symbol) {
+        update(symbol, current -> current.withPinned(false));
+    }
+
+    /**
+     * Adds a holding reference. Inside a transaction the change is applied after commit,
+     * so a rolled back holding never leaves a reference behind.
+     */
+    public void holdingAdded(String symbol) {
+        afterCommit(() -> update(symbol, current -> current.withHoldingRefs(current.holdingRefs() + 1)));
+    }
+
+    public void holdingRemoved(String symbol) {
+        afterCommit(() -> update(symbol, current -> current.withHoldingRefs(current.holdingRefs() - 1)));
+    }
+
+    @Scheduled(fixedDelayString = "${market.tracking.flush-ms:5000}")
+    @PreDestroy
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<TrackedSymbol> upserts = new ArrayList<>();
+        List<String> deletes = new ArrayList<>();
+        for (Iterator<String> it = dirty.iterator(); it.hasNext(); ) {
+            String symbol = it.next();
+            it.remove();
+            TrackedSymbol current = symbols.get(symbol);
+            if (current != null) {
+                upserts.add(current);
+            } else {
+                deletes.add(symbol);
+            }
+        }
+        try {
+            if (!upserts.isEmpty()) {
+                trackedSymbolRepository.upsertAll(upserts, batchSize);
+            }
+            if (!deletes.isEmpty()) {
+                trackedSymbolRepository.deleteAll(deletes, batchSize);
+            }
+        } catch (RuntimeException e) {
+            upserts.forEach(symbol -> dirty.add(symbol.symbol()));
+            dirty.addAll(deletes);
+            logger.warn("Could not persist {} tracked symbol changes, will retry", upserts.size() + deletes.size(), e);
+        }
+    }
+
+    private void update(String symbol, UnaryOperator<TrackedSymbol> change) {
+        symbols.compute(symbol, (key, current) -> {
+            TrackedSymbol updated = change.apply(current != null ? current : new TrackedSymbol(key, 0, false));
+            return updated.isTracked() ? updated : null;
+        });
+        dirty.add(symbol);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
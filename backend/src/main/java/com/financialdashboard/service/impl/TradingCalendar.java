@@ -0,0 +1,58 @@
+package com.financialdashboard.service.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+public class TradingCalendar {
+
+    private final ZoneId zone;
+    private final LocalTime open;
+    private final LocalTime close;
+    private final Set<DayOfWeek> tradingDays;
+    private final Set<LocalDate> holidays;
+
+    public TradingCalendar(@Value("${market.calendar.zone:America/New_York}") String zone,
+                           @Value("${market.calendar.open:09:30}") String open,
+                           @Value("${market.calendar.close:16:00}") String close,
+                           @Value("${market.calendar.trading-days:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY}") String tradingDays,
+                           @Value("${market.calendar.holidays:}") String holidays) {
+        this.zone = ZoneId.of(zone);
+        this.open = LocalTime.parse(open);
+        this.close = LocalTime.parse(close);
+        this.tradingDays = Arrays.stream(tradingDays.split(","))
+            .map(String::trim)
+            .filter(day -> !day.isEmpty())
+            .map(DayOfWeek::valueOf)
+            .collect(Collectors.toCollection(() -> EnumSet.noneOf(DayOfWeek.class)));
+        this.holidays = Arrays.stream(holidays.split(","))
+            .map(String::trim)
+            .filter(date -> !date.isEmpty())
+            .map(LocalDate::parse)
+            .collect(Collectors.toSet());
+    }
+
+    public boolean isOpen(Instant instant) {
+        ZonedDateTime local = instant.atZone(zone);
+        if (!tradingDays.contains(local.getDayOfWeek()) || holidays.contains(local.toLocalDate())) {
+            return false;
+        }
+        LocalTime time = local.toLocalTime();
+        return !time.isBefore(open) && time.isBefore(close);
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+}
@@ -0,0 +1,118 @@
+package com.financialdashboard.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financialdashboard.exception.MarketDataProviderException;
+import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.Priority;
+import com.financialdashboard.model.Quote;
+import com.financialdashboard.service.MarketDataProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+public class YahooFinanceQuoteProvider implements MarketDataProvider {
+
+    private final ProviderHttpTransport transport;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String apiKey;
+    private final int maxSymbolsPerRequest;
+
+    public YahooFinanceQuoteProvider(ProviderHttpTransport transport,
+                                     ObjectMapper objectMapper,
+                                     @Value("${market.yahoo.finance.base-url:https://yfapi.net}") String baseUrl,
+                                     @Value("${market.yahoo.finance.api.key:}") String apiKey,
+                                     @Value("${market.yahoo.finance.max-symbols-per-request:10}") int maxSymbolsPerRequest) {
+        this.transport = transport;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.apiKey = apiKey;
+        this.maxSymbolsPerRequest = maxSymbolsPerRequest;
+    }
+
+    @Override
+    public MarketData.DataSource getSource() {
+        return MarketData.DataSource.YAHOO_FINANCE;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return apiKey != null && !apiKey.isBlank();
+    }
+
+    @Override
+    public CompletableFuture<Quote> getQuote(String symbol, Priority priority) {
+        return fetch(List.of(symbol)).thenApply(quotes -> {
+            Quote quote = quotes.get(symbol);
+            if (quote == null) {
+                throw new MarketDataProviderException("Yahoo Finance has no quote for " + symbol);
+            }
+            return quote;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Quote>> getQuotes(Collection<String> symbols, Priority priority) {
+        List<String> pending = new ArrayList<>(symbols);
+        List<CompletableFuture<Map<String, Quote>>> chunks = new ArrayList<>();
+        for (int from = 0; from < pending.size(); from += maxSymbolsPerRequest) {
+            chunks.add(fetch(pending.subList(from, Math.min(from + maxSymbolsPerRequest, pending.size()))));
+        }
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            Map<String, Quote> quotes = new HashMap<>();
+            chunks.forEach(chunk -> quotes.putAll(chunk.join()));
+            return quotes;
+        });
+    }
+
+    private CompletableFuture<Map<String, Quote>> fetch(List<String> symbols) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(baseUrl)
+            .path("/v6/finance/quote")
+            .queryParam("symbols", String.join(",", symbols))
+            .build()
+            .toUri();
+
+        return transport.get(uri, Map.of("x-api-key", apiKey)).thenApply(body -> toQuotes(symbols, body));
+    }
+
+    private Map<String, Quote> toQuotes(List<String> symbols, String body) {
+        JsonNode results;
+        try {
+            results = objectMapper.readTree(body).path("quoteResponse").path("result");
+        } catch (JsonProcessingException e) {
+            throw new MarketDataProviderException("Unreadable Yahoo Finance response", e);
+        }
+        Map<String, Quote> quotes = new HashMap<>();
+        for (JsonNode node : results) {
+            if (!node.path("regularMarketPrice").isNumber()) {
+                continue;
+            }
+            String returned = node.path("symbol").asText();
+            // Keep the caller's spelling of the symbol so results can be matched back
+            String symbol = symbols.stream().filter(returned::equalsIgnoreCase).findFirst().orElse(null);
+            if (symbol != null) {
+                quotes.put(symbol, new Quote(symbol,
+                    node.get("regularMarketPrice").decimalValue(),
+                    node.path("regularMarketChange").decimalValue(),
+                    node.path("regularMarketChangePercent").decimalValue(),
+                    node.path("regularMarketVolume").asLong(Quote.NO_VOLUME),
+                    Instant.ofEpochSecond(node.path("regularMarketTime").asLong()).atZone(ZoneOffset.UTC),
+                    getSource()));
+            }
+        }
+        return quotes;
+    }
+}
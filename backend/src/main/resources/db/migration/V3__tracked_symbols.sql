@@ -0,0 +1,12 @@
+-- Symbols the market data refresher keeps up to date. A row stays while it is pinned
+-- (tracked explicitly) or referenced by at least one portfolio holding.
+CREATE TABLE tracked_symbols (
+    symbol VARCHAR(20) PRIMARY KEY,
+    holding_refs INTEGER NOT NULL DEFAULT 0,
+    pinned BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO tracked_symbols (symbol, holding_refs)
+SELECT symbol, COUNT(*) FROM portfolio_holdings GROUP BY symbol;
@@ -0,0 +1,15 @@
+-- Latest tick per symbol and source, maintained by upsert alongside every market_data insert
+CREATE TABLE market_data_latest (
+    symbol VARCHAR(20) NOT NULL,
+    data_source VARCHAR(50) NOT NULL,
+    price DECIMAL(19,4) NOT NULL,
+    volume BIGINT,
+    timestamp TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (symbol, data_source)
+);
+
+INSERT INTO market_data_latest (symbol, data_source, price, volume, timestamp)
+SELECT DISTINCT ON (symbol, data_source) symbol, data_source, price, volume, timestamp
+FROM market_data
+ORDER BY symbol, data_source, timestamp DESC, id DESC;
@@ -0,0 +1,50 @@
+-- Convert market_data into monthly range partitions on timestamp. Partitions are named
+-- market_data_pYYYYMM; MarketDataPartitionMaintainer creates upcoming months and applies
+-- the retention policy. The default partition only catches ticks outside every range.
+ALTER TABLE market_data RENAME TO market_data_legacy;
+ALTER SEQUENCE market_data_id_seq OWNED BY NONE;
+DROP INDEX IF EXISTS idx_market_data_symbol;
+DROP INDEX IF EXISTS idx_market_data_timestamp;
+
+CREATE TABLE market_data (
+    id BIGINT NOT NULL DEFAULT nextval('market_data_id_seq'),
+    symbol VARCHAR(20) NOT NULL,
+    price DECIMAL(19,4) NOT NULL,
+    volume BIGINT,
+    timestamp TIMESTAMP WITH TIME ZONE NOT NULL,
+    data_source VARCHAR(50) NOT NULL,
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+ALTER SEQUENCE market_data_id_seq OWNED BY market_data.id;
+
+CREATE INDEX idx_market_data_symbol_timestamp ON market_data (symbol, timestamp);
+
+CREATE TABLE market_data_default PARTITION OF market_data DEFAULT;
+
+CREATE SCHEMA IF NOT EXISTS market_archive;
+
+DO $$
+DECLARE
+    first_month DATE;
+    last_month DATE := date_trunc('month', CURRENT_DATE + INTERVAL '3 months');
+    cursor_month DATE;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(timestamp AT TIME ZONE 'UTC')), date_trunc('month', CURRENT_DATE))
+    INTO first_month FROM market_data_legacy;
+
+    cursor_month := first_month;
+    WHILE cursor_month <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF market_data FOR VALUES FROM (%L) TO (%L)',
+            'market_data_p' || to_char(cursor_month, 'YYYYMM'),
+            cursor_month::timestamp AT TIME ZONE 'UTC',
+            (cursor_month + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC');
+        cursor_month := cursor_month + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO market_data (id, symbol, price, volume, timestamp, data_source)
+SELECT id, symbol, price, volume, timestamp, data_source FROM market_data_legacy;
+
+DROP TABLE market_data_legacy;
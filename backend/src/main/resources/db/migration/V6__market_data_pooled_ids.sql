@@ -0,0 +1,5 @@
+-- Ids for market_data are handed out in blocks of 50 (pooled optimizer): each nextval
+-- reserves the block ending at the returned value. Start past every existing id so the
+-- first block cannot overlap rows already written.
+ALTER SEQUENCE market_data_id_seq INCREMENT BY 50;
+SELECT setval('market_data_id_seq', (SELECT COALESCE(MAX(id), 0) FROM market_data) + 50);
@@ -0,0 +1,62 @@
+-- OHLCV rollups at 1 minute, 1 hour and 1 day, kept up to date by MarketDataWriter in the
+-- same transaction as the ticks. open_time/close_time record which tick set open and
+-- close so out-of-order batches merge correctly. Volume is the highest cumulative session
+-- volume seen in the bucket.
+CREATE TABLE market_data_ohlcv_1m (
+    symbol VARCHAR(20) NOT NULL,
+    bucket_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    open DECIMAL(19,4) NOT NULL,
+    high DECIMAL(19,4) NOT NULL,
+    low DECIMAL(19,4) NOT NULL,
+    close DECIMAL(19,4) NOT NULL,
+    volume BIGINT,
+    tick_count INTEGER NOT NULL,
+    open_time TIMESTAMP WITH TIME ZONE NOT NULL,
+    close_time TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (symbol, bucket_start)
+);
+
+CREATE TABLE market_data_ohlcv_1h (LIKE market_data_ohlcv_1m INCLUDING ALL);
+CREATE TABLE market_data_ohlcv_1d (LIKE market_data_ohlcv_1m INCLUDING ALL);
+
+INSERT INTO market_data_ohlcv_1m (symbol, bucket_start, open, high, low, close, volume, tick_count, open_time, close_time)
+SELECT symbol,
+       date_trunc('minute', timestamp AT TIME ZONE 'UTC') AT TIME ZONE 'UTC',
+       (array_agg(price ORDER BY timestamp))[1],
+       MAX(price),
+       MIN(price),
+       (array_agg(price ORDER BY timestamp DESC))[1],
+       MAX(volume),
+       COUNT(*),
+       MIN(timestamp),
+       MAX(timestamp)
+FROM market_data
+GROUP BY symbol, date_trunc('minute', timestamp AT TIME ZONE 'UTC');
+
+INSERT INTO market_data_ohlcv_1h (symbol, bucket_start, open, high, low, close, volume, tick_count, open_time, close_time)
+SELECT symbol,
+       date_trunc('hour', bucket_start AT TIME ZONE 'UTC') AT TIME ZONE 'UTC',
+       (array_agg(open ORDER BY open_time))[1],
+       MAX(high),
+       MIN(low),
+       (array_agg(close ORDER BY close_time DESC))[1],
+       MAX(volume),
+       SUM(tick_count),
+       MIN(open_time),
+       MAX(close_time)
+FROM market_data_ohlcv_1m
+GROUP BY symbol, date_trunc('hour', bucket_start AT TIME ZONE 'UTC');
+
+INSERT INTO market_data_ohlcv_1d (symbol, bucket_start, open, high, low, close, volume, tick_count, open_time, close_time)
+SELECT symbol,
+       date_trunc('day', bucket_start AT TIME ZONE 'UTC') AT TIME ZONE 'UTC',
+       (array_agg(open ORDER BY open_time))[1],
+       MAX(high),
+       MIN(low),
+       (array_agg(close ORDER BY close_time DESC))[1],
+       MAX(volume),
+       SUM(tick_count),
+       MIN(open_time),
+       MAX(close_time)
+FROM market_data_ohlcv_1h
+GROUP BY symbol, date_trunc('day', bucket_start AT TIME ZONE 'UTC');
@@ -0,0 +1,4 @@
+-- Keyset pagination and streaming export walk (symbol, timestamp, id); the wider index
+-- serves both and still covers plain (symbol, timestamp) range scans.
+CREATE INDEX idx_market_data_symbol_timestamp_id ON market_data (symbol, timestamp, id);
+DROP INDEX IF EXISTS idx_market_data_symbol_timestamp;
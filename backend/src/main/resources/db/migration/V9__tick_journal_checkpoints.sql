@@ -0,0 +1,7 @@
+-- Journal sequence up to which ticks are in market_data, one row per local tick journal.
+-- Advanced in the same transaction as each journaled batch, so replay never re-inserts.
+CREATE TABLE tick_journal_checkpoints (
+    journal_id VARCHAR(36) PRIMARY KEY,
+    sequence BIGINT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
@@ -1,7 +1,9 @@
 package com.financialdashboard.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financialdashboard.model.NetWorth;
 import com.financialdashboard.model.User;
+import com.financialdashboard.service.NetWorthService;
 import com.financialdashboard.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,7 +12,9 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
@@ -31,6 +35,9 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private NetWorthService netWorthService;
+
     @Test
     void getAllUsers_Success() throws Exception {
         // Arrange
@@ -112,6 +119,33 @@ class UserControllerTest {
         verify(userService).deleteUser(1L);
     }
 
+    @Test
+    void getNetWorth_ExistingUser_ReturnsAccountsAndTotal() throws Exception {
+        // Arrange
+        NetWorth netWorth = new NetWorth(1L, "USD", new BigDecimal("1500.0000"), List.of(
+            new NetWorth.AccountNetWorth(10L, "USD", new BigDecimal("500.0000"), new BigDecimal("1000.0000"),
+                new BigDecimal("1500.0000"), BigDecimal.ONE, new BigDecimal("1500.0000"))));
+        when(netWorthService.getNetWorth(1L, null)).thenReturn(Optional.of(netWorth));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/1/net-worth"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.baseCurrency", is("USD")))
+            .andExpect(jsonPath("$.total", is(1500.0)))
+            .andExpect(jsonPath("$.accounts", hasSize(1)))
+            .andExpect(jsonPath("$.accounts[0].accountId", is(10)));
+    }
+
+    @Test
+    void getNetWorth_UnknownUser_ReturnsNotFound() throws Exception {
+        // Arrange
+        when(netWorthService.getNetWorth(99L, "EUR")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/99/net-worth").param("currency", "EUR"))
+            .andExpect(status().isNotFound());
+    }
+
     private User createUser(Long id, String email, String name) {
         User user = new User();
         user.setId(id);
@@ -0,0 +1,376 @@
+package com.financialdashboard.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financialdashboard.model.FinancialAccount;
+import com.financialdashboard.model.HoldingPosition;
+import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.PortfolioHolding;
+import com.financialdashboard.model.Transaction;
+import com.financialdashboard.model.User;
+import com.financialdashboard.repository.SqlStatementRecorder.RecordedStatement;
+import com.financialdashboard.service.MarketDataService;
+import com.financialdashboard.service.PortfolioService;
+import com.financialdashboard.service.impl.HoldingRepricer;
+import com.financialdashboard.service.impl.PortfolioServiceImpl;
+import com.financialdashboard.service.impl.PortfolioValuationEngine;
+import com.financialdashboard.service.impl.TrackedSymbolRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+/**
+ * Guards the hot repository queries against plan regressions and the service calls against
+ * N+1 statement growth. Runs against PostgreSQL seeded with production-like volumes, checks
+ * EXPLAIN (ANALYZE, BUFFERS) output for index use, row estimates and buffer counts, and
+ * pins the exact number of statements each service call sends.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({PortfolioServiceImpl.class, PortfolioValuationEngine.class, HoldingRepricer.class,
+    PortfolioHoldingPriceRepository.class, MarketDataLatestRepository.class, QueryPlanRegressionTest.TestBeans.class})
+@Sql(scripts = "/db/query-plan-seed.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS,
+    config = @SqlConfig(transactionMode = SqlConfig.TransactionMode.ISOLATED))
+class QueryPlanRegressionTest {
+
+    // Started up front rather than through @Container so it is running before the Spring
+    // context, which JUnit initializes first, asks for the datasource properties
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    static {
+        POSTGRES.start();
+    }
+
+    // Seeded account with 5 holdings and 20 transactions, and a user with 3 accounts
+    private static final long ACCOUNT_ID = 1000L;
+    private static final long USER_ID = 500L;
+
+    private static final int ESTIMATE_TOLERANCE = 10;
+    private static final long MAX_SHARED_BLOCKS = 1000;
+
+    @TestConfiguration
+    static class TestBeans {
+        @Bean
+        static SqlStatementRecorder sqlStatementRecorder() {
+            return new SqlStatementRecorder();
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl() + "&reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private SqlStatementRecorder recorder;
+
+    @Autowired
+    private MarketDataRepository marketDataRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PortfolioHoldingRepository portfolioHoldingRepository;
+
+    @Autowired
+    private FinancialAccountRepository financialAccountRepository;
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @MockBean
+    private MarketDataService marketDataService;
+
+    @MockBean
+    private TrackedSymbolRegistry trackedSymbolRegistry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void findBySymbolAndTimestampBetween_OneHourWindow_ScansOnePartitionByIndex() throws Exception {
+        // Arrange
+        ZonedDateTime start = monthStart();
+        recorder.reset();
+
+        // Act
+        List<MarketData> ticks = marketDataRepository.findBySymbolAndTimestampBetween("SYM42", start, start.plusHours(1));
+
+        // Assert
+        assertEquals(61, ticks.size());
+        JsonNode plan = explainSingleQuery();
+        assertPlan(plan, "symbol_timestamp_id");
+        assertEquals(1, scannedRelations(plan).size(), () -> "expected partition pruning in\n" + plan.toPrettyString());
+    }
+
+    @Test
+    void findLatestBySymbol_PartitionedTable_UsesIndexForMax() throws Exception {
+        // Arrange
+        recorder.reset();
+
+        // Act
+        Optional<MarketData> latest = marketDataRepository.findLatestBySymbol("SYM42");
+
+        // Assert
+        assertTrue(latest.isPresent());
+        assertEquals(monthStart().plusMinutes(299).toInstant(), latest.get().getTimestamp().toInstant());
+        assertPlan(explainSingleQuery(), "symbol_timestamp_id");
+    }
+
+    @Test
+    void findByAccountAndTransactionDateBetween_RecentQuarter_UsesAccountIndex() throws Exception {
+        // Arrange
+        FinancialAccount account = entityManager.find(FinancialAccount.class, ACCOUNT_ID);
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        recorder.reset();
+
+        // Act
+        List<Transaction> transactions =
+            transactionRepository.findByAccountAndTransactionDateBetween(account, now.minusDays(90), now);
+
+        // Assert
+        assertFalse(transactions.isEmpty());
+        assertPlan(explainSingleQuery(), "idx_transactions_account_id");
+    }
+
+    @Test
+    void findByAccount_FirstPage_SendsPageAndCountQueriesOnAccountIndex() throws Exception {
+        // Arrange
+        FinancialAccount account = entityManager.find(FinancialAccount.class, ACCOUNT_ID);
+        recorder.reset();
+
+        // Act
+        Page<Transaction> page = transactionRepository.findByAccount(account,
+            PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "transactionDate")));
+
+        // Assert
+        assertEquals(20, page.getTotalElements());
+        List<RecordedStatement> queries = recorder.queries();
+        assertEquals(2, queries.size(), recorder::describe);
+        for (RecordedStatement query : queries) {
+            assertPlan(explain(query), "idx_transactions_account_id");
+        }
+    }
+
+    @Test
+    void holdingQueries_ByAccountAndSymbol_UseMatchingIndexes() throws Exception {
+        // Arrange
+        FinancialAccount account = entityManager.find(FinancialAccount.class, ACCOUNT_ID);
+
+        // Act
+        recorder.reset();
+        List<PortfolioHolding> byAccount = portfolioHoldingRepository.findByAccount(account);
+        JsonNode byAccountPlan = explainSingleQuery();
+        recorder.reset();
+        List<PortfolioHolding> bySymbol = portfolioHoldingRepository.findBySymbol("SYM7");
+        JsonNode bySymbolPlan = explainSingleQuery();
+        recorder.reset();
+        Optional<PortfolioHolding> one = portfolioHoldingRepository.findByAccountAndSymbol(account, byAccount.get(0).getSymbol());
+        JsonNode singlePlan = explainSingleQuery();
+
+        // Assert
+        assertEquals(5, byAccount.size());
+        assertEquals(75, bySymbol.size());
+        assertTrue(one.isPresent());
+        assertPlan(byAccountPlan, "idx_portfolio_holdings_account_id");
+        assertPlan(bySymbolPlan, "idx_portfolio_holdings_symbol");
+        assertPlan(singlePlan, "idx_portfolio_holdings_");
+    }
+
+    @Test
+    void summarizePositions_ThreeAccounts_AggregatesOnAccountIndex() throws Exception {
+        // Arrange
+        recorder.reset();
+
+        // Act
+        List<HoldingPosition> positions =
+            portfolioHoldingRepository.summarizePositions(List.of(ACCOUNT_ID, ACCOUNT_ID + 1, ACCOUNT_ID + 2));
+
+        // Assert
+        assertEquals(15, positions.size());
+        assertPlan(explainSingleQuery(), "idx_portfolio_holdings_account_id");
+    }
+
+    @Test
+    void findByUser_ThreeAccounts_UsesUserIndex() throws Exception {
+        // Arrange
+        User user = entityManager.find(User.class, USER_ID);
+        recorder.reset();
+
+        // Act
+        List<FinancialAccount> accounts = financialAccountRepository.findByUser(user);
+
+        // Assert
+        assertEquals(3, accounts.size());
+        assertPlan(explainSingleQuery(), "idx_financial_accounts_user_id");
+    }
+
+    @Test
+    void getPortfolioSummary_FirstRead_SendsOneStatement() {
+        // Arrange
+        FinancialAccount account = entityManager.find(FinancialAccount.class, ACCOUNT_ID);
+        recorder.reset();
+
+        // Act
+        Map<String, BigDecimal> summary = portfolioService.getPortfolioSummary(account);
+        entityManager.flush();
+
+        // Assert
+        assertTrue(summary.get("totalValue").signum() > 0);
+        assertEquals(1, recorder.statements().size(), recorder::describe);
+    }
+
+    @Test
+    void updateCurrentPrices_SeveralHoldings_SendsOneSelectAndOneSetBasedUpdate() throws Exception {
+        // Arrange
+        FinancialAccount account = entityManager.find(FinancialAccount.class, ACCOUNT_ID);
+        when(marketDataService.getBatchPrices(anyList())).thenAnswer(i -> {
+            Map<String, BigDecimal> prices = new HashMap<>();
+            i.<List<String>>getArgument(0).forEach(symbol -> prices.put(symbol, new BigDecimal("123.4500")));
+            return prices;
+        });
+        recorder.reset();
+
+        // Act
+        portfolioService.updateCurrentPrices(account);
+
+        // Assert
+        List<RecordedStatement> statements = recorder.statements();
+        assertEquals(2, statements.size(), recorder::describe);
+        assertTrue(statements.get(0).isQuery());
+        assertTrue(statements.get(1).sql().startsWith("UPDATE portfolio_holdings"), recorder::describe);
+        assertEquals(1, statements.get(1).batchSize(), recorder::describe);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement check = connection.prepareStatement(
+                 "SELECT count(*) FROM portfolio_holdings WHERE account_id = ? AND current_price = 123.45")) {
+            check.setLong(1, ACCOUNT_ID);
+            try (ResultSet rs = check.executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals(5, rs.getInt(1));
+            }
+        }
+    }
+
+    private static ZonedDateTime monthStart() {
+        return ZonedDateTime.now(ZoneOffset.UTC).withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+    }
+
+    private JsonNode explainSingleQuery() throws Exception {
+        List<RecordedStatement> queries = recorder.queries();
+        assertEquals(1, queries.size(), recorder::describe);
+        return explain(queries.get(0));
+    }
+
+    private JsonNode explain(RecordedStatement query) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement(
+                 "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + query.sql())) {
+            query.bind(explain);
+            try (ResultSet rs = explain.executeQuery()) {
+                assertTrue(rs.next());
+                return objectMapper.readTree(rs.getString(1)).get(0).get("Plan");
+            }
+        }
+    }
+
+    /**
+     * The plan must read through the expected index, never read rows with a sequential
+     * scan, keep row estimates within a factor of the actual counts and stay within the
+     * shared buffer budget.
+     */
+    private static void assertPlan(JsonNode plan, String expectedIndex) {
+        String text = plan.toPrettyString();
+        List<JsonNode> nodes = new ArrayList<>();
+        collect(plan, nodes);
+        assertTrue(nodes.stream().anyMatch(node -> node.path("Index Name").asText().contains(expectedIndex)),
+            () -> "expected a scan of " + expectedIndex + " in\n" + text);
+        for (JsonNode node : nodes) {
+            String type = node.path("Node Type").asText();
+            if (type.equals("Seq Scan")) {
+                long read = node.path("Actual Rows").asLong() + node.path("Rows Removed by Filter").asLong();
+                assertEquals(0, read, () -> "sequential scan of " + node.path("Relation Name").asText() + " in\n" + text);
+            }
+            if (type.endsWith("Scan") && node.path("Actual Loops").asLong() > 0) {
+                long estimated = node.path("Plan Rows").asLong();
+                long actual = node.path("Actual Rows").asLong();
+                assertTrue(Math.max(estimated, actual) <= ESTIMATE_TOLERANCE * Math.max(1, Math.min(estimated, actual)),
+                    () -> type + " estimated " + estimated + " rows but returned " + actual + " in\n" + text);
+            }
+        }
+        long blocks = plan.path("Shared Hit Blocks").asLong() + plan.path("Shared Read Blocks").asLong();
+        assertTrue(blocks <= MAX_SHARED_BLOCKS, () -> "touched " + blocks + " shared blocks in\n" + text);
+    }
+
+    private static List<String> scannedRelations(JsonNode plan) {
+        List<JsonNode> nodes = new ArrayList<>();
+        collect(plan, nodes);
+        return nodes.stream()
+            .map(node -> node.path("Relation Name").asText())
+            .filter(name -> !name.isEmpty())
+            .distinct()
+            .toList();
+    }
+
+    private static void collect(JsonNode node, List<JsonNode> nodes) {
+        nodes.add(node);
+        for (JsonNode child : node.path("Plans")) {
+            collect(child, nodes);
+        }
+    }
+}
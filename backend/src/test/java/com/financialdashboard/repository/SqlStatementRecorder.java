@@ -0,0 +1,152 @@
+package com.financialdashboard.repository;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Wraps the application DataSource and records every statement sent to the database with
+ * the parameters bound to it, so tests can count round trips and EXPLAIN exactly what ran.
+ * A JDBC batch counts as one statement.
+ */
+public class SqlStatementRecorder implements BeanPostProcessor {
+
+    public record Binding(Method setter, Object[] args) {
+    }
+
+    public record RecordedStatement(String sql, List<Binding> bindings, int batchSize) {
+        public boolean isQuery() {
+            return sql.stripLeading().regionMatches(true, 0, "select", 0, 6);
+        }
+
+        /**
+         * Replays the recorded parameter setters onto another statement with the same
+         * placeholders.
+         */
+        public void bind(PreparedStatement statement) throws SQLException {
+            for (Binding binding : bindings) {
+                try {
+                    binding.setter().invoke(statement, binding.args());
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause() instanceof SQLException sql ? sql : new IllegalStateException(e.getCause());
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Interceptor {
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+
+    private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource ? wrap(dataSource) : bean;
+    }
+
+    public List<RecordedStatement> statements() {
+        return List.copyOf(statements);
+    }
+
+    public List<RecordedStatement> queries() {
+        return statements.stream().filter(RecordedStatement::isQuery).toList();
+    }
+
+    public void reset() {
+        statements.clear();
+    }
+
+    public String describe() {
+        return statements.stream()
+            .map(statement -> statement.batchSize() > 1
+                ? statement.sql() + " [batch of " + statement.batchSize() + "]"
+                : statement.sql())
+            .collect(Collectors.joining("\n", statements.size() + " statements:\n", ""));
+    }
+
+    private DataSource wrap(DataSource target) {
+        return proxy(DataSource.class, (method, args) -> {
+            Object result = method.invoke(target, args);
+            return result instanceof Connection connection ? wrap(connection) : result;
+        });
+    }
+
+    private Connection wrap(Connection target) {
+        return proxy(Connection.class, (method, args) -> {
+            Object result = method.invoke(target, args);
+            if (method.getName().equals("prepareStatement")) {
+                return wrap((PreparedStatement) result, (String) args[0]);
+            }
+            if (method.getName().equals("createStatement")) {
+                return wrap((Statement) result);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement wrap(PreparedStatement target, String sql) {
+        Map<Integer, Binding> bindings = new TreeMap<>();
+        int[] batched = {0};
+        return proxy(PreparedStatement.class, (method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bindings.put(index, new Binding(method, args.clone()));
+            } else if (name.equals("clearParameters")) {
+                bindings.clear();
+            } else if (name.equals("addBatch") && args == null) {
+                batched[0]++;
+            } else if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                statements.add(new RecordedStatement(sql, List.of(), batched[0]));
+                batched[0] = 0;
+            } else if (name.startsWith("execute")) {
+                statements.add(args == null
+                    ? new RecordedStatement(sql, List.copyOf(bindings.values()), 1)
+                    : new RecordedStatement((String) args[0], List.of(), 1));
+            }
+            return method.invoke(target, args);
+        });
+    }
+
+    private Statement wrap(Statement target) {
+        List<String> batch = new CopyOnWriteArrayList<>();
+        return proxy(Statement.class, (method, args) -> {
+            String name = method.getName();
+            if (name.equals("addBatch")) {
+                batch.add((String) args[0]);
+            } else if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                statements.add(new RecordedStatement(String.join(";\n", batch), List.of(), batch.size()));
+                batch.clear();
+            } else if (name.startsWith("execute")) {
+                statements.add(new RecordedStatement((String) args[0], List.of(), 1));
+            }
+            return method.invoke(target, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Interceptor interceptor) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            try {
+                return interceptor.invoke(method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+}
@@ -0,0 +1,133 @@
+package com.financialdashboard.service;
+
+import com.financialdashboard.service.impl.AdaptiveRefreshPolicy;
+import com.financialdashboard.service.impl.TradingCalendar;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveRefreshPolicyTest {
+
+    // Friday 2024-01-05 10:00 New York time
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-05T15:00:00Z"));
+    private AdaptiveRefreshPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        TradingCalendar calendar = new TradingCalendar("America/New_York", "09:30", "16:00",
+            "MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY", "2024-01-15");
+        policy = new AdaptiveRefreshPolicy(calendar, new SimpleMeterRegistry(), clock,
+            Duration.ofMinutes(1), Duration.ofHours(1), Duration.ofMinutes(10).toMillis(), 1.0, 0.005);
+    }
+
+    @Test
+    void intervalFor_FrequentlyAccessedSymbol_RefreshesFasterThanColdSymbol() {
+        // Arrange
+        for (int i = 0; i < 20; i++) {
+            policy.recordAccess("AAPL");
+        }
+
+        // Act
+        Duration hot = policy.intervalFor("AAPL");
+        Duration cold = policy.intervalFor("IBM");
+
+        // Assert
+        assertEquals(Duration.ofMinutes(1), hot);
+        assertEquals(Duration.ofHours(1), cold);
+    }
+
+    @Test
+    void intervalFor_VolatileSymbol_ShorterThanMaximum() {
+        // Arrange
+        policy.recordPrice("TSLA", new BigDecimal("200.00"));
+        policy.recordPrice("TSLA", new BigDecimal("204.00"));
+
+        // Act
+        Duration interval = policy.intervalFor("TSLA");
+
+        // Assert
+        assertTrue(interval.compareTo(Duration.ofMinutes(5)) < 0);
+    }
+
+    @Test
+    void selectDue_OnlySymbolsWhoseIntervalElapsed() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            policy.recordAccess("AAPL");
+        }
+        policy.selectDue(List.of("AAPL", "IBM"));
+        clock.advance(Duration.ofMinutes(10));
+
+        // Act
+        List<String> due = policy.selectDue(List.of("AAPL", "IBM"));
+
+        // Assert
+        assertEquals(List.of("AAPL"), due);
+    }
+
+    @Test
+    void selectDue_MarketClosed_OneClosingRefreshThenNothing() {
+        // Arrange
+        policy.selectDue(List.of("AAPL"));
+        clock.advance(Duration.ofHours(7)); // 17:00 New York
+
+        // Act
+        List<String> closing = policy.selectDue(List.of("AAPL"));
+        clock.advance(Duration.ofHours(2));
+        List<String> overnight = policy.selectDue(List.of("AAPL"));
+
+        // Assert
+        assertEquals(List.of("AAPL"), closing);
+        assertTrue(overnight.isEmpty());
+    }
+
+    @Test
+    void tradingCalendar_HolidayAndWeekend_Closed() {
+        // Arrange
+        TradingCalendar calendar = new TradingCalendar("America/New_York", "09:30", "16:00",
+            "MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY", "2024-01-15");
+
+        // Act & Assert
+        assertTrue(calendar.isOpen(Instant.parse("2024-01-16T15:00:00Z")));
+        assertFalse(calendar.isOpen(Instant.parse("2024-01-15T15:00:00Z")));
+        assertFalse(calendar.isOpen(Instant.parse("2024-01-06T15:00:00Z")));
+        assertFalse(calendar.isOpen(Instant.parse("2024-01-16T14:00:00Z")));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
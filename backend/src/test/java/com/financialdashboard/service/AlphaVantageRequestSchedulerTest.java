@@ -0,0 +1,142 @@
+package com.financialdashboard.service;
+
+import com.financialdashboard.exception.ProviderThrottledException;
+import com.financialdashboard.model.Priority;
+import com.financialdashboard.service.impl.AlphaVantageRequestScheduler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlphaVantageRequestSchedulerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AlphaVantageRequestScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new AlphaVantageRequestScheduler(meterRegistry, 60000, 1000, 10, 3, "UTC");
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test
+    void submit_InteractiveRequestsOvertakeQueuedBackgroundRequests() throws Exception {
+        // Arrange
+        List<String> callOrder = new CopyOnWriteArrayList<>();
+        CompletableFuture<String> first = scheduler.submit("MSFT", Priority.BACKGROUND, () -> call(callOrder, "MSFT"));
+        CompletableFuture<String> second = scheduler.submit("GOOGL", Priority.BACKGROUND, () -> call(callOrder, "GOOGL"));
+        CompletableFuture<String> interactive = scheduler.submit("AAPL", Priority.INTERACTIVE, () -> call(callOrder, "AAPL"));
+
+        // Act
+        scheduler.start();
+        CompletableFuture.allOf(first, second, interactive).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(List.of("AAPL", "MSFT", "GOOGL"), callOrder);
+    }
+
+    @Test
+    void submit_DuplicateKeyInQueue_IsMergedAndUpgraded() throws Exception {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        List<String> callOrder = new CopyOnWriteArrayList<>();
+        scheduler.submit("MSFT", Priority.BACKGROUND, () -> call(callOrder, "MSFT"));
+        CompletableFuture<String> background = scheduler.submit("AAPL", Priority.BACKGROUND, () -> {
+            calls.incrementAndGet();
+            return call(callOrder, "AAPL");
+        });
+        CompletableFuture<String> interactive = scheduler.submit("AAPL", Priority.INTERACTIVE, () -> {
+            calls.incrementAndGet();
+            return call(callOrder, "AAPL");
+        });
+
+        // Act
+        assertEquals(2, scheduler.queueDepth());
+        scheduler.start();
+
+        // Assert
+        assertEquals("AAPL", background.get(5, TimeUnit.SECONDS));
+        assertEquals("AAPL", interactive.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals("AAPL", callOrder.get(0));
+        assertEquals(1.0, meterRegistry.get("market.alphavantage.requests.merged").counter().count());
+    }
+
+    @Test
+    void submit_DailyBudgetReservedForInteractive_RejectsBackground() throws Exception {
+        // Arrange
+        scheduler = new AlphaVantageRequestScheduler(meterRegistry, 60000, 1, 1, 3, "UTC");
+        CompletableFuture<String> background = scheduler.submit("MSFT", Priority.BACKGROUND,
+            () -> CompletableFuture.completedFuture("MSFT"));
+
+        // Act
+        scheduler.start();
+
+        // Assert
+        CompletableFuture<String> handled = background.handle((value, error) -> error == null ? value : error.getClass().getName());
+        assertEquals(ProviderThrottledException.class.getName(), handled.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_AllCallersCancelQueuedRequest_RemovedWithoutCalling() throws Exception {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> first = scheduler.submit("AAPL", Priority.BACKGROUND, () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("AAPL");
+        });
+        CompletableFuture<String> merged = scheduler.submit("AAPL", Priority.BACKGROUND, () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("AAPL");
+        });
+
+        // Act
+        first.cancel(false);
+        int depthWithOneCaller = scheduler.queueDepth();
+        merged.cancel(false);
+        scheduler.start();
+        String next = scheduler.submit("MSFT", Priority.BACKGROUND, () -> CompletableFuture.completedFuture("MSFT"))
+            .get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(1, depthWithOneCaller);
+        assertEquals("MSFT", next);
+        assertEquals(0, calls.get());
+        assertEquals(1.0, meterRegistry.get("market.alphavantage.requests.cancelled").counter().count());
+    }
+
+    @Test
+    void submit_RequestDispatched_RunsDispatchListenerOfEveryCaller() throws Exception {
+        // Arrange
+        AtomicInteger dispatched = new AtomicInteger();
+        CompletableFuture<String> first = scheduler.submit("AAPL", Priority.BACKGROUND,
+            () -> CompletableFuture.completedFuture("AAPL"), dispatched::incrementAndGet);
+        CompletableFuture<String> merged = scheduler.submit("AAPL", Priority.INTERACTIVE,
+            () -> CompletableFuture.completedFuture("AAPL"), dispatched::incrementAndGet);
+
+        // Act
+        scheduler.start();
+        CompletableFuture.allOf(first, merged).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(2, dispatched.get());
+    }
+
+    private static CompletableFuture<String> call(List<String> callOrder, String symbol) {
+        callOrder.add(symbol);
+        return CompletableFuture.completedFuture(symbol);
+    }
+}
@@ -0,0 +1,99 @@
+package com.financialdashboard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financialdashboard.exception.ProviderThrottledException;
+import com.financialdashboard.model.ExchangeRate;
+import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.PriceSeries;
+import com.financialdashboard.model.Quote;
+import com.financialdashboard.service.impl.AlphaVantageResponseParser;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlphaVantageResponseParserTest {
+
+    private final AlphaVantageResponseParser parser = new AlphaVantageResponseParser(new ObjectMapper());
+
+    @Test
+    void parseGlobalQuote_Success() {
+        // Arrange
+        String body = "{\"Global Quote\":{\"01. symbol\":\"IBM\",\"05. price\":\"187.4200\","
+            + "\"06. volume\":\"3521234\",\"07. latest trading day\":\"2024-01-05\","
+            + "\"09. change\":\"-1.2300\",\"10. change percent\":\"-0.6520%\"}}";
+
+        // Act
+        Quote quote = parser.parseGlobalQuote(bytes(body), "IBM");
+
+        // Assert
+        assertEquals(new BigDecimal("187.4200"), quote.price());
+        assertEquals(new BigDecimal("-1.2300"), quote.change());
+        assertEquals(new BigDecimal("-0.6520"), quote.changePercent());
+        assertEquals(3521234L, quote.volume());
+        assertEquals(MarketData.DataSource.ALPHA_VANTAGE, quote.source());
+        assertEquals(ZonedDateTime.of(2024, 1, 5, 16, 0, 0, 0, ZoneId.of("US/Eastern")), quote.timestamp());
+        assertEquals("-0.6520", quote.toMap().get("changePercent"));
+        assertEquals("2024-01-05", quote.toMap().get("latestTradingDay"));
+    }
+
+    @Test
+    void parseGlobalQuote_UnknownSymbol_ReturnsNull() {
+        assertNull(parser.parseGlobalQuote(bytes("{\"Global Quote\":{}}"), "INVALID"));
+    }
+
+    @Test
+    void parseGlobalQuote_ThrottleNote_ThrowsThrottled() {
+        assertThrows(ProviderThrottledException.class,
+            () -> parser.parseGlobalQuote(bytes("{\"Note\":\"Thank you for using Alpha Vantage!\"}"), "IBM"));
+    }
+
+    @Test
+    void parseExchangeRate_Success() {
+        // Arrange
+        String body = "{\"Realtime Currency Exchange Rate\":{\"1. From_Currency Code\":\"BTC\","
+            + "\"3. To_Currency Code\":\"USD\",\"5. Exchange Rate\":\"60123.12345678\","
+            + "\"6. Last Refreshed\":\"2024-01-01 00:00:01\",\"7. Time Zone\":\"UTC\"}}";
+
+        // Act
+        ExchangeRate rate = parser.parseExchangeRate(bytes(body));
+
+        // Assert
+        assertEquals("BTC", rate.fromCurrency());
+        assertEquals(new BigDecimal("60123.12345678"), rate.rate());
+        assertEquals("UTC", rate.timeZone());
+    }
+
+    @Test
+    void parseTimeSeries_ReturnsAscendingScaledColumns() {
+        // Arrange
+        String body = "{\"Meta Data\":{\"2. Symbol\":\"IBM\",\"5. Time Zone\":\"US/Eastern\"},"
+            + "\"Time Series (Daily)\":{"
+            + "\"2024-01-05\":{\"1. open\":\"10.5\",\"2. high\":\"11.00005\",\"3. low\":\"9.99999\","
+            + "\"4. close\":\"10.75\",\"5. volume\":\"100\"},"
+            + "\"2024-01-04\":{\"1. open\":\"1\",\"2. high\":\"2\",\"3. low\":\"0.5\","
+            + "\"4. close\":\"1.5\",\"5. volume\":\"7\"}}}";
+
+        // Act
+        PriceSeries series = parser.parseTimeSeries(bytes(body), "IBM");
+
+        // Assert
+        assertEquals(2, series.size());
+        assertEquals(Instant.parse("2024-01-04T05:00:00Z").toEpochMilli(), series.timestampAt(0));
+        assertEquals(15000L, series.closeAt(0));
+        assertEquals(7L, series.volumeAt(0));
+        assertEquals(105000L, series.openAt(1));
+        assertEquals(110001L, series.highAt(1));
+        assertEquals(100000L, series.lowAt(1));
+        assertEquals(new BigDecimal("10.7500"), series.closePrice(1));
+    }
+
+    private static byte[] bytes(String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,72 @@
+package com.financialdashboard.service;
+
+import com.financialdashboard.model.FixedPoint;
+import com.financialdashboard.model.PortfolioValuation;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedPointTest {
+
+    @Test
+    void multiply_RandomOperands_MatchesBigDecimalRoundedToScaleFour() {
+        // Arrange
+        Random random = new Random(11);
+
+        for (int i = 0; i < 100_000; i++) {
+            long a = random.nextLong() % 100_000_000_000L;
+            long b = random.nextLong() % 100_000_000L;
+
+            // Act
+            long product = FixedPoint.multiply(a, b);
+
+            // Assert
+            BigDecimal expected = FixedPoint.toBigDecimal(a).multiply(FixedPoint.toBigDecimal(b))
+                .setScale(FixedPoint.SCALE, RoundingMode.HALF_UP);
+            assertEquals(expected, FixedPoint.toBigDecimal(product), () -> a + " * " + b);
+        }
+    }
+
+    @Test
+    void multiply_HalfwayProducts_RoundAwayFromZero() {
+        // Act & Assert
+        assertEquals(1, FixedPoint.multiply(50, 100));    // 0.0050 * 0.0100 = 0.00005
+        assertEquals(-1, FixedPoint.multiply(-50, 100));
+        assertEquals(0, FixedPoint.multiply(49, 100));
+    }
+
+    @Test
+    void multiply_WideIntermediateProduct_FallsBackWithoutLosingPrecision() {
+        // Arrange
+        long quantity = FixedPoint.of(new BigDecimal("2500000.1234"));
+        long price = FixedPoint.of(new BigDecimal("31415.9265"));
+
+        // Act
+        long value = FixedPoint.multiply(quantity, price);
+
+        // Assert
+        assertEquals(new BigDecimal("2500000.1234").multiply(new BigDecimal("31415.9265"))
+            .setScale(4, RoundingMode.HALF_UP), FixedPoint.toBigDecimal(value));
+        assertThrows(ArithmeticException.class, () -> FixedPoint.multiply(Long.MAX_VALUE, 2 * FixedPoint.ONE));
+    }
+
+    @Test
+    void returnPercentage_GainOverCost_MatchesBigDecimalSummary() {
+        // Arrange
+        BigDecimal marketValue = new BigDecimal("2950.0000");
+        BigDecimal costBasis = new BigDecimal("2750.0000");
+        PortfolioValuation valuation = new PortfolioValuation(FixedPoint.of(marketValue), FixedPoint.of(costBasis));
+
+        // Act
+        BigDecimal percentage = valuation.returnPercentage();
+
+        // Assert
+        assertEquals(marketValue.subtract(costBasis).divide(costBasis, 4, RoundingMode.HALF_UP)
+            .multiply(new BigDecimal("100")), percentage);
+        assertEquals(BigDecimal.ZERO, new PortfolioValuation(0, 0).returnPercentage());
+    }
+}
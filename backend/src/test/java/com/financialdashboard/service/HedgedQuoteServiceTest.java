@@ -0,0 +1,211 @@
+package com.financialdashboard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financialdashboard.exception.MarketDataProviderException;
+import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.Priority;
+import com.financialdashboard.model.Quote;
+import com.financialdashboard.service.impl.FinnhubQuoteProvider;
+import com.financialdashboard.service.impl.HedgedQuoteService;
+import com.financialdashboard.service.impl.ProviderHttpTransport;
+import com.financialdashboard.service.impl.YahooFinanceQuoteProvider;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class HedgedQuoteServiceTest {
+
+    private static final String FINNHUB_QUOTE = "{\"c\":150.5,\"d\":1.5,\"dp\":1.01,\"t\":1700000000}";
+    private static final String YAHOO_QUOTE = "{\"quoteResponse\":{\"result\":[{\"symbol\":\"AAPL\","
+        + "\"regularMarketPrice\":150.75,\"regularMarketChange\":1.75,\"regularMarketChangePercent\":1.17,"
+        + "\"regularMarketVolume\":1000,\"regularMarketTime\":1700000000}]}}";
+
+    private HttpServer finnhubStub;
+    private HttpServer yahooStub;
+    private final AtomicInteger finnhubCalls = new AtomicInteger();
+    private volatile int finnhubStatus = 200;
+    private volatile long finnhubDelayMs;
+    private volatile int yahooStatus = 200;
+
+    private SimpleMeterRegistry meterRegistry;
+    private HedgedQuoteService hedgedQuoteService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        finnhubStub = stub(() -> {
+            finnhubCalls.incrementAndGet();
+            sleep(finnhubDelayMs);
+            return finnhubStatus;
+        }, FINNHUB_QUOTE);
+        yahooStub = stub(() -> yahooStatus, YAHOO_QUOTE);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        ProviderHttpTransport transport = new ProviderHttpTransport(HttpClient.newHttpClient(), 2000, 8);
+        FinnhubQuoteProvider finnhub = new FinnhubQuoteProvider(transport, objectMapper,
+            "http://localhost:" + finnhubStub.getAddress().getPort(), "test-key");
+        yahoo = new YahooFinanceQuoteProvider(transport, objectMapper,
+            "http://localhost:" + yahooStub.getAddress().getPort(), "test-key", 10);
+
+        meterRegistry = new SimpleMeterRegistry();
+        hedgedQuoteService = new HedgedQuoteService(List.of(yahoo, finnhub), meterRegistry,
+            "FINNHUB,YAHOO_FINANCE", 100, 10, 20, 60000);
+    }
+
+    private YahooFinanceQuoteProvider yahoo;
+
+    @AfterEach
+    void tearDown() {
+        hedgedQuoteService.shutdown();
+        finnhubStub.stop(0);
+        yahooStub.stop(0);
+    }
+
+    @Test
+    void getQuote_PrimaryHealthy_ServedByPrimary() throws Exception {
+        // Act
+        Quote quote = hedgedQuoteService.getQuote("AAPL", Priority.INTERACTIVE).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(MarketData.DataSource.FINNHUB, quote.source());
+        assertEquals(0, new BigDecimal("150.5").compareTo(quote.price()));
+        assertEquals(MarketData.DataSource.FINNHUB, quote.toMarketData().getDataSource());
+    }
+
+    @Test
+    void getQuote_PrimaryExceedsLatencyBudget_HedgedRequestWins() throws Exception {
+        // Arrange
+        finnhubDelayMs = 1500;
+
+        // Act
+        Quote quote = hedgedQuoteService.getQuote("AAPL", Priority.INTERACTIVE).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(MarketData.DataSource.YAHOO_FINANCE, quote.source());
+        assertEquals(1000L, quote.volume());
+        assertEquals(1.0, meterRegistry.get("market.quotes.hedged").counter().count());
+    }
+
+    @Test
+    void getQuote_PrimaryErrors_FailsOverImmediately() throws Exception {
+        // Arrange
+        finnhubStatus = 500;
+
+        // Act
+        Quote quote = hedgedQuoteService.getQuote("AAPL", Priority.INTERACTIVE).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(MarketData.DataSource.YAHOO_FINANCE, quote.source());
+        assertEquals(1.0, meterRegistry.get("market.quotes.failover").counter().count());
+        assertEquals(0.0, meterRegistry.get("market.quotes.hedged").counter().count());
+    }
+
+    @Test
+    void getQuote_PrimaryThrottled_SkippedDuringCooldown() throws Exception {
+        // Arrange
+        finnhubStatus = 429;
+
+        // Act
+        hedgedQuoteService.getQuote("AAPL", Priority.INTERACTIVE).get(5, TimeUnit.SECONDS);
+        Quote second = hedgedQuoteService.getQuote("AAPL", Priority.INTERACTIVE).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(MarketData.DataSource.YAHOO_FINANCE, second.source());
+        assertEquals(1, finnhubCalls.get());
+    }
+
+    @Test
+    void getQuote_AllProvidersFail_CompletesExceptionally() {
+        // Arrange
+        finnhubStatus = 500;
+        yahooStatus = 503;
+
+        // Act & Assert
+        ExecutionException e = assertThrows(ExecutionException.class,
+            () -> hedgedQuoteService.getQuote("AAPL", Priority.INTERACTIVE).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(MarketDataProviderException.class, e.getCause());
+    }
+
+    @Test
+    void getQuote_HedgedRequestWins_CancelsOutstandingPrimary() throws Exception {
+        // Arrange
+        CompletableFuture<Quote> primaryAttempt = new CompletableFuture<>();
+        MarketDataProvider slowPrimary = mock(MarketDataProvider.class);
+        when(slowPrimary.getSource()).thenReturn(MarketData.DataSource.FINNHUB);
+        when(slowPrimary.isEnabled()).thenReturn(true);
+        when(slowPrimary.getQuote(eq("AAPL"), eq(Priority.INTERACTIVE), any())).thenReturn(primaryAttempt);
+        HedgedQuoteService service = new HedgedQuoteService(List.of(slowPrimary, yahoo), meterRegistry,
+            "FINNHUB,YAHOO_FINANCE", 100, 10, 20, 60000);
+
+        // Act
+        Quote quote = service.getQuote("AAPL", Priority.INTERACTIVE).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(MarketData.DataSource.YAHOO_FINANCE, quote.source());
+        assertTrue(primaryAttempt.isCancelled());
+        service.shutdown();
+    }
+
+    @Test
+    void getQuote_NoProvidersConfigured_FailsWithoutReportingThrottle() {
+        // Arrange
+        HedgedQuoteService service = new HedgedQuoteService(List.of(), meterRegistry,
+            "FINNHUB,YAHOO_FINANCE", 100, 10, 20, 60000);
+
+        // Act & Assert
+        ExecutionException e = assertThrows(ExecutionException.class,
+            () -> service.getQuote("AAPL", Priority.INTERACTIVE).get(5, TimeUnit.SECONDS));
+        assertEquals(MarketDataProviderException.class, e.getCause().getClass());
+        service.shutdown();
+    }
+
+    private static HttpServer stub(StatusSupplier status, String body) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(java.util.concurrent.Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            int code = status.get();
+            byte[] bytes = (code == 200 ? body : "{}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(code, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface StatusSupplier {
+        int get();
+    }
+}
@@ -0,0 +1,161 @@
+package com.financialdashboard.service;
+
+import com.financialdashboard.model.ExportFormat;
+import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.TickCursor;
+import com.financialdashboard.model.TickPage;
+import com.financialdashboard.repository.MarketDataTickRepository;
+import com.financialdashboard.service.impl.HistoricalTickReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HistoricalTickReaderTest {
+
+    private static final Instant FROM = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant TO = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Mock
+    private MarketDataTickRepository marketDataTickRepository;
+
+    private HistoricalTickReader reader;
+
+    @BeforeEach
+    void setUp() {
+        reader = new HistoricalTickReader(marketDataTickRepository, 1000, 100);
+    }
+
+    @Test
+    void export_AnyRangeSize_OutputBufferedOnlyUpToAFixedBound() throws Exception {
+        // Arrange
+        CountingOutputStream small = new CountingOutputStream();
+        CountingOutputStream large = new CountingOutputStream();
+
+        // Act
+        long smallRows = exportRows(10_000, small);
+        long largeRows = exportRows(500_000, large);
+
+        // Assert
+        assertEquals(10_000, smallRows);
+        assertEquals(500_000, largeRows);
+        // Whatever the range, only the writer's fixed buffer is pending when the cursor ends
+        assertTrue(small.total - small.receivedWhenCursorEnded <= 16 * 1024);
+        assertTrue(large.total - large.receivedWhenCursorEnded <= 16 * 1024);
+        assertEquals(50 * small.total, large.total);
+        verify(marketDataTickRepository, times(2)).streamRange(eq("AAPL"), eq(FROM), eq(TO), eq(1000), any());
+    }
+
+    @Test
+    void export_Csv_WritesHeaderAndRows() throws Exception {
+        // Arrange
+        ResultSet rs = row();
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(4);
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).when(marketDataTickRepository).streamRange(any(), any(), any(), anyInt(), any());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        reader.export("AAPL", FROM, TO, ExportFormat.CSV, out);
+
+        // Assert
+        String[] lines = out.toString().split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,symbol,price,volume,timestamp,data_source", lines[0]);
+        assertEquals("7,AAPL,150.2500,1200,2024-03-01T14:30:00Z,YAHOO_FINANCE", lines[1]);
+    }
+
+    @Test
+    void page_MoreRowsThanLimit_ReturnsCursorAfterLastItem() {
+        // Arrange
+        List<MarketData> rows = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            rows.add(new MarketData(id, "AAPL", new BigDecimal("150.00"), 100L,
+                FROM.plusSeconds(id).atZone(ZoneOffset.UTC), MarketData.DataSource.YAHOO_FINANCE));
+        }
+        TickCursor after = new TickCursor(FROM, 0);
+        when(marketDataTickRepository.findPage("AAPL", FROM, TO, after, 4)).thenReturn(rows);
+
+        // Act
+        TickPage page = reader.page("AAPL", FROM, TO, after, 3);
+
+        // Assert
+        assertEquals(3, page.items().size());
+        assertEquals(new TickCursor(FROM.plusSeconds(3), 3), TickCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void page_LastPage_HasNoCursor() {
+        // Arrange
+        when(marketDataTickRepository.findPage("AAPL", FROM, TO, null, 101)).thenReturn(List.of());
+
+        // Act
+        TickPage page = reader.page("AAPL", FROM, TO, null, 1_000_000);
+
+        // Assert
+        assertTrue(page.items().isEmpty());
+        assertNull(page.nextCursor());
+    }
+
+    private long exportRows(int count, CountingOutputStream out) throws Exception {
+        ResultSet rs = row();
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(4);
+            for (int i = 0; i < count; i++) {
+                handler.processRow(rs);
+            }
+            out.receivedWhenCursorEnded = out.total;
+            return null;
+        }).when(marketDataTickRepository).streamRange(any(), any(), any(), anyInt(), any());
+        return reader.export("AAPL", FROM, TO, ExportFormat.NDJSON, out);
+    }
+
+    private static ResultSet row() throws SQLException {
+        // Stub-only: the mock must not record the millions of calls it receives
+        ResultSet rs = mock(ResultSet.class, withSettings().stubOnly());
+        when(rs.getLong("id")).thenReturn(7L);
+        when(rs.getString("symbol")).thenReturn("AAPL");
+        when(rs.getBigDecimal("price")).thenReturn(new BigDecimal("150.2500"));
+        when(rs.getLong("volume")).thenReturn(1200L);
+        when(rs.wasNull()).thenReturn(false);
+        when(rs.getTimestamp("timestamp")).thenReturn(Timestamp.from(Instant.parse("2024-03-01T14:30:00Z")));
+        when(rs.getString("data_source")).thenReturn("YAHOO_FINANCE");
+        return rs;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long total;
+        private long receivedWhenCursorEnded;
+
+        @Override
+        public void write(int b) {
+            total++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            total += len;
+        }
+    }
+}
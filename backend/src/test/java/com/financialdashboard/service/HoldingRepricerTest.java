@@ -0,0 +1,114 @@
+package com.financialdashboard.service;
+
+import com.financialdashboard.model.MarketData;
+import com.financialdashboard.repository.MarketDataLatestRepository;
+import com.financialdashboard.repository.PortfolioHoldingPriceRepository;
+import com.financialdashboard.service.impl.HoldingRepricer;
+import com.financialdashboard.service.impl.PortfolioValuationEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HoldingRepricerTest {
+
+    @Mock
+    private PortfolioHoldingPriceRepository portfolioHoldingPriceRepository;
+
+    @Mock
+    private MarketDataLatestRepository marketDataLatestRepository;
+
+    @Mock
+    private MarketDataService marketDataService;
+
+    @Mock
+    private PortfolioValuationEngine portfolioValuationEngine;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrentMapCacheManager cacheManager;
+    private HoldingRepricer repricer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheManager = new ConcurrentMapCacheManager();
+        repricer = new HoldingRepricer(portfolioHoldingPriceRepository, marketDataLatestRepository, marketDataService,
+            portfolioValuationEngine, cacheManager, transactionManager, meterRegistry, 500);
+    }
+
+    @Test
+    void repriceAll_StoredLatestPrices_UpdatesInOneCallAndEvictsOnlyChangedAccounts() {
+        // Arrange
+        ZonedDateTime aaplAt = ZonedDateTime.of(2024, 3, 1, 15, 30, 0, 0, ZoneOffset.UTC);
+        ZonedDateTime msftAt = ZonedDateTime.of(2024, 3, 1, 15, 29, 0, 0, ZoneOffset.UTC);
+        when(portfolioHoldingPriceRepository.findDistinctSymbols()).thenReturn(List.of("AAPL", "MSFT", "GONE"));
+        when(marketDataLatestRepository.findBySymbols(List.of("AAPL", "MSFT", "GONE"))).thenReturn(List.of(
+            new MarketData(null, "AAPL", new BigDecimal("170.25"), 100L, aaplAt, MarketData.DataSource.FINNHUB),
+            new MarketData(null, "MSFT", new BigDecimal("410.10"), 200L, msftAt, MarketData.DataSource.ALPHA_VANTAGE)));
+        Map<Long, List<String>> changed = new HashMap<>();
+        changed.put(1L, List.of("AAPL", "MSFT"));
+        changed.put(2L, List.of("AAPL"));
+        when(portfolioHoldingPriceRepository.reprice(any(), isNull(), eq(500))).thenReturn(changed);
+        Cache holdings = cacheManager.getCache("portfolioHoldings");
+        Cache holding = cacheManager.getCache("portfolioHolding");
+        holdings.put(1L, List.of());
+        holdings.put(3L, List.of());
+        holding.put("1-AAPL", "cached");
+        holding.put("3-AAPL", "cached");
+
+        // Act
+        int priced = repricer.repriceAll();
+
+        // Assert
+        ArgumentCaptor<Map<String, BigDecimal>> applied = ArgumentCaptor.forClass(Map.class);
+        verify(portfolioHoldingPriceRepository).reprice(applied.capture(), isNull(), eq(500));
+        assertEquals(Map.of("AAPL", new BigDecimal("170.25"), "MSFT", new BigDecimal("410.10")), applied.getValue());
+        assertEquals(2, priced);
+        verifyNoInteractions(marketDataService);
+        verify(portfolioValuationEngine).onPrice("AAPL", new BigDecimal("170.25"), aaplAt.toInstant());
+        verify(portfolioValuationEngine).onPrice("MSFT", new BigDecimal("410.10"), msftAt.toInstant());
+        assertNull(holdings.get(1L));
+        assertNotNull(holdings.get(3L));
+        assertNull(holding.get("1-AAPL"));
+        assertNotNull(holding.get("3-AAPL"));
+        assertEquals(3.0, meterRegistry.get("portfolio.reprice.rows").counter().count());
+    }
+
+    @Test
+    void repriceAccount_NoHoldings_SkipsPricingAndUpdate() {
+        // Arrange
+        when(portfolioHoldingPriceRepository.findDistinctSymbols(7L)).thenReturn(List.of());
+
+        // Act
+        Map<String, BigDecimal> prices = repricer.repriceAccount(7L);
+
+        // Assert
+        assertTrue(prices.isEmpty());
+        verifyNoInteractions(marketDataService, portfolioValuationEngine);
+        verify(portfolioHoldingPriceRepository, never()).reprice(any(), any(), anyInt());
+    }
+}
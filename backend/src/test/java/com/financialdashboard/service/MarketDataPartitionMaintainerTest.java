@@ -0,0 +1,122 @@
+package com.financialdashboard.service;
+
+import com.financialdashboard.service.impl.MarketDataPartitionMaintainer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MarketDataPartitionMaintainerTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-03-10T00:15:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void maintain_CreatesMissingUpcomingPartitions() {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+            .thenReturn(List.of("market_data_default", "market_data_p202403", "market_data_p202404"));
+        MarketDataPartitionMaintainer maintainer = new MarketDataPartitionMaintainer(jdbcTemplate, transactionManager, CLOCK, 3, 24, "drop");
+
+        // Act
+        maintainer.maintain();
+
+        // Assert
+        verify(jdbcTemplate).execute("ALTER TABLE market_data ATTACH PARTITION market_data_p202405"
+            + " FOR VALUES FROM ('2024-05-01T00:00Z') TO ('2024-06-01T00:00Z')");
+        verify(jdbcTemplate).execute(contains("ATTACH PARTITION market_data_p202406"));
+        verify(jdbcTemplate, never()).execute(contains("ATTACH PARTITION market_data_p202403"));
+        verify(jdbcTemplate, never()).execute(contains("DROP TABLE"));
+    }
+
+    @Test
+    void maintain_NewPartition_MovesRowsOutOfDefaultBeforeAttaching() {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+            .thenReturn(List.of("market_data_default"));
+        MarketDataPartitionMaintainer maintainer = new MarketDataPartitionMaintainer(jdbcTemplate, transactionManager, CLOCK, 0, 24, "drop");
+
+        // Act
+        maintainer.maintain();
+
+        // Assert
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute(contains("CREATE TABLE IF NOT EXISTS market_data_p202403 (LIKE market_data"));
+        inOrder.verify(jdbcTemplate).update(startsWith("INSERT INTO market_data_p202403 SELECT * FROM market_data_default"), any(), any());
+        inOrder.verify(jdbcTemplate).update(startsWith("DELETE FROM market_data_default"), any(), any());
+        inOrder.verify(jdbcTemplate).execute(contains("ATTACH PARTITION market_data_p202403"));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void maintain_OnePartitionFails_OthersStillMaintained() {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+            .thenReturn(List.of("market_data_p202203", "market_data_default"));
+        doThrow(new DataIntegrityViolationException("partition constraint violated"))
+            .when(jdbcTemplate).execute(contains("ATTACH PARTITION market_data_p202403"));
+        MarketDataPartitionMaintainer maintainer = new MarketDataPartitionMaintainer(jdbcTemplate, transactionManager, CLOCK, 1, 24, "drop");
+
+        // Act
+        maintainer.maintain();
+
+        // Assert
+        verify(transactionManager).rollback(any());
+        verify(jdbcTemplate).execute(contains("ATTACH PARTITION market_data_p202404"));
+        verify(jdbcTemplate).execute("DROP TABLE market_data_p202203");
+    }
+
+    @Test
+    void maintain_DropModeDropsPartitionsPastRetention() {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+            .thenReturn(List.of("market_data_p202203", "market_data_p202204", "market_data_default"));
+        MarketDataPartitionMaintainer maintainer = new MarketDataPartitionMaintainer(jdbcTemplate, transactionManager, CLOCK, 0, 24, "drop");
+
+        // Act
+        maintainer.maintain();
+
+        // Assert
+        verify(jdbcTemplate).execute("DROP TABLE market_data_p202203");
+        verify(jdbcTemplate, never()).execute("DROP TABLE market_data_p202204");
+        verify(jdbcTemplate, never()).execute("DROP TABLE market_data_default");
+    }
+
+    @Test
+    void maintain_ArchiveModeDetachesAndMovesPartition() {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+            .thenReturn(List.of("market_data_p202112", "market_data_p202403"));
+        MarketDataPartitionMaintainer maintainer = new MarketDataPartitionMaintainer(jdbcTemplate, transactionManager, CLOCK, 0, 24, "archive");
+
+        // Act
+        maintainer.maintain();
+
+        // Assert
+        verify(jdbcTemplate).execute("ALTER TABLE market_data DETACH PARTITION market_data_p202112");
+        verify(jdbcTemplate).execute("ALTER TABLE market_data_p202112 SET SCHEMA market_archive");
+        verify(jdbcTemplate, never()).execute(contains("DROP TABLE"));
+    }
+}
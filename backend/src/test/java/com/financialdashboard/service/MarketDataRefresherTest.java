@@ -0,0 +1,134 @@
+package com.financialdashboard.service;
+
+import com.financialdashboard.exception.MarketDataProviderException;
+import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.Priority;
+import com.financialdashboard.model.Quote;
+import com.financialdashboard.service.impl.HedgedQuoteService;
+import com.financialdashboard.service.impl.MarketDataRefresher;
+import com.financialdashboard.service.impl.MarketDataRefresher.RefreshResult;
+import com.financialdashboard.service.impl.MarketDataWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MarketDataRefresherTest {
+
+    @Mock
+    private MarketDataWriter marketDataWriter;
+
+    @Mock
+    private HedgedQuoteService hedgedQuoteService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MarketDataRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        refresher = new MarketDataRefresher(marketDataWriter, hedgedQuoteService, meterRegistry, 4, 2, 5000);
+    }
+
+    @Test
+    void refresh_PersistsTicksInBatchesAndCountsOutcomes() {
+        // Arrange
+        when(hedgedQuoteService.getQuote(anyString(), eq(Priority.BACKGROUND)))
+            .thenAnswer(i -> CompletableFuture.completedFuture(quote(i.getArgument(0), "100.00")));
+        when(hedgedQuoteService.getQuote(eq("BAD"), eq(Priority.BACKGROUND)))
+            .thenReturn(CompletableFuture.failedFuture(new MarketDataProviderException("boom")));
+
+        // Act
+        RefreshResult result = refresher.refresh(List.of("AAPL", "MSFT", "GOOGL", "BAD", "AMZN"));
+
+        // Assert
+        assertFalse(result.skipped());
+        assertEquals(5, result.symbols());
+        assertEquals(4, result.succeeded());
+        assertEquals(1, result.failed());
+        assertEquals(4, result.persisted());
+        verify(marketDataWriter, times(2)).saveAll(anyList());
+        assertEquals(4.0, meterRegistry.get("market.refresh.symbols").tag("outcome", "success").counter().count());
+        assertEquals(1.0, meterRegistry.get("market.refresh.symbols").tag("outcome", "failure").counter().count());
+    }
+
+    @Test
+    void refresh_WhileCycleRunning_IsSkipped() throws Exception {
+        // Arrange
+        CompletableFuture<Quote> slowQuote = new CompletableFuture<>();
+        when(hedgedQuoteService.getQuote(eq("AAPL"), eq(Priority.BACKGROUND))).thenReturn(slowQuote);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<RefreshResult> firstCycle = executor.submit(() -> refresher.refresh(List.of("AAPL")));
+        while (!refresher.isRunning()) {
+            Thread.onSpinWait();
+        }
+
+        // Act
+        RefreshResult overlapping = refresher.refresh(List.of("AAPL"));
+        slowQuote.complete(quote("AAPL", "101.00"));
+
+        // Assert
+        assertTrue(overlapping.skipped());
+        assertEquals(1, firstCycle.get(5, TimeUnit.SECONDS).succeeded());
+        assertEquals(1.0, meterRegistry.get("market.refresh.skipped").counter().count());
+        executor.shutdownNow();
+    }
+
+    @Test
+    void refresh_QuoteCompletesAfterTimeout_HandsTickToWriterBuffer() {
+        // Arrange
+        refresher = new MarketDataRefresher(marketDataWriter, hedgedQuoteService, meterRegistry, 4, 2, 50);
+        CompletableFuture<Quote> lateQuote = new CompletableFuture<>();
+        when(hedgedQuoteService.getQuote(eq("AAPL"), eq(Priority.BACKGROUND))).thenReturn(lateQuote);
+
+        // Act
+        RefreshResult result = refresher.refresh(List.of("AAPL"));
+        lateQuote.complete(quote("AAPL", "101.00"));
+
+        // Assert
+        assertEquals(0, result.persisted());
+        verify(marketDataWriter, never()).saveAll(anyList());
+        verify(marketDataWriter).append(any(MarketData.class));
+        assertEquals(1.0, meterRegistry.get("market.refresh.late").counter().count());
+    }
+
+    @Test
+    void refresh_NoPermitBeforeTimeout_CountsRemainingSymbolsAsFailed() {
+        // Arrange
+        refresher = new MarketDataRefresher(marketDataWriter, hedgedQuoteService, meterRegistry, 1, 2, 50);
+        when(hedgedQuoteService.getQuote(eq("AAPL"), eq(Priority.BACKGROUND))).thenReturn(new CompletableFuture<>());
+
+        // Act
+        RefreshResult result = refresher.refresh(List.of("AAPL", "MSFT", "GOOGL"));
+
+        // Assert
+        assertEquals(2, result.failed());
+        assertTrue(result.duration().toMillis() < 5000);
+        verify(hedgedQuoteService, never()).getQuote(eq("MSFT"), any(Priority.class));
+        verify(hedgedQuoteService, never()).getQuote(eq("GOOGL"), any(Priority.class));
+    }
+
+    private static Quote quote(String symbol, String price) {
+        return new Quote(symbol, new BigDecimal(price), BigDecimal.ZERO, BigDecimal.ZERO, 1000L,
+            ZonedDateTime.now(), MarketData.DataSource.FINNHUB);
+    }
+}
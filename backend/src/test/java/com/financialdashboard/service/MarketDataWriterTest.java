@@ -0,0 +1,253 @@
+package com.financialdashboard.service;
+
+import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.OhlcvBar;
+import com.financialdashboard.model.Resolution;
+import com.financialdashboard.repository.MarketDataLatestRepository;
+import com.financialdashboard.repository.MarketDataTickRepository;
+import com.financialdashboard.repository.OhlcvRollupRepository;
+import com.financialdashboard.repository.TickJournalCheckpointRepository;
+import com.financialdashboard.service.impl.MarketDataWriter;
+import com.financialdashboard.service.impl.PortfolioValuationEngine;
+import com.financialdashboard.service.impl.PriceSeriesCache;
+import com.financialdashboard.service.impl.TickJournal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MarketDataWriterTest {
+
+    @Mock
+    private MarketDataTickRepository marketDataTickRepository;
+
+    @Mock
+    private MarketDataLatestRepository marketDataLatestRepository;
+
+    @Mock
+    private OhlcvRollupRepository ohlcvRollupRepository;
+
+    @Mock
+    private PriceSeriesCache priceSeriesCache;
+
+    @Mock
+    private PortfolioValuationEngine portfolioValuationEngine;
+
+    @Mock
+    private TickJournalCheckpointRepository tickJournalCheckpointRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MarketDataWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new MarketDataWriter(marketDataTickRepository, marketDataLatestRepository, ohlcvRollupRepository,
+            priceSeriesCache, portfolioValuationEngine, Optional.empty(), tickJournalCheckpointRepository, transactionManager,
+            meterRegistry, 500, 3, 5);
+    }
+
+    @Test
+    void append_BelowFlushSize_BuffersUntilFlush() {
+        // Arrange
+        writer.append(tick("AAPL"));
+        writer.append(tick("MSFT"));
+        verifyNoInteractions(marketDataTickRepository);
+
+        // Act
+        writer.flush();
+
+        // Assert
+        ArgumentCaptor<List<MarketData>> batch = ArgumentCaptor.forClass(List.class);
+        verify(marketDataTickRepository).insertAll(batch.capture(), eq(500));
+        assertEquals(2, batch.getValue().size());
+        verify(marketDataLatestRepository).upsertAll(batch.getValue(), 500);
+        assertEquals(1, meterRegistry.get("market.ticks.flush.latency").tag("trigger", "time").timer().count());
+    }
+
+    @Test
+    void append_ReachingFlushSize_FlushesImmediately() {
+        // Act
+        writer.append(tick("AAPL"));
+        writer.append(tick("MSFT"));
+        writer.append(tick("GOOGL"));
+
+        // Assert
+        verify(marketDataTickRepository).insertAll(anyList(), anyInt());
+        assertEquals(3.0, meterRegistry.get("market.ticks.flush.size").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("market.ticks.flush.latency").tag("trigger", "size").timer().count());
+    }
+
+    @Test
+    void saveAll_LargeBatch_UsesCopy() {
+        // Arrange
+        List<MarketData> ticks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ticks.add(tick("SYM" + i));
+        }
+
+        // Act
+        writer.saveAll(ticks);
+
+        // Assert
+        verify(marketDataTickRepository).copyAll(ticks);
+        verify(marketDataTickRepository, never()).insertAll(anyList(), anyInt());
+        verify(marketDataLatestRepository).upsertAll(ticks, 500);
+    }
+
+    @Test
+    void flush_WriteFails_CountsDroppedTicks() {
+        // Arrange
+        doThrow(new RuntimeException("connection lost")).when(marketDataTickRepository).insertAll(anyList(), anyInt());
+        writer.append(tick("AAPL"));
+
+        // Act
+        writer.flush();
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("market.ticks.dropped").counter().count());
+        verifyNoInteractions(marketDataLatestRepository);
+    }
+
+    @Test
+    void flush_JournaledBatchFails_RetriedBeforeCheckpointAdvances() {
+        // Arrange
+        TickJournal tickJournal = mock(TickJournal.class);
+        when(tickJournal.append(any())).thenReturn(7L, 8L);
+        when(tickJournal.getId()).thenReturn("journal-1");
+        writer = new MarketDataWriter(marketDataTickRepository, marketDataLatestRepository, ohlcvRollupRepository,
+            priceSeriesCache, portfolioValuationEngine, Optional.of(tickJournal), tickJournalCheckpointRepository,
+            transactionManager, meterRegistry, 500, 3, 5);
+        doThrow(new RuntimeException("connection lost")).doNothing()
+            .when(marketDataTickRepository).insertAll(anyList(), anyInt());
+        MarketData aapl = tick("AAPL");
+        MarketData msft = tick("MSFT");
+        writer.append(aapl);
+        writer.append(msft);
+
+        // Act
+        writer.flush();
+        verify(tickJournal, never()).checkpoint(anyLong());
+        writer.flush();
+
+        // Assert
+        verify(marketDataTickRepository, times(2)).insertAll(List.of(aapl, msft), 500);
+        verify(tickJournalCheckpointRepository).advance("journal-1", 9L);
+        verify(tickJournal).checkpoint(9L);
+        assertEquals(0.0, meterRegistry.get("market.ticks.dropped").counter().count());
+        assertEquals(0.0, meterRegistry.get("market.ticks.buffered").gauge().value());
+    }
+
+    @Test
+    void recoverJournal_DatabaseCheckpointAhead_ReplaysFromDatabaseCheckpoint() {
+        // Arrange
+        TickJournal tickJournal = mock(TickJournal.class);
+        when(tickJournal.getId()).thenReturn("journal-1");
+        when(tickJournal.getCheckpoint()).thenReturn(3L);
+        when(tickJournalCheckpointRepository.find("journal-1")).thenReturn(OptionalLong.of(5L));
+        writer = new MarketDataWriter(marketDataTickRepository, marketDataLatestRepository, ohlcvRollupRepository,
+            priceSeriesCache, portfolioValuationEngine, Optional.of(tickJournal), tickJournalCheckpointRepository,
+            transactionManager, meterRegistry, 500, 3, 5);
+
+        // Act
+        writer.recoverJournal();
+
+        // Assert
+        verify(tickJournal).checkpoint(5L);
+        verify(tickJournal).replay(eq(5L), any());
+    }
+
+    @Test
+    void saveAll_FoldsTicksIntoOneBarPerBucket() {
+        // Arrange
+        ZonedDateTime minute = ZonedDateTime.parse("2024-01-05T15:00:00Z");
+        List<MarketData> ticks = List.of(
+            tick("AAPL", "101.00", minute.plusSeconds(30), 2000L),
+            tick("AAPL", "100.00", minute.plusSeconds(5), 1000L),
+            tick("AAPL", "99.50", minute.plusSeconds(45), 2500L),
+            tick("AAPL", "102.00", minute.plusSeconds(70), 3000L));
+
+        // Act
+        writer.saveAll(ticks);
+
+        // Assert
+        ArgumentCaptor<List<OhlcvBar>> minutes = ArgumentCaptor.forClass(List.class);
+        verify(ohlcvRollupRepository).upsertAll(eq(Resolution.MINUTE), minutes.capture(), eq(500));
+        assertEquals(2, minutes.getValue().size());
+        OhlcvBar first = minutes.getValue().get(0);
+        assertEquals(minute.toInstant(), first.bucketStart());
+        assertEquals(new BigDecimal("100.00"), first.open());
+        assertEquals(new BigDecimal("101.00"), first.high());
+        assertEquals(new BigDecimal("99.50"), first.low());
+        assertEquals(new BigDecimal("99.50"), first.close());
+        assertEquals(2500L, first.volume());
+        assertEquals(3, first.tickCount());
+
+        ArgumentCaptor<List<OhlcvBar>> hours = ArgumentCaptor.forClass(List.class);
+        verify(ohlcvRollupRepository).upsertAll(eq(Resolution.HOUR), hours.capture(), eq(500));
+        assertEquals(1, hours.getValue().size());
+        assertEquals(new BigDecimal("102.00"), hours.getValue().get(0).close());
+        verify(ohlcvRollupRepository).upsertAll(eq(Resolution.DAY), anyList(), eq(500));
+    }
+
+    @Test
+    void saveAll_DuplicateSymbolAndSource_UpsertsNewestTickOnce() {
+        // Arrange
+        ZonedDateTime now = ZonedDateTime.parse("2024-01-05T15:00:00Z");
+        MarketData newest = tick("AAPL", "101.00", now.plusSeconds(10), 2000L);
+        MarketData otherSource = new MarketData(null, "AAPL", new BigDecimal("100.50"), null, now,
+            MarketData.DataSource.FINNHUB);
+        List<MarketData> ticks = List.of(
+            tick("AAPL", "100.00", now, 1000L),
+            newest,
+            otherSource,
+            tick("AAPL", "99.00", now.minusSeconds(10), 500L));
+
+        // Act
+        writer.saveAll(ticks);
+
+        // Assert
+        verify(marketDataTickRepository).insertAll(ticks, 500);
+        ArgumentCaptor<List<MarketData>> latest = ArgumentCaptor.forClass(List.class);
+        verify(marketDataLatestRepository).upsertAll(latest.capture(), eq(500));
+        assertEquals(List.of(otherSource, newest), latest.getValue());
+    }
+
+    @Test
+    void resolutionForRange_PicksFinestRollupWithinBudget() {
+        // Act & Assert
+        assertEquals(Resolution.MINUTE, Resolution.forRange(Duration.ofDays(1), 2000));
+        assertEquals(Resolution.HOUR, Resolution.forRange(Duration.ofDays(30), 2000));
+        assertEquals(Resolution.DAY, Resolution.forRange(Duration.ofDays(365), 2000));
+    }
+
+    private static MarketData tick(String symbol) {
+        return tick(symbol, "100.00", ZonedDateTime.now(), 1000L);
+    }
+
+    private static MarketData tick(String symbol, String price, ZonedDateTime timestamp, Long volume) {
+        return new MarketData(null, symbol, new BigDecimal(price), volume, timestamp,
+            MarketData.DataSource.YAHOO_FINANCE);
+    }
+}
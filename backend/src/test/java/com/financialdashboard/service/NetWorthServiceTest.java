@@ -0,0 +1,107 @@
+package com.financialdashboard.service;
+
+import com.financialdashboard.model.AccountHoldingRow;
+import com.financialdashboard.model.ExchangeRate;
+import com.financialdashboard.model.NetWorth;
+import com.financialdashboard.model.Priority;
+import com.financialdashboard.repository.FinancialAccountRepository;
+import com.financialdashboard.repository.UserRepository;
+import com.financialdashboard.service.impl.AlphaVantageService;
+import com.financialdashboard.service.impl.NetWorthServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NetWorthServiceTest {
+
+    @Mock
+    private FinancialAccountRepository financialAccountRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private MarketDataService marketDataService;
+
+    @Mock
+    private AlphaVantageService alphaVantageService;
+
+    private ExecutorService executor;
+    private NetWorthService netWorthService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        netWorthService = new NetWorthServiceImpl(financialAccountRepository, userRepository, marketDataService,
+            alphaVantageService, executor, "USD", 600_000, 5_000);
+    }
+
+    @Test
+    void getNetWorth_SharedSymbolsAndForeignAccount_PricesOnceAndConverts() {
+        // Arrange
+        when(financialAccountRepository.findHoldingRowsByUserId(1L)).thenReturn(List.of(
+            row(10L, "USD", "500", "AAPL", "10", "150", "160"),
+            row(10L, "USD", "500", "MSFT", "2", "300", null),
+            row(11L, "EUR", "1000", "AAPL", "5", "140", "150"),
+            row(11L, "EUR", "1000", "SAP", "4", "120", "130"),
+            row(12L, "USD", "250", null, null, null, null)));
+        when(marketDataService.getBatchPrices(List.of("AAPL", "MSFT", "SAP")))
+            .thenReturn(Map.of("AAPL", new BigDecimal("170"), "MSFT", new BigDecimal("310")));
+        when(alphaVantageService.getExchangeRateAsync("EUR", "USD", Priority.INTERACTIVE))
+            .thenReturn(CompletableFuture.completedFuture(new ExchangeRate("EUR", "USD", new BigDecimal("1.08125"), null, null)));
+
+        // Act
+        NetWorth netWorth = netWorthService.getNetWorth(1L, null).orElseThrow();
+
+        // Assert
+        List<NetWorth.AccountNetWorth> accounts = netWorth.accounts();
+        assertEquals(List.of(10L, 11L, 12L), accounts.stream().map(NetWorth.AccountNetWorth::accountId).toList());
+        assertEquals(0, new BigDecimal("2820").compareTo(accounts.get(0).total()));          // 500 + 10*170 + 2*310
+        assertEquals(0, new BigDecimal("2370").compareTo(accounts.get(1).total()));          // 1000 + 5*170 + 4*130
+        assertEquals(0, new BigDecimal("2562.5625").compareTo(accounts.get(1).totalInBaseCurrency()));
+        assertEquals(0, new BigDecimal("250").compareTo(accounts.get(2).totalInBaseCurrency()));
+        assertEquals(0, new BigDecimal("5632.5625").compareTo(netWorth.total()));
+        verify(financialAccountRepository, times(1)).findHoldingRowsByUserId(1L);
+        verify(marketDataService, times(1)).getBatchPrices(anyList());
+        verify(alphaVantageService, times(1)).getExchangeRateAsync("EUR", "USD", Priority.INTERACTIVE);
+        executor.shutdown();
+    }
+
+    @Test
+    void getNetWorth_UnknownUser_ReturnsEmpty() {
+        // Arrange
+        when(financialAccountRepository.findHoldingRowsByUserId(99L)).thenReturn(List.of());
+        when(userRepository.existsById(99L)).thenReturn(false);
+
+        // Act
+        Optional<NetWorth> netWorth = netWorthService.getNetWorth(99L, "EUR");
+
+        // Assert
+        assertTrue(netWorth.isEmpty());
+        verifyNoInteractions(marketDataService, alphaVantageService);
+        executor.shutdown();
+    }
+
+    private static AccountHoldingRow row(Long accountId, String currency, String balance, String symbol,
+                                         String quantity, String averagePrice, String currentPrice) {
+        return new AccountHoldingRow(accountId, currency, new BigDecimal(balance), symbol,
+            quantity != null ? new BigDecimal(quantity) : null,
+            averagePrice != null ? new BigDecimal(averagePrice) : null,
+            currentPrice != null ? new BigDecimal(currentPrice) : null);
+    }
+}
@@ -0,0 +1,173 @@
+package com.financialdashboard.service;
+
+import com.financialdashboard.model.FinancialAccount;
+import com.financialdashboard.model.PortfolioHolding;
+import com.financialdashboard.repository.FinancialAccountRepository;
+import com.financialdashboard.repository.PortfolioHoldingRepository;
+import com.financialdashboard.service.impl.HoldingRepricer;
+import com.financialdashboard.service.impl.PortfolioServiceImpl;
+import com.financialdashboard.service.impl.PortfolioValuationEngine;
+import com.financialdashboard.service.impl.TrackedSymbolRegistry;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Replays one mixed read/write workload across many accounts through the real caching
+ * proxies and compares the combined hit ratio of the holding caches under key-scoped
+ * eviction with the previous evict-everything-on-write behaviour.
+ */
+@SpringJUnitConfig(PortfolioCacheHitRatioTest.Config.class)
+class PortfolioCacheHitRatioTest {
+
+    private static final int ACCOUNTS = 200;
+    private static final int SYMBOLS_PER_ACCOUNT = 5;
+    private static final int OPERATIONS = 20_000;
+    private static final int WRITE_PERCENT = 5;
+    private static final String[] CACHES = {"portfolioHoldings", "portfolioHolding"};
+
+    private static final Map<Long, List<PortfolioHolding>> HOLDINGS = new HashMap<>();
+
+    @Configuration
+    @EnableCaching
+    static class Config {
+        @Bean
+        PortfolioHoldingRepository portfolioHoldingRepository() {
+            PortfolioHoldingRepository repository = mock(PortfolioHoldingRepository.class);
+            when(repository.findByAccount(any())).thenAnswer(i ->
+                HOLDINGS.get(i.<FinancialAccount>getArgument(0).getId()));
+            when(repository.findByAccountAndSymbol(any(), anyString())).thenAnswer(i ->
+                HOLDINGS.get(i.<FinancialAccount>getArgument(0).getId()).stream()
+                    .filter(holding -> holding.getSymbol().equals(i.getArgument(1)))
+                    .findFirst());
+            when(repository.save(any())).thenAnswer(i -> i.getArgument(0));
+            return repository;
+        }
+
+        @Bean
+        MarketDataService marketDataService() {
+            MarketDataService marketDataService = mock(MarketDataService.class);
+            when(marketDataService.getLatestPrice(anyString())).thenReturn(new BigDecimal("101.25"));
+            return marketDataService;
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager(CACHES);
+            cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(10_000).recordStats());
+            return cacheManager;
+        }
+
+        @Bean
+        PortfolioServiceImpl portfolioService(PortfolioHoldingRepository portfolioHoldingRepository,
+                                              MarketDataService marketDataService,
+                                              CacheManager cacheManager) {
+            return new PortfolioServiceImpl(portfolioHoldingRepository, mock(FinancialAccountRepository.class),
+                marketDataService, mock(TrackedSymbolRegistry.class),
+                new PortfolioValuationEngine(portfolioHoldingRepository, 10_000, 1_800_000),
+                mock(HoldingRepricer.class), cacheManager, 200);
+        }
+    }
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final List<FinancialAccount> accounts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        HOLDINGS.clear();
+        accounts.clear();
+        long holdingId = 1;
+        for (long id = 1; id <= ACCOUNTS; id++) {
+            FinancialAccount account = new FinancialAccount();
+            account.setId(id);
+            accounts.add(account);
+            List<PortfolioHolding> holdings = new ArrayList<>();
+            for (int s = 0; s < SYMBOLS_PER_ACCOUNT; s++) {
+                holdings.add(new PortfolioHolding(holdingId++, account, "SYM" + s, new BigDecimal("10"),
+                    new BigDecimal("100"), new BigDecimal("100"), null));
+            }
+            HOLDINGS.put(id, holdings);
+        }
+        for (String name : CACHES) {
+            cacheManager.getCache(name).clear();
+        }
+    }
+
+    @Test
+    void mixedWorkload_KeyScopedEviction_KeepsOtherAccountsCached() {
+        // Act
+        double allEntries = runWorkload(true);
+        double keyScoped = runWorkload(false);
+
+        // Assert
+        String ratios = String.format("hit ratio with allEntries eviction %.3f, key-scoped %.3f", allEntries, keyScoped);
+        assertTrue(keyScoped >= 0.75, ratios);
+        assertTrue(keyScoped - allEntries >= 0.5, ratios);
+    }
+
+    /**
+     * Runs the workload from cold caches and returns the combined hit ratio. With
+     * clearOnWrite every write also empties both caches, as allEntries eviction did.
+     */
+    private double runWorkload(boolean clearOnWrite) {
+        for (String name : CACHES) {
+            cacheManager.getCache(name).clear();
+        }
+        CacheStats before = stats();
+        Random random = new Random(7);
+        for (int i = 0; i < OPERATIONS; i++) {
+            FinancialAccount account = accounts.get(random.nextInt(ACCOUNTS));
+            String symbol = "SYM" + random.nextInt(SYMBOLS_PER_ACCOUNT);
+            int roll = random.nextInt(100);
+            if (roll < WRITE_PERCENT) {
+                portfolioService.addHolding(account, symbol, BigDecimal.ONE, new BigDecimal("105"));
+                if (clearOnWrite) {
+                    for (String name : CACHES) {
+                        cacheManager.getCache(name).clear();
+                    }
+                }
+            } else if (roll < 50) {
+                portfolioService.getHoldingsByAccount(account);
+            } else {
+                portfolioService.getHoldingBySymbol(account, symbol);
+            }
+        }
+        return stats().minus(before).hitRate();
+    }
+
+    private CacheStats stats() {
+        CacheStats total = CacheStats.empty();
+        for (String name : CACHES) {
+            CaffeineCache cache = (CaffeineCache) cacheManager.getCache(name);
+            total = total.plus(cache.getNativeCache().stats());
+        }
+        return total;
+    }
+}
@@ -3,20 +3,27 @@ package com.financialdashboard.service;
 import com.financialdashboard.exception.ResourceNotFoundException;
 import com.financialdashboard.exception.ValidationException;
 import com.financialdashboard.model.FinancialAccount;
+import com.financialdashboard.model.HoldingPosition;
 import com.financialdashboard.model.PortfolioHolding;
+import com.financialdashboard.repository.FinancialAccountRepository;
 import com.financialdashboard.repository.PortfolioHoldingRepository;
+import com.financialdashboard.service.impl.HoldingRepricer;
 import com.financialdashboard.service.impl.PortfolioServiceImpl;
+import com.financialdashboard.service.impl.PortfolioValuationEngine;
+import com.financialdashboard.service.impl.TrackedSymbolRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,15 +35,26 @@ class PortfolioServiceTest {
     @Mock
     private PortfolioHoldingRepository portfolioHoldingRepository;
 
+    @Mock
+    private FinancialAccountRepository financialAccountRepository;
+
     @Mock
     private MarketDataService marketDataService;
 
+    @Mock
+    private TrackedSymbolRegistry trackedSymbolRegistry;
+
+    @Mock
+    private HoldingRepricer holdingRepricer;
+
     private PortfolioService portfolioService;
     private FinancialAccount testAccount;
 
     @BeforeEach
     void setUp() {
-        portfolioService = new PortfolioServiceImpl(portfolioHoldingRepository, marketDataService);
+        portfolioService = new PortfolioServiceImpl(portfolioHoldingRepository, financialAccountRepository, marketDataService,
+            trackedSymbolRegistry, new PortfolioValuationEngine(portfolioHoldingRepository, 10_000, 1_800_000), holdingRepricer,
+            new ConcurrentMapCacheManager(), 3);
         testAccount = new FinancialAccount();
         testAccount.setId(1L);
     }
@@ -102,21 +120,44 @@ class PortfolioServiceTest {
     @Test
     void getPortfolioSummary_Success() {
         // Arrange
-        List<PortfolioHolding> holdings = Arrays.asList(
-            createHolding("AAPL", new BigDecimal("10"), new BigDecimal("150"), new BigDecimal("160")),
-            createHolding("MSFT", new BigDecimal("5"), new BigDecimal("250"), new BigDecimal("270"))
+        List<HoldingPosition> positions = Arrays.asList(
+            new HoldingPosition(1L, "AAPL", new BigDecimal("10"), new BigDecimal("1600"), new BigDecimal("1500")),
+            new HoldingPosition(1L, "MSFT", new BigDecimal("5"), new BigDecimal("1350"), new BigDecimal("1250"))
         );
-        when(portfolioHoldingRepository.findByAccount(any(FinancialAccount.class)))
-            .thenReturn(holdings);
+        when(portfolioHoldingRepository.summarizePositions(List.of(1L)))
+            .thenReturn(positions);
 
         // Act
         Map<String, BigDecimal> summary = portfolioService.getPortfolioSummary(testAccount);
 
         // Assert
         assertNotNull(summary);
-        assertEquals(new BigDecimal("2300"), summary.get("totalValue")); // 10*160 + 5*270
-        assertEquals(new BigDecimal("2750"), summary.get("totalCost")); // 10*150 + 5*250
-        assertEquals(new BigDecimal("450"), summary.get("totalGainLoss")); // 2300 - 2750
+        assertEquals(0, new BigDecimal("2950").compareTo(summary.get("totalValue"))); // 1600 + 1350
+        assertEquals(0, new BigDecimal("2750").compareTo(summary.get("totalCost"))); // 1500 + 1250
+        assertEquals(0, new BigDecimal("200").compareTo(summary.get("totalGainLoss"))); // 2950 - 2750
+    }
+
+    @Test
+    void getPortfolioSummaries_UnknownAccount_OmittedAndNeverLoaded() {
+        // Arrange
+        when(financialAccountRepository.findExistingIds(Set.of(1L, 99L))).thenReturn(List.of(1L));
+        when(portfolioHoldingRepository.summarizePositions(List.of(1L))).thenReturn(List.of(
+            new HoldingPosition(1L, "AAPL", new BigDecimal("10"), new BigDecimal("1600"), new BigDecimal("1500"))));
+
+        // Act
+        Map<Long, Map<String, BigDecimal>> summaries = portfolioService.getPortfolioSummaries(List.of(1L, 99L));
+
+        // Assert
+        assertEquals(Set.of(1L), summaries.keySet());
+        verify(portfolioHoldingRepository).summarizePositions(List.of(1L));
+    }
+
+    @Test
+    void getPortfolioSummaries_TooManyAccounts_ThrowsValidationException() {
+        // Act & Assert
+        assertThrows(ValidationException.class,
+            () -> portfolioService.getPortfolioSummaries(List.of(1L, 2L, 3L, 4L)));
+        verifyNoInteractions(financialAccountRepository, portfolioHoldingRepository);
     }
 
     private PortfolioHolding createHolding(String symbol, BigDecimal quantity, BigDecimal avgPrice) {
@@ -0,0 +1,148 @@
+package com.financialdashboard.service;
+
+import com.financialdashboard.model.FinancialAccount;
+import com.financialdashboard.model.HoldingPosition;
+import com.financialdashboard.model.PortfolioValuation;
+import com.financialdashboard.repository.PortfolioHoldingRepository;
+import com.financialdashboard.service.impl.PortfolioValuationEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PortfolioValuationEngineTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-01T15:00:00Z");
+
+    @Mock
+    private PortfolioHoldingRepository portfolioHoldingRepository;
+
+    private PortfolioValuationEngine engine;
+    private FinancialAccount first;
+    private FinancialAccount second;
+
+    @BeforeEach
+    void setUp() {
+        engine = new PortfolioValuationEngine(portfolioHoldingRepository, 10_000, 1_800_000);
+        first = account(1L);
+        second = account(2L);
+        lenient().when(portfolioHoldingRepository.summarizePositions(List.of(1L))).thenReturn(List.of(
+            position(1L, "AAPL", "10", "1600", "1500"),
+            position(1L, "MSFT", "5", "1250", "1250")));
+        lenient().when(portfolioHoldingRepository.summarizePositions(List.of(2L))).thenReturn(List.of(
+            position(2L, "MSFT", "2", "540", "600")));
+    }
+
+    @Test
+    void getValuation_RepeatedReads_LoadsHoldingsOnce() {
+        // Act
+        PortfolioValuation valuation = engine.getValuation(first);
+        engine.getValuation(first);
+
+        // Assert
+        assertEquals(0, new BigDecimal("2850").compareTo(valuation.marketValue())); // 10*160 + 5*250
+        assertEquals(0, new BigDecimal("2750").compareTo(valuation.costBasis()));
+        assertEquals(0, new BigDecimal("100").compareTo(valuation.gainLoss()));
+        verify(portfolioHoldingRepository, times(1)).summarizePositions(List.of(1L));
+    }
+
+    @Test
+    void onPrice_NewPrice_AdjustsOnlyAccountsHoldingTheSymbol() {
+        // Arrange
+        engine.getValuation(first);
+        engine.getValuation(second);
+
+        // Act
+        engine.onPrice("AAPL", new BigDecimal("170"), NOW);
+
+        // Assert
+        assertEquals(0, new BigDecimal("2950").compareTo(engine.getValuation(first).marketValue()));
+        assertEquals(0, new BigDecimal("540").compareTo(engine.getValuation(second).marketValue()));
+        verify(portfolioHoldingRepository, times(1)).summarizePositions(List.of(1L));
+    }
+
+    @Test
+    void onPrice_OlderPrice_IsIgnored() {
+        // Arrange
+        engine.getValuation(second);
+        engine.onPrice("MSFT", new BigDecimal("280"), NOW);
+
+        // Act
+        engine.onPrice("MSFT", new BigDecimal("200"), NOW.minusSeconds(5));
+
+        // Assert
+        assertEquals(0, new BigDecimal("560").compareTo(engine.getValuation(second).marketValue()));
+    }
+
+    @Test
+    void getValuation_AfterEvict_ReloadsAndAppliesLatestPrice() {
+        // Arrange
+        engine.getValuation(second);
+        engine.onPrice("MSFT", new BigDecimal("280"), NOW);
+
+        // Act
+        engine.evict(2L);
+        PortfolioValuation valuation = engine.getValuation(second);
+
+        // Assert
+        assertEquals(0, new BigDecimal("560").compareTo(valuation.marketValue()));
+        verify(portfolioHoldingRepository, times(2)).summarizePositions(List.of(2L));
+    }
+
+    @Test
+    void getValuations_OneAccountLoaded_LoadsTheRestInOneQuery() {
+        // Arrange
+        engine.getValuation(first);
+        when(portfolioHoldingRepository.summarizePositions(List.of(2L, 3L))).thenReturn(List.of(
+            position(2L, "MSFT", "2", "540", "600")));
+
+        // Act
+        Map<Long, PortfolioValuation> valuations = engine.getValuations(List.of(1L, 2L, 3L));
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), List.copyOf(valuations.keySet()));
+        assertEquals(0, new BigDecimal("2850").compareTo(valuations.get(1L).marketValue()));
+        assertEquals(0, new BigDecimal("-60").compareTo(valuations.get(2L).gainLoss()));
+        assertEquals(0, valuations.get(3L).marketValue().signum());
+        engine.onPrice("MSFT", new BigDecimal("280"), NOW);
+        assertEquals(0, new BigDecimal("560").compareTo(engine.getValuations(List.of(2L)).get(2L).marketValue()));
+        verify(portfolioHoldingRepository, times(1)).summarizePositions(List.of(2L, 3L));
+    }
+
+    @Test
+    void getValuation_BookExpired_ReloadedFromDatabase() {
+        // Arrange
+        engine = new PortfolioValuationEngine(portfolioHoldingRepository, 10_000, 0);
+        engine.getValuation(second);
+        engine.onPrice("MSFT", new BigDecimal("280"), NOW);
+
+        // Act
+        PortfolioValuation valuation = engine.getValuation(second);
+
+        // Assert
+        assertEquals(0, new BigDecimal("560").compareTo(valuation.marketValue()));
+        verify(portfolioHoldingRepository, times(2)).summarizePositions(List.of(2L));
+    }
+
+    private static FinancialAccount account(long id) {
+        FinancialAccount account = new FinancialAccount();
+        account.setId(id);
+        return account;
+    }
+
+    private static HoldingPosition position(long accountId, String symbol, String quantity,
+                                            String marketValue, String costBasis) {
+        return new HoldingPosition(accountId, symbol, new BigDecimal(quantity),
+            new BigDecimal(marketValue), new BigDecimal(costBasis));
+    }
+}
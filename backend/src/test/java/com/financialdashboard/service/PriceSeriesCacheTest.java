@@ -0,0 +1,123 @@
+package com.financialdashboard.service;
+
+import com.financialdashboard.model.OhlcvBar;
+import com.financialdashboard.model.Resolution;
+import com.financialdashboard.repository.OhlcvRollupRepository;
+import com.financialdashboard.service.impl.PriceSeriesCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PriceSeriesCacheTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-05T15:00:00Z");
+
+    @Mock
+    private OhlcvRollupRepository ohlcvRollupRepository;
+
+    private PriceSeriesCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PriceSeriesCache(ohlcvRollupRepository, new SimpleMeterRegistry(),
+            Clock.fixed(NOW, ZoneOffset.UTC), 1 << 20, Duration.ofMinutes(1), 60);
+    }
+
+    @Test
+    void getBars_RangeInsideWindow_LoadsOnceAndSlicesFromMemory() {
+        // Arrange
+        when(ohlcvRollupRepository.findBySymbolAndRange(eq("AAPL"), eq(Resolution.MINUTE), any(), any()))
+            .thenReturn(List.of(bar(minutesAgo(3), "100.00"), bar(minutesAgo(2), "101.00"), bar(minutesAgo(1), "102.00")));
+
+        // Act
+        List<OhlcvBar> all = cache.getBars("AAPL", Resolution.MINUTE, minutesAgo(30), NOW);
+        List<OhlcvBar> tail = cache.getBars("AAPL", Resolution.MINUTE, minutesAgo(2), minutesAgo(1));
+
+        // Assert
+        assertEquals(3, all.size());
+        assertEquals(1, tail.size());
+        assertEquals(minutesAgo(2), tail.get(0).bucketStart());
+        assertEquals(0, new BigDecimal("101.00").compareTo(tail.get(0).close()));
+        verify(ohlcvRollupRepository, times(1)).findBySymbolAndRange(any(), any(), any(), any());
+    }
+
+    @Test
+    void getBars_RangeBeforeWindow_GoesToDatabase() {
+        // Arrange
+        Instant from = NOW.minus(Duration.ofHours(3));
+        when(ohlcvRollupRepository.findBySymbolAndRange("AAPL", Resolution.MINUTE, from, NOW)).thenReturn(List.of());
+
+        // Act
+        cache.getBars("AAPL", Resolution.MINUTE, from, NOW);
+        cache.getBars("AAPL", Resolution.MINUTE, from, NOW);
+
+        // Assert
+        verify(ohlcvRollupRepository, times(2)).findBySymbolAndRange("AAPL", Resolution.MINUTE, from, NOW);
+    }
+
+    @Test
+    void append_CachedSeries_MergesExistingBucketAndAddsNewOne() {
+        // Arrange
+        when(ohlcvRollupRepository.findBySymbolAndRange(eq("AAPL"), eq(Resolution.MINUTE), any(), any()))
+            .thenReturn(List.of(bar(minutesAgo(2), "100.00")));
+        cache.getBars("AAPL", Resolution.MINUTE, minutesAgo(10), NOW);
+        OhlcvBar laterTick = new OhlcvBar("AAPL", minutesAgo(2), new BigDecimal("98.00"), new BigDecimal("98.00"),
+            new BigDecimal("98.00"), new BigDecimal("98.00"), 500L, 1, minutesAgo(2).plusSeconds(50),
+            minutesAgo(2).plusSeconds(50));
+
+        // Act
+        cache.append(Resolution.MINUTE, List.of(laterTick, bar(minutesAgo(1), "99.00")));
+        cache.append(Resolution.HOUR, List.of(bar(minutesAgo(1), "99.00")));
+        List<OhlcvBar> bars = cache.getBars("AAPL", Resolution.MINUTE, minutesAgo(10), NOW);
+
+        // Assert
+        assertEquals(2, bars.size());
+        OhlcvBar merged = bars.get(0);
+        assertEquals(0, new BigDecimal("100.00").compareTo(merged.open()));
+        assertEquals(0, new BigDecimal("98.00").compareTo(merged.low()));
+        assertEquals(0, new BigDecimal("98.00").compareTo(merged.close()));
+        assertEquals(2, merged.tickCount());
+        verify(ohlcvRollupRepository, times(1)).findBySymbolAndRange(any(), any(), any(), any());
+    }
+
+    @Test
+    void getBars_SeriesPastTtl_ReloadedFromDatabase() {
+        // Arrange
+        cache = new PriceSeriesCache(ohlcvRollupRepository, new SimpleMeterRegistry(),
+            Clock.fixed(NOW, ZoneOffset.UTC), 1 << 20, Duration.ZERO, 60);
+        when(ohlcvRollupRepository.findBySymbolAndRange(eq("AAPL"), eq(Resolution.MINUTE), any(), any()))
+            .thenReturn(List.of(bar(minutesAgo(2), "100.00")));
+
+        // Act
+        cache.getBars("AAPL", Resolution.MINUTE, minutesAgo(10), NOW);
+        cache.getBars("AAPL", Resolution.MINUTE, minutesAgo(10), NOW);
+
+        // Assert
+        verify(ohlcvRollupRepository, times(2)).findBySymbolAndRange(any(), any(), any(), any());
+    }
+
+    private static Instant minutesAgo(int minutes) {
+        return NOW.minus(Duration.ofMinutes(minutes));
+    }
+
+    private static OhlcvBar bar(Instant bucketStart, String price) {
+        BigDecimal value = new BigDecimal(price);
+        return new OhlcvBar("AAPL", bucketStart, value, value, value, value, 1000L, 1,
+            bucketStart.plusSeconds(1), bucketStart.plusSeconds(1));
+    }
+}
@@ -0,0 +1,99 @@
+package com.financialdashboard.service;
+
+import com.financialdashboard.model.OhlcvBar;
+import com.financialdashboard.model.PriceSeries;
+import com.financialdashboard.model.PriceSeriesCodec;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceSeriesCodecTest {
+
+    private static final long START = Instant.parse("2024-01-02T14:30:00Z").toEpochMilli();
+
+    @Test
+    void decode_RandomWalk_RoundTripsEveryColumn() {
+        // Arrange
+        Random random = new Random(42);
+        PriceSeries.Builder builder = PriceSeries.builder("AAPL", 10_000);
+        long close = 1_502_500;
+        long volume = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long open = close;
+            close += random.nextInt(201) - 100;
+            volume += random.nextInt(5_000);
+            builder.add(START + i * 60_000L, open, Math.max(open, close) + random.nextInt(50),
+                Math.min(open, close) - random.nextInt(50), close, volume);
+        }
+        PriceSeries series = builder.build();
+
+        // Act
+        byte[] encoded = PriceSeriesCodec.encode(series);
+        PriceSeries decoded = PriceSeriesCodec.decode(encoded);
+
+        // Assert
+        assertSeriesEquals(series, decoded);
+        // Regular one-minute bars cost a small fraction of the ~100 bytes a JSON point takes
+        assertTrue(encoded.length / (double) series.size() < 16, "bytes per point: " + encoded.length / (double) series.size());
+    }
+
+    @Test
+    void decode_IrregularTimestampsAndLargeJumps_RoundTrips() {
+        // Arrange
+        PriceSeries series = PriceSeries.builder("BTC-USD", 4)
+            .add(START, 100, 100, 100, 100, 0)
+            .add(START + 1, 4_200_000_000L, 4_300_000_000L, 1, 4_200_000_000L, Long.MAX_VALUE)
+            .add(START + 86_400_000L, -5, 0, -10, -5, 7)
+            .add(START + 86_400_001L, Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, 0, 7)
+            .build();
+
+        // Act
+        PriceSeries decoded = PriceSeriesCodec.decode(PriceSeriesCodec.encode(series));
+
+        // Assert
+        assertSeriesEquals(series, decoded);
+    }
+
+    @Test
+    void decode_EmptyAndSinglePointSeries_RoundTrip() {
+        // Arrange
+        PriceSeries empty = PriceSeries.builder("MSFT", 0).build();
+        PriceSeries single = PriceSeries.of("MSFT", List.of(new OhlcvBar("MSFT", Instant.ofEpochMilli(START),
+            new BigDecimal("410.5"), new BigDecimal("411"), new BigDecimal("409.25"), new BigDecimal("410.1234"),
+            null, 3, null, null)));
+
+        // Act
+        PriceSeries decodedEmpty = PriceSeriesCodec.decode(PriceSeriesCodec.encode(empty));
+        PriceSeries decodedSingle = PriceSeriesCodec.decode(PriceSeriesCodec.encode(single));
+
+        // Assert
+        assertEquals("MSFT", decodedEmpty.getSymbol());
+        assertEquals(0, decodedEmpty.size());
+        assertSeriesEquals(single, decodedSingle);
+        assertEquals(0, new BigDecimal("410.1234").compareTo(decodedSingle.closePrice(0)));
+        assertEquals(0, decodedSingle.volumeAt(0));
+    }
+
+    @Test
+    void decode_NotAnEncodedSeries_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> PriceSeriesCodec.decode(new byte[]{'{', '"', 'a', '"', ':'}));
+    }
+
+    private static void assertSeriesEquals(PriceSeries expected, PriceSeries actual) {
+        assertEquals(expected.getSymbol(), actual.getSymbol());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.timestampAt(i), actual.timestampAt(i), "timestamp " + i);
+            assertEquals(expected.openAt(i), actual.openAt(i), "open " + i);
+            assertEquals(expected.highAt(i), actual.highAt(i), "high " + i);
+            assertEquals(expected.lowAt(i), actual.lowAt(i), "low " + i);
+            assertEquals(expected.closeAt(i), actual.closeAt(i), "close " + i);
+            assertEquals(expected.volumeAt(i), actual.volumeAt(i), "volume " + i);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.financialdashboard.service;
+
+import com.financialdashboard.exception.MarketDataProviderException;
+import com.financialdashboard.service.impl.ProviderHttpTransport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProviderHttpTransportTest {
+
+    private static final URI QUOTE_URI = URI.create("https://finnhub.io/api/v1/quote?symbol=AAPL");
+
+    @Mock
+    private HttpClient httpClient;
+
+    @Test
+    void getBytes_SendThrowsSynchronously_ReleasesHostPermit() {
+        // Arrange
+        ProviderHttpTransport transport = new ProviderHttpTransport(httpClient, 1000, 1);
+        HttpResponse<Object> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(200);
+        when(response.body()).thenReturn(new byte[]{1});
+        when(httpClient.sendAsync(any(), any()))
+            .thenThrow(new IllegalArgumentException("restricted header"))
+            .thenReturn(CompletableFuture.completedFuture(response));
+
+        // Act
+        CompletableFuture<byte[]> failed = transport.getBytes(QUOTE_URI);
+        CompletableFuture<byte[]> next = transport.getBytes(QUOTE_URI);
+
+        // Assert
+        CompletionException error = assertThrows(CompletionException.class, failed::join);
+        assertInstanceOf(MarketDataProviderException.class, error.getCause());
+        assertTrue(next.isDone(), "the only permit for the host was never released");
+        assertArrayEquals(new byte[]{1}, next.join());
+    }
+}
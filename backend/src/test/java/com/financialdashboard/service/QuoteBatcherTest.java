@@ -0,0 +1,134 @@
+package com.financialdashboard.service;
+
+import com.financialdashboard.exception.MarketDataProviderException;
+import com.financialdashboard.model.MarketData;
+import com.financialdashboard.model.Priority;
+import com.financialdashboard.model.Quote;
+import com.financialdashboard.service.impl.HedgedQuoteService;
+import com.financialdashboard.service.impl.QuoteBatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuoteBatcherTest {
+
+    @Mock
+    private HedgedQuoteService hedgedQuoteService;
+
+    private QuoteBatcher quoteBatcher;
+
+    @BeforeEach
+    void setUp() {
+        quoteBatcher = new QuoteBatcher(hedgedQuoteService, new SimpleMeterRegistry(), 3, 50);
+        lenient().when(hedgedQuoteService.getQuotes(any(), any())).thenAnswer(invocation -> {
+            Collection<String> symbols = invocation.getArgument(0);
+            Map<String, Quote> quotes = new HashMap<>();
+            symbols.stream().filter(symbol -> !symbol.equals("INVALID")).forEach(symbol -> quotes.put(symbol, quote(symbol)));
+            return CompletableFuture.completedFuture(quotes);
+        });
+        lenient().when(hedgedQuoteService.getQuote(any(), any())).thenAnswer(invocation ->
+            CompletableFuture.completedFuture(quote(invocation.getArgument(0))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        quoteBatcher.shutdown();
+    }
+
+    @Test
+    void submit_RequestsWithinLinger_SentAsOneBulkCall() throws Exception {
+        // Act
+        CompletableFuture<Quote> aapl = quoteBatcher.submit("AAPL", Priority.INTERACTIVE);
+        CompletableFuture<Quote> msft = quoteBatcher.submit("MSFT", Priority.INTERACTIVE);
+        CompletableFuture<Quote> duplicate = quoteBatcher.submit("AAPL", Priority.INTERACTIVE);
+
+        // Assert
+        assertEquals("AAPL", aapl.get(5, TimeUnit.SECONDS).symbol());
+        assertEquals("MSFT", msft.get(5, TimeUnit.SECONDS).symbol());
+        assertSame(aapl, duplicate);
+        ArgumentCaptor<Collection<String>> symbols = ArgumentCaptor.forClass(Collection.class);
+        verify(hedgedQuoteService, times(1)).getQuotes(symbols.capture(), eq(Priority.INTERACTIVE));
+        assertEquals(List.of("AAPL", "MSFT"), List.copyOf(symbols.getValue()));
+    }
+
+    @Test
+    void submitAll_ExceedsMaxBatchSize_SplitIntoBulkCalls() {
+        // Act
+        Map<String, CompletableFuture<Quote>> futures = quoteBatcher.submitAll(
+            List.of("AAPL", "MSFT", "GOOGL", "AMZN"), Priority.BACKGROUND);
+
+        // Assert
+        futures.values().forEach(future -> assertNotNull(future.join()));
+        verify(hedgedQuoteService, times(1)).getQuotes(any(), eq(Priority.BACKGROUND));
+        verify(hedgedQuoteService, times(1)).getQuote("AMZN", Priority.BACKGROUND);
+    }
+
+    @Test
+    void submit_SingleSymbolWithSlowPrimary_HedgedThroughBatcher() throws Exception {
+        // Arrange
+        MarketDataProvider slowPrimary = provider(MarketData.DataSource.FINNHUB, new CompletableFuture<>());
+        MarketDataProvider secondary = provider(MarketData.DataSource.YAHOO_FINANCE,
+            CompletableFuture.completedFuture(quote("AAPL")));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        HedgedQuoteService hedged = new HedgedQuoteService(List.of(slowPrimary, secondary), meterRegistry,
+            "FINNHUB,YAHOO_FINANCE", 50, 10, 20, 60000);
+        QuoteBatcher batcher = new QuoteBatcher(hedged, meterRegistry, 3, 10);
+
+        // Act
+        Quote quote = batcher.submit("AAPL", Priority.INTERACTIVE).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals("AAPL", quote.symbol());
+        assertEquals(1.0, meterRegistry.get("market.quotes.hedged").counter().count());
+        verify(slowPrimary, never()).getQuotes(any(), any());
+        batcher.shutdown();
+        hedged.shutdown();
+    }
+
+    @Test
+    void submitAll_SymbolMissingFromBulkResult_OnlyThatCallerFails() {
+        // Act
+        Map<String, CompletableFuture<Quote>> futures = quoteBatcher.submitAll(
+            List.of("AAPL", "INVALID"), Priority.INTERACTIVE);
+
+        // Assert
+        assertEquals("AAPL", futures.get("AAPL").join().symbol());
+        ExecutionException e = assertThrows(ExecutionException.class,
+            () -> futures.get("INVALID").get(5, TimeUnit.SECONDS));
+        assertInstanceOf(MarketDataProviderException.class, e.getCause());
+    }
+
+    private static MarketDataProvider provider(MarketData.DataSource source, CompletableFuture<Quote> answer) {
+        MarketDataProvider provider = mock(MarketDataProvider.class);
+        when(provider.getSource()).thenReturn(source);
+        when(provider.isEnabled()).thenReturn(true);
+        when(provider.getQuote(eq("AAPL"), eq(Priority.INTERACTIVE), any())).thenReturn(answer);
+        return provider;
+    }
+
+    private static Quote quote(String symbol) {
+        return new Quote(symbol, new BigDecimal("100.00"), BigDecimal.ZERO, BigDecimal.ZERO, Quote.NO_VOLUME,
+            ZonedDateTime.now(), MarketData.DataSource.FINNHUB);
+    }
+}
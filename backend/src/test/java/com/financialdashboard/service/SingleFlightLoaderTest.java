@@ -0,0 +1,96 @@
+package com.financialdashboard.service;
+
+import com.financialdashboard.service.impl.SingleFlightLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightLoaderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlightLoader<String, BigDecimal> loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loader = new SingleFlightLoader<>("latestPrice", meterRegistry);
+    }
+
+    @Test
+    void load_ConcurrentMissesForSameKey_ShareSingleLoad() throws Exception {
+        // Arrange
+        int callers = 16;
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        // Act
+        List<Future<BigDecimal>> results = new ArrayList<>();
+        results.add(executor.submit(() -> loader.load("AAPL", () -> {
+            upstreamCalls.incrementAndGet();
+            loaderStarted.countDown();
+            await(releaseLoader);
+            return new BigDecimal("150.50");
+        })));
+        assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < callers; i++) {
+            results.add(executor.submit(() -> loader.load("AAPL", () -> {
+                upstreamCalls.incrementAndGet();
+                return BigDecimal.ZERO;
+            })));
+        }
+        while (coalescedCount() < callers - 1) {
+            Thread.onSpinWait();
+        }
+        releaseLoader.countDown();
+
+        // Assert
+        for (Future<BigDecimal> result : results) {
+            assertEquals(new BigDecimal("150.50"), result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1.0, executedCount());
+        assertEquals(callers - 1, coalescedCount());
+        assertEquals(0, loader.inFlightCount());
+        executor.shutdownNow();
+    }
+
+    @Test
+    void load_LoaderFails_PropagatesToCallerAndClearsEntry() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> loader.load("AAPL", () -> {
+            throw new IllegalStateException("upstream down");
+        }));
+        assertEquals(0, loader.inFlightCount());
+        assertEquals(new BigDecimal("151.00"), loader.load("AAPL", () -> new BigDecimal("151.00")));
+    }
+
+    private double executedCount() {
+        return meterRegistry.get("market.singleflight.loads").tag("outcome", "executed").counter().count();
+    }
+
+    private double coalescedCount() {
+        return meterRegistry.get("market.singleflight.loads").tag("outcome", "coalesced").counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
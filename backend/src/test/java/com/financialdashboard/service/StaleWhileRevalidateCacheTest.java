@@ -0,0 +1,131 @@
+package com.financialdashboard.service;
+
+import com.financialdashboard.service.impl.StaleWhileRevalidateCache;
+import com.financialdashboard.service.impl.StaleWhileRevalidateCache.Entry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StaleWhileRevalidateCacheTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-05T15:00:00Z"));
+    private final List<Runnable> scheduledRefreshes = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private StaleWhileRevalidateCache<String, Integer> cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new StaleWhileRevalidateCache<>("latestPrice", Duration.ofSeconds(60), Duration.ofMinutes(10), 100,
+            key -> loads.incrementAndGet(), scheduledRefreshes::add, meterRegistry, clock);
+    }
+
+    @Test
+    void get_WithinSoftTtl_ServedWithoutReload() {
+        // Arrange
+        cache.get("AAPL");
+        clock.advance(Duration.ofSeconds(30));
+
+        // Act
+        Entry<Integer> entry = cache.get("AAPL");
+
+        // Assert
+        assertEquals(1, entry.value());
+        assertEquals(Duration.ofSeconds(30), entry.age(clock));
+        assertTrue(scheduledRefreshes.isEmpty());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_PastSoftTtl_ServesStaleAndRefreshesOnceInBackground() {
+        // Arrange
+        cache.get("AAPL");
+        clock.advance(Duration.ofMinutes(2));
+
+        // Act
+        Entry<Integer> first = cache.get("AAPL");
+        Entry<Integer> second = cache.get("AAPL");
+        scheduledRefreshes.forEach(Runnable::run);
+
+        // Assert
+        assertEquals(1, first.value());
+        assertEquals(1, second.value());
+        assertEquals(1, scheduledRefreshes.size());
+        assertEquals(2, cache.get("AAPL").value());
+        assertEquals(2.0, meterRegistry.get("market.cache.swr.lookups").tag("result", "stale").counter().count());
+    }
+
+    @Test
+    void get_PastSoftTtl_RevalidatesThroughRefresher() {
+        // Arrange
+        AtomicInteger refreshes = new AtomicInteger();
+        cache = new StaleWhileRevalidateCache<>("stockQuote", Duration.ofSeconds(60), Duration.ofMinutes(10), 100,
+            key -> loads.incrementAndGet(), key -> 100 + refreshes.incrementAndGet(), scheduledRefreshes::add,
+            meterRegistry, clock);
+        cache.get("AAPL");
+        clock.advance(Duration.ofMinutes(2));
+
+        // Act
+        cache.get("AAPL");
+        scheduledRefreshes.forEach(Runnable::run);
+
+        // Assert
+        assertEquals(101, cache.get("AAPL").value());
+        assertEquals(1, loads.get());
+        assertEquals(1, refreshes.get());
+    }
+
+    @Test
+    void get_PastHardTtl_BlocksOnReload() {
+        // Arrange
+        cache.get("AAPL");
+        clock.advance(Duration.ofMinutes(11));
+
+        // Act
+        Entry<Integer> entry = cache.get("AAPL");
+
+        // Assert
+        assertEquals(2, entry.value());
+        assertEquals(Duration.ZERO, entry.age(clock));
+        assertTrue(scheduledRefreshes.isEmpty());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
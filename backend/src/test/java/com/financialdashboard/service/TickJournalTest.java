@@ -0,0 +1,99 @@
+package com.financialdashboard.service;
+
+import com.financialdashboard.model.MarketData;
+import com.financialdashboard.service.impl.TickJournal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickJournalTest {
+
+    // Four 32-byte records per segment
+    private static final int SEGMENT_BYTES = 128;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replay_AfterReopen_ReturnsTicksPastCheckpoint() {
+        // Arrange
+        TickJournal journal = new TickJournal(directory, SEGMENT_BYTES);
+        journal.append(tick("AAPL", "150.1234", 1000L));
+        journal.append(tick("MSFT", "410.50", null));
+        journal.append(tick("AAPL", "150.20", 1200L));
+        journal.checkpoint(1);
+        journal.close();
+
+        // Act
+        TickJournal reopened = new TickJournal(directory, SEGMENT_BYTES);
+        List<MarketData> replayed = new ArrayList<>();
+        long count = reopened.replay(reopened.getCheckpoint(), (tick, sequence) -> replayed.add(tick));
+
+        // Assert
+        assertEquals(journal.getId(), reopened.getId());
+        assertEquals(3, reopened.getCommitted());
+        assertEquals(2, count);
+        assertEquals("MSFT", replayed.get(0).getSymbol());
+        assertNull(replayed.get(0).getVolume());
+        assertEquals(0, new BigDecimal("150.20").compareTo(replayed.get(1).getPrice()));
+        assertEquals(MarketData.DataSource.YAHOO_FINANCE, replayed.get(1).getDataSource());
+    }
+
+    @Test
+    void tailer_FollowsNewAppends() {
+        // Arrange
+        TickJournal journal = new TickJournal(directory, SEGMENT_BYTES);
+        TickJournal.Tailer tailer = journal.tailer(0);
+        List<String> seen = new ArrayList<>();
+        journal.append(tick("AAPL", "150.00", 1L));
+
+        // Act
+        int first = tailer.poll((tick, sequence) -> seen.add(tick.getSymbol()), 10);
+        int caughtUp = tailer.poll((tick, sequence) -> seen.add(tick.getSymbol()), 10);
+        journal.append(tick("MSFT", "410.00", 1L));
+        int second = tailer.poll((tick, sequence) -> seen.add(tick.getSymbol()), 10);
+
+        // Assert
+        assertEquals(1, first);
+        assertEquals(0, caughtUp);
+        assertEquals(1, second);
+        assertEquals(List.of("AAPL", "MSFT"), seen);
+        journal.close();
+    }
+
+    @Test
+    void sync_DeletesSegmentsBelowCheckpointButKeepsActiveOne() throws IOException {
+        // Arrange
+        TickJournal journal = new TickJournal(directory, SEGMENT_BYTES);
+        for (int i = 0; i < 10; i++) {
+            journal.append(tick("AAPL", "150.00", (long) i));
+        }
+        journal.checkpoint(9);
+
+        // Act
+        journal.sync();
+
+        // Assert
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.filter(path -> path.toString().endsWith(".seg")).count());
+        }
+        assertThrows(IllegalStateException.class, () -> journal.replay(0, (tick, sequence) -> { }));
+        assertEquals(2, journal.replay(8, (tick, sequence) -> { }));
+        journal.close();
+    }
+
+    private static MarketData tick(String symbol, String price, Long volume) {
+        return new MarketData(null, symbol, new BigDecimal(price), volume, ZonedDateTime.now(),
+            MarketData.DataSource.YAHOO_FINANCE);
+    }
+}
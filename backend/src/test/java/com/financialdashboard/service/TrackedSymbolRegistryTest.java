@@ -0,0 +1,126 @@
+package com.financialdashboard.service;
+
+import com.financialdashboard.model.TrackedSymbol;
+import com.financialdashboard.repository.TrackedSymbolRepository;
+import com.financialdashboard.service.impl.TrackedSymbolRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrackedSymbolRegistryTest {
+
+    @Mock
+    private TrackedSymbolRepository trackedSymbolRepository;
+
+    private TrackedSymbolRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TrackedSymbolRegistry(trackedSymbolRepository, new SimpleMeterRegistry(), 100, 60_000);
+    }
+
+    @Test
+    void load_ReconcilesHoldingReferencesWithPortfolios() {
+        // Arrange
+        when(trackedSymbolRepository.findAll()).thenReturn(List.of(
+            new TrackedSymbol("AAPL", 3, false),
+            new TrackedSymbol("BTC", 0, true)));
+        when(trackedSymbolRepository.countHoldingsBySymbol()).thenReturn(Map.of("MSFT", 1));
+
+        // Act
+        registry.load();
+        registry.flush();
+
+        // Assert
+        assertFalse(registry.isTracked("AAPL"));
+        assertTrue(registry.isTracked("BTC"));
+        assertTrue(registry.isTracked("MSFT"));
+        verify(trackedSymbolRepository).deleteAll(List.of("AAPL"), 100);
+        verify(trackedSymbolRepository).upsertAll(List.of(new TrackedSymbol("MSFT", 1, false)), 100);
+    }
+
+    @Test
+    void holdingRemoved_LastReference_DropsUnpinnedSymbol() {
+        // Arrange
+        registry.holdingAdded("AAPL");
+        registry.holdingAdded("AAPL");
+
+        // Act
+        registry.holdingRemoved("AAPL");
+        boolean trackedWithOneHolding = registry.isTracked("AAPL");
+        registry.holdingRemoved("AAPL");
+
+        // Assert
+        assertTrue(trackedWithOneHolding);
+        assertFalse(registry.isTracked("AAPL"));
+    }
+
+    @Test
+    void untrack_SymbolStillHeld_RemainsTracked() {
+        // Arrange
+        registry.track("AAPL");
+        registry.holdingAdded("AAPL");
+
+        // Act
+        registry.untrack("AAPL");
+
+        // Assert
+        assertTrue(registry.isTracked("AAPL"));
+    }
+
+    @Test
+    void reference_AdHocLookup_TrackedWithoutPersistingPin() {
+        // Act
+        registry.reference("TSLA");
+        registry.flush();
+
+        // Assert
+        assertTrue(registry.isTracked("TSLA"));
+        assertEquals(List.of("TSLA"), registry.getSymbols());
+        verifyNoInteractions(trackedSymbolRepository);
+    }
+
+    @Test
+    void reference_AfterTtl_NoLongerTracked() {
+        // Arrange
+        registry = new TrackedSymbolRegistry(trackedSymbolRepository, new SimpleMeterRegistry(), 100, 0);
+
+        // Act
+        registry.reference("TSLA");
+
+        // Assert
+        assertFalse(registry.isTracked("TSLA"));
+        assertTrue(registry.getSymbols().isEmpty());
+    }
+
+    @Test
+    void flush_WritesPendingChangesInOneBatch() {
+        // Arrange
+        registry.track("AAPL");
+        registry.track("MSFT");
+        registry.track("GOOGL");
+
+        // Act
+        registry.flush();
+        registry.flush();
+
+        // Assert
+        ArgumentCaptor<List<TrackedSymbol>> batch = ArgumentCaptor.forClass(List.class);
+        verify(trackedSymbolRepository, times(1)).upsertAll(batch.capture(), anyInt());
+        assertEquals(3, batch.getValue().size());
+        verify(trackedSymbolRepository, never()).deleteAll(anyList(), anyInt());
+    }
+}
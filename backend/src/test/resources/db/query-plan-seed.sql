@@ -0,0 +1,37 @@
+-- Production-like volumes for QueryPlanRegressionTest, on top of the V2 demo rows
+-- (user 1, accounts 1-2). Generated users get ids 2-10001 and accounts 3-30002.
+INSERT INTO users (email, password_hash, first_name, last_name)
+SELECT 'user' || g || '@example.com', 'x', 'First' || g, 'Last' || g
+FROM generate_series(1, 10000) g;
+
+-- Three accounts per user
+INSERT INTO financial_accounts (user_id, account_type, provider, account_number, balance, currency)
+SELECT 2 + (g % 10000),
+       (ARRAY['BROKERAGE', 'RETIREMENT', 'CHECKING', 'SAVINGS'])[1 + g % 4],
+       (ARRAY['SCHWAB', 'FIDELITY', 'VANGUARD', 'ETRADE'])[1 + g % 4],
+       'ACC' || g, 1000 + g % 50000, 'USD'
+FROM generate_series(1, 30000) g;
+
+-- Twenty transactions per account spread over two years
+INSERT INTO transactions (account_id, transaction_type, amount, description, transaction_date)
+SELECT 3 + (g % 30000),
+       (ARRAY['BUY', 'SELL', 'DEPOSIT', 'WITHDRAWAL', 'DIVIDEND', 'INTEREST'])[1 + g % 6],
+       10 + g % 5000, 'Generated', CURRENT_TIMESTAMP - ((g * 37) % 730) * INTERVAL '1 day'
+FROM generate_series(1, 600000) g;
+
+-- Five distinct symbols per account, 75 holdings per symbol
+INSERT INTO portfolio_holdings (account_id, symbol, quantity, average_price, current_price)
+SELECT 3 + (g % 30000), 'SYM' || ((g + g / 30000 * 401) % 2000), 1 + g % 100, 50 + g % 500, 50 + g % 500
+FROM generate_series(0, 149999) g;
+
+-- 300 one-minute ticks per symbol at the start of the current month's partition
+INSERT INTO market_data (symbol, price, volume, timestamp, data_source)
+SELECT 'SYM' || (g % 2000), 50 + (g % 997) / 10.0, g,
+       date_trunc('month', CURRENT_TIMESTAMP) + (g / 2000) * INTERVAL '1 minute', 'YAHOO_FINANCE'
+FROM generate_series(0, 599999) g;
+
+ANALYZE users;
+ANALYZE financial_accounts;
+ANALYZE transactions;
+ANALYZE portfolio_holdings;
+ANALYZE market_data;